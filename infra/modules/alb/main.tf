@@ -65,9 +65,12 @@ resource "aws_lb_target_group" "app" {
   # Support long-lived SSE connections
   deregistration_delay = 30
 
+  # PATCH /api/cafes/status/stream/{connectionId}는 emitter를 들고 있는 태스크로만 처리된다.
+  # 스트림을 연 요청이 받은 AWSALB 쿠키를 PATCH에도 실어야 같은 태스크로 간다.
   stickiness {
-    type    = "lb_cookie"
-    enabled = false
+    type            = "lb_cookie"
+    cookie_duration = 86400
+    enabled         = true
   }
 
   tags = {
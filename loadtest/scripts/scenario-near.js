@@ -0,0 +1,55 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Rate, Trend } from 'k6/metrics';
+import { BASE_URL } from './setup.js';
+
+// 근처 검색 엔진(cafe.nearby.engine) 비교용. 데이터는 seed-nearby-bulk.sql로 미리 넣어 두고
+// 같은 스크립트를 엔진만 바꿔 띄운 앱에 각각 실행해 near_latency를 비교한다
+const errorRate = new Rate('errors');
+const nearLatency = new Trend('near_latency', true);
+const nearResults = new Trend('near_results');
+
+const RADIUS = __ENV.RADIUS || '1000';
+const LIMIT = __ENV.LIMIT || '50';
+
+export const options = {
+  scenarios: {
+    near_readers: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 50),
+      duration: __ENV.DURATION || '1m',
+      exec: 'readNear',
+    },
+  },
+  thresholds: {
+    'errors': ['rate<0.001'],
+  },
+};
+
+// 시드 영역 안에서 중심점을 고르게 뽑는다
+export function readNear() {
+  const lat = 37.40 + Math.random() * 0.30;
+  const lng = 126.80 + Math.random() * 0.40;
+  const res = http.get(
+    `${BASE_URL}/api/cafes/near?lat=${lat}&lng=${lng}&radiusMeters=${RADIUS}&limit=${LIMIT}`,
+    { tags: { name: 'GET /api/cafes/near' } }
+  );
+
+  nearLatency.add(res.timings.duration);
+
+  const passed = check(res, {
+    'status 200': (r) => r.status === 200,
+    'returns array': (r) => {
+      try {
+        const body = JSON.parse(r.body);
+        nearResults.add(body.length);
+        return Array.isArray(body);
+      } catch (e) {
+        return false;
+      }
+    },
+  });
+
+  errorRate.add(!passed);
+  sleep(0.05);
+}
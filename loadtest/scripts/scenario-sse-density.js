@@ -0,0 +1,86 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Rate, Trend } from 'k6/metrics';
+import { seedData, BASE_URL } from './setup.js';
+
+// Compares memory per idle SSE connection between the servlet path (:8080)
+// and the reactive stream gateway (:8081). Point STREAM_URL at the one to measure.
+const STREAM_URL = __ENV.STREAM_URL || BASE_URL;
+const CONNECTIONS = parseInt(__ENV.CONNECTIONS || '2000');
+const RAMP = __ENV.RAMP || '60s';
+const HOLD_SECONDS = parseInt(__ENV.HOLD_SECONDS || '120');
+
+const sseConnectSuccess = new Rate('sse_connect_success');
+const memoryPerConnection = new Trend('memory_per_connection_bytes');
+const threadsPerConnection = new Trend('threads_per_connection');
+
+export const options = {
+  scenarios: {
+    // Each VU opens one stream and keeps it idle until the timeout
+    idle_streams: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: RAMP, target: CONNECTIONS },
+        { duration: `${HOLD_SECONDS}s`, target: CONNECTIONS },
+      ],
+      gracefulRampDown: '0s',
+      exec: 'holdStream',
+    },
+    // Samples memory once every connection is open and idle
+    probe: {
+      executor: 'shared-iterations',
+      vus: 1,
+      iterations: 1,
+      startTime: `${parseDuration(RAMP) + Math.floor(HOLD_SECONDS / 2)}s`,
+      exec: 'probe',
+    },
+  },
+};
+
+export function setup() {
+  const data = seedData(1, 1);
+  return { cafeId: data.allCafeIds[0], baseline: sample() };
+}
+
+export function holdStream(data) {
+  const res = http.get(`${STREAM_URL}/api/cafes/status/stream?cafeIds=${data.cafeId}`, {
+    tags: { name: 'GET /api/cafes/status/stream' },
+    timeout: `${HOLD_SECONDS + parseDuration(RAMP)}s`,
+    responseType: 'none',
+  });
+  // A request timeout (status 0) means the stream stayed open the whole time
+  sseConnectSuccess.add(check(res, { 'stream held open': (r) => r.status === 200 || r.status === 0 }));
+}
+
+export function probe(data) {
+  const current = sample();
+  const perConnection = (current.memory - data.baseline.memory) / CONNECTIONS;
+  const threads = (current.threads - data.baseline.threads) / CONNECTIONS;
+  memoryPerConnection.add(perConnection);
+  threadsPerConnection.add(threads);
+  console.log(`${STREAM_URL}: ${CONNECTIONS} idle connections, ` +
+    `${Math.round(perConnection)} bytes/connection (heap+nonheap), ${threads.toFixed(3)} threads/connection`);
+}
+
+function sample() {
+  return {
+    memory: metric('jvm.memory.used?tag=area:heap') + metric('jvm.memory.used?tag=area:nonheap'),
+    threads: metric('jvm.threads.live'),
+  };
+}
+
+function metric(path) {
+  const res = http.get(`${STREAM_URL}/actuator/metrics/${path}`, { tags: { name: 'actuator' } });
+  if (res.status !== 200) {
+    console.error(`metric ${path} failed: ${res.status}`);
+    return 0;
+  }
+  return JSON.parse(res.body).measurements[0].value;
+}
+
+function parseDuration(value) {
+  const match = /^(\d+)(s|m)$/.exec(value);
+  if (!match) return 60;
+  return parseInt(match[1]) * (match[2] === 'm' ? 60 : 1);
+}
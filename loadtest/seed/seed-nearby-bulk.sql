@@ -0,0 +1,23 @@
+-- =============================================================================
+-- 근처 검색 엔진 비교용 대량 카페 데이터
+-- 서울 크기 영역(위도 37.40~37.70, 경도 126.80~127.20)에 카페를 고르게 뿌린다
+-- init-loadtest-data.sql 이후에 실행한다. 건수는 아래 재귀 깊이와 WHERE 조건으로 바꾼다
+-- RAND(seed)를 써서 매번 같은 좌표가 나오므로 엔진 간 결과를 그대로 비교할 수 있다
+-- =============================================================================
+
+SET SESSION cte_max_recursion_depth = 100000;
+
+INSERT INTO cafes (name, latitude, longitude, address, owner_id, created_at)
+WITH RECURSIVE seq (n) AS (
+  SELECT 1
+  UNION ALL
+  SELECT n + 1 FROM seq WHERE n < 100000
+)
+SELECT
+  CONCAT('벌크 카페 ', n),
+  37.40 + RAND(n) * 0.30,
+  126.80 + RAND(n + 1000000) * 0.40,
+  CONCAT('서울 벌크 ', n),
+  NULL,
+  NOW()
+FROM seq;
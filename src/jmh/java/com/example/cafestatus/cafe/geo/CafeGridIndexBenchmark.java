@@ -0,0 +1,107 @@
+package com.example.cafestatus.cafe.geo;
+
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 서울 크기 영역(약 33km x 35km)에 카페를 고르게 뿌려 두고 반경 검색 한 번의 비용을 잰다.
+// latitudeRange는 (latitude, longitude) 복합 인덱스의 범위 스캔처럼 위도 범위만 좁히고 경도는 행마다 거르는 방식이다
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CafeGridIndexBenchmark {
+
+    private static final double MIN_LAT = 37.40;
+    private static final double MIN_LNG = 126.80;
+    private static final double LAT_SPAN = 0.30;
+    private static final double LNG_SPAN = 0.40;
+
+    @Param({"10000", "100000", "1000000"})
+    int cafes;
+
+    @Param({"500", "3000"})
+    double radiusMeters;
+
+    CafeGridIndex index;
+    // 위도순으로 정렬된 좌표 (B-tree 인덱스의 선두 컬럼 순서를 흉내낸다)
+    double[] sortedLats;
+    double[] sortedLngs;
+    long[] sortedIds;
+    double[][] queries;
+    int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<CafeLocation> locations = new ArrayList<>(cafes);
+        for (long id = 1; id <= cafes; id++) {
+            locations.add(new CafeLocation(id, MIN_LAT + random.nextDouble() * LAT_SPAN, MIN_LNG + random.nextDouble() * LNG_SPAN));
+        }
+        index = CafeGridIndex.of(0.01, locations);
+
+        CafeLocation[] sorted = locations.toArray(CafeLocation[]::new);
+        Arrays.sort(sorted, (a, b) -> Double.compare(a.latitude(), b.latitude()));
+        sortedLats = new double[cafes];
+        sortedLngs = new double[cafes];
+        sortedIds = new long[cafes];
+        for (int i = 0; i < cafes; i++) {
+            sortedLats[i] = sorted[i].latitude();
+            sortedLngs[i] = sorted[i].longitude();
+            sortedIds[i] = sorted[i].cafeId();
+        }
+
+        queries = new double[1024][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new double[]{MIN_LAT + random.nextDouble() * LAT_SPAN, MIN_LNG + random.nextDouble() * LNG_SPAN};
+        }
+    }
+
+    @Benchmark
+    public List<CafeLocation> grid() {
+        double[] q = queries[next++ & (queries.length - 1)];
+        return index.findWithin(q[0], q[1], radiusMeters);
+    }
+
+    @Benchmark
+    public void latitudeRange(Blackhole bh) {
+        double[] q = queries[next++ & (queries.length - 1)];
+        double latDelta = radiusMeters / 111_000.0;
+        double lngDelta = radiusMeters / (111_000.0 * Math.cos(Math.toRadians(q[0])));
+        int from = lowerBound(sortedLats, q[0] - latDelta);
+        double maxLat = q[0] + latDelta;
+        List<CafeLocation> result = new ArrayList<>();
+        for (int i = from; i < sortedLats.length && sortedLats[i] <= maxLat; i++) {
+            double lng = sortedLngs[i];
+            if (lng < q[1] - lngDelta || lng > q[1] + lngDelta) {
+                continue;
+            }
+            if (CafeGridIndex.haversineMeters(q[0], q[1], sortedLats[i], lng) <= radiusMeters) {
+                result.add(new CafeLocation(sortedIds[i], sortedLats[i], lng));
+            }
+        }
+        bh.consume(result);
+    }
+
+    private static int lowerBound(double[] values, double key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.cafestatus.cafe.geo;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 강남역 같은 밀집 상권에서 반경 1km 경계 상자에 든 후보 전부를 놓고 가까운 순 상위 limit개를 고르는 비용을 잰다.
+// fullSort는 비교할 때마다 haversine을 다시 계산하고 상자 모서리(원 밖)도 거르지 않는 이전 방식이다
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NearestSelectionBenchmark {
+
+    private static final double CENTER_LAT = 37.4979;
+    private static final double CENTER_LNG = 127.0276;
+    private static final double RADIUS_METERS = 1000;
+
+    @Param({"1000", "5000", "20000"})
+    int candidates;
+
+    @Param({"20", "200"})
+    int limit;
+
+    List<CafeLocation> inBox;
+
+    @Setup
+    public void setUp() {
+        GeoBounds bounds = GeoBounds.around(CENTER_LAT, CENTER_LNG, RADIUS_METERS);
+        SplittableRandom random = new SplittableRandom(42);
+        inBox = new ArrayList<>(candidates);
+        for (long id = 1; id <= candidates; id++) {
+            inBox.add(new CafeLocation(id,
+                    bounds.minLat() + random.nextDouble() * (bounds.maxLat() - bounds.minLat()),
+                    bounds.minLng() + random.nextDouble() * (bounds.maxLng() - bounds.minLng())));
+        }
+    }
+
+    @Benchmark
+    public List<CafeLocation> fullSort() {
+        return inBox.stream()
+                .sorted(Comparator.comparingDouble(l -> CafeGridIndex.haversineMeters(CENTER_LAT, CENTER_LNG, l.latitude(), l.longitude())))
+                .limit(limit)
+                .toList();
+    }
+
+    @Benchmark
+    public List<CafeDistance> boundedHeap() {
+        NearestCafes nearest = new NearestCafes(limit);
+        for (CafeLocation l : inBox) {
+            double distance = CafeGridIndex.haversineMeters(CENTER_LAT, CENTER_LNG, l.latitude(), l.longitude());
+            if (distance <= RADIUS_METERS) {
+                nearest.offer(l.cafeId(), distance);
+            }
+        }
+        return nearest.toSortedList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.cafestatus.status.sse;
+
+import com.example.cafestatus.status.dto.CafeStatusSseEvent;
+import com.example.cafestatus.status.dto.StatusSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// 한 번의 publish가 구독자 N명에게 쓰는 비용 비교.
+// perSubscriber: 기존 방식(구독자마다 SseEventBuilder 생성 + 메시지 컨버터의 Jackson 직렬화)을 재현
+// preEncoded: 한 번 인코딩한 SseFrame 버퍼를 모든 구독자에게 공유
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SseFanoutBenchmark {
+
+    @Param({"1", "1000", "10000"})
+    int subscribers;
+
+    ObjectMapper objectMapper;
+    CafeStatusSseEvent event;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Instant now = Instant.now();
+        event = new CafeStatusSseEvent(42L, new StatusSummary(
+                "NORMAL", "YES", "MAYBE", "NO", now, now.plusSeconds(1800), false, 0
+        ));
+    }
+
+    @Benchmark
+    public void perSubscriber(Blackhole bh) throws Exception {
+        for (int i = 0; i < subscribers; i++) {
+            Set<DataWithMediaType> items = SseEmitter.event().name("status").data(event).build();
+            for (DataWithMediaType item : items) {
+                Object data = item.getData();
+                bh.consume(data instanceof String text
+                        ? text.getBytes(StandardCharsets.UTF_8)
+                        : objectMapper.writeValueAsBytes(data));
+            }
+        }
+    }
+
+    @Benchmark
+    public void preEncoded(Blackhole bh) throws Exception {
+        SseFrame frame = SseFrame.event(event.cafeId(), "status", 0, objectMapper.writeValueAsBytes(event));
+        for (int i = 0; i < subscribers; i++) {
+            for (DataWithMediaType item : frame.payload()) {
+                bh.consume(item.getData());
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.cafestatus.status.sse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// 재접속 폭주 상황: 인기 카페 하나(이미 viewers명 구독 중)에 여러 스레드가 동시에 구독/해지를 반복.
+// 각 클라이언트는 인기 카페를 포함해 cafesPerClient개 카페를 구독한다.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class SseSubscriptionIndexBenchmark {
+
+    private static final long HOT_CAFE_ID = 1L;
+
+    @Param({"1000", "10000"})
+    int viewers;
+
+    @Param({"1", "50"})
+    int cafesPerClient;
+
+    SseSubscriptionIndex index;
+    Map<Long, CopyOnWriteArrayList<SseConnection>> copyOnWrite;
+    SseDeliveryMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        metrics = new SseDeliveryMetrics(new SimpleMeterRegistry(), SlowConsumerPolicy.COALESCE);
+        index = new SseSubscriptionIndex();
+        copyOnWrite = new ConcurrentHashMap<>();
+        for (int i = 0; i < viewers; i++) {
+            SseConnection connection = newConnection(metrics, List.of(HOT_CAFE_ID));
+            index.add(connection);
+            copyOnWrite.computeIfAbsent(HOT_CAFE_ID, k -> new CopyOnWriteArrayList<>()).add(connection);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        SseConnection connection;
+
+        @Setup
+        public void setUp(SseSubscriptionIndexBenchmark bench) {
+            List<Long> cafeIds = LongStream.rangeClosed(HOT_CAFE_ID, bench.cafesPerClient).boxed().toList();
+            connection = newConnection(bench.metrics, cafeIds);
+        }
+    }
+
+    @Benchmark
+    public void index(Client client) {
+        index.add(client.connection);
+        index.remove(client.connection);
+    }
+
+    @Benchmark
+    public void copyOnWriteList(Client client) {
+        SseConnection connection = client.connection;
+        for (Long cafeId : connection.cafeIds()) {
+            copyOnWrite.computeIfAbsent(cafeId, k -> new CopyOnWriteArrayList<>()).add(connection);
+        }
+        for (Long cafeId : connection.cafeIds()) {
+            copyOnWrite.get(cafeId).remove(connection);
+        }
+    }
+
+    private static SseConnection newConnection(SseDeliveryMetrics metrics, List<Long> cafeIds) {
+        return new SseConnection(new SseEmitter(), cafeIds, 64, SlowConsumerPolicy.COALESCE, Runnable::run, metrics, false, null, null, null);
+    }
+}
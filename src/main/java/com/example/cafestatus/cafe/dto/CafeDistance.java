@@ -0,0 +1,5 @@
+package com.example.cafestatus.cafe.dto;
+
+// 검색 중심에서 카페까지의 구면 거리(m). 근처 검색에서 한 번 계산해 응답까지 그대로 넘긴다
+public record CafeDistance(Long cafeId, double distanceMeters) {
+}
@@ -0,0 +1,24 @@
+package com.example.cafestatus.cafe.dto;
+
+import com.example.cafestatus.cafe.entity.Cafe;
+
+import java.time.Instant;
+
+// 근처 검색 응답에 필요한 카페 필드만 담는다. 엔티티 없이 캐시에 그대로 둘 수 있다
+public record CafeInfo(
+        Long id,
+        String name,
+        double latitude,
+        double longitude,
+        String address,
+        Instant createdAt
+) {
+    public static CafeInfo from(Cafe cafe) {
+        return new CafeInfo(cafe.getId(), cafe.getName(), cafe.getLatitude(), cafe.getLongitude(),
+                cafe.getAddress(), cafe.getCreatedAt());
+    }
+
+    public CafeLocation location() {
+        return new CafeLocation(id, latitude, longitude);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.cafestatus.cafe.dto;
+
+import com.example.cafestatus.cafe.entity.Cafe;
+
+public record CafeLocation(
+        Long cafeId,
+        double latitude,
+        double longitude
+) {
+    public static CafeLocation from(Cafe cafe) {
+        return new CafeLocation(cafe.getId(), cafe.getLatitude(), cafe.getLongitude());
+    }
+}
@@ -11,6 +11,7 @@ public record CafeMapItemResponse(
         Double longitude,
         String address,
         Instant createdAt,
+        Double distanceMeters,
         StatusSummary status
 ) {
 }
@@ -0,0 +1,4 @@
+package com.example.cafestatus.cafe.dto;
+
+public record NearbyCafe(CafeInfo cafe, double distanceMeters) {
+}
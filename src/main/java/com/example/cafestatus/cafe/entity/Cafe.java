@@ -29,6 +29,7 @@ public class Cafe {
     @Column(nullable = false, length = 120)
     private String name;
 
+    // MySQL에서는 location(POINT SRID 4326) 생성 컬럼이 latitude/longitude로 계산된다 (db/vendor/mysql/V5)
     @Column(nullable = false)
     private Double latitude;
 
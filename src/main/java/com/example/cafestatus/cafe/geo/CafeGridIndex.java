@@ -0,0 +1,222 @@
+package com.example.cafestatus.cafe.geo;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 카페 좌표를 균일 격자 셀에 원시 배열로 담아 둔다. 반경 검색은 원을 덮는 셀만 훑는다
+// 쓰기(카페 생성/삭제)는 드물고 읽기가 대부분이므로 읽기-쓰기 잠금으로 충분하다
+public class CafeGridIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+
+    private final double cellDegrees;
+    private final long cols;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    public CafeGridIndex(double cellDegrees) {
+        if (!(cellDegrees > 0)) {
+            throw new IllegalArgumentException("cellDegrees must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+        this.cols = (long) Math.ceil(360.0 / cellDegrees) + 1;
+    }
+
+    public static CafeGridIndex of(double cellDegrees, List<CafeLocation> locations) {
+        CafeGridIndex index = new CafeGridIndex(cellDegrees);
+        for (CafeLocation location : locations) {
+            index.cellFor(location.latitude(), location.longitude())
+                    .add(location.cafeId(), location.latitude(), location.longitude());
+            index.size++;
+        }
+        return index;
+    }
+
+    // 같은 카페가 이미 있으면 옮겨 넣는다 (재적재와 생성 이벤트가 겹쳐도 중복되지 않게)
+    public void put(CafeLocation location) {
+        lock.writeLock().lock();
+        try {
+            Cell cell = cellFor(location.latitude(), location.longitude());
+            if (cell.remove(location.cafeId())) {
+                size--;
+            }
+            cell.add(location.cafeId(), location.latitude(), location.longitude());
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 좌표로 셀을 찾으므로 카페 ID별 역색인을 따로 두지 않는다
+    public boolean remove(CafeLocation location) {
+        lock.writeLock().lock();
+        try {
+            long key = key(row(location.latitude()), col(location.longitude()));
+            Cell cell = cells.get(key);
+            if (cell == null || !cell.remove(location.cafeId())) {
+                return false;
+            }
+            if (cell.size == 0) {
+                cells.remove(key);
+            }
+            size--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CafeLocation> findWithin(double lat, double lng, double radiusMeters) {
+        List<CafeLocation> result = new ArrayList<>();
+        scan(lat, lng, radiusMeters, (id, cafeLat, cafeLng, distance) -> result.add(new CafeLocation(id, cafeLat, cafeLng)));
+        return result;
+    }
+
+    // 반경 안 후보마다 거리를 한 번만 계산해 바로 상위 limit개 힙에 넣는다
+    public List<CafeDistance> findNearest(double lat, double lng, double radiusMeters, int limit) {
+        NearestCafes nearest = new NearestCafes(limit);
+        scan(lat, lng, radiusMeters, (id, cafeLat, cafeLng, distance) -> nearest.offer(id, distance));
+        return nearest.toSortedList();
+    }
+
+    private void scan(double lat, double lng, double radiusMeters, Visitor visitor) {
+        GeoBounds bounds = GeoBounds.around(lat, lng, radiusMeters);
+
+        lock.readLock().lock();
+        try {
+            long minRow = row(bounds.minLat());
+            long maxRow = row(bounds.maxLat());
+            long minCol = col(bounds.minLng());
+            long maxCol = col(bounds.maxLng());
+            // 덮는 셀 수가 채워진 셀 수보다 많으면 채워진 셀만 훑는 편이 싸다
+            if ((maxRow - minRow + 1) * (maxCol - minCol + 1) > cells.size()) {
+                for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                    long row = entry.getKey() / cols;
+                    long col = entry.getKey() % cols;
+                    if (row >= minRow && row <= maxRow && col >= minCol && col <= maxCol) {
+                        entry.getValue().scan(lat, lng, radiusMeters, bounds, visitor);
+                    }
+                }
+            } else {
+                for (long row = minRow; row <= maxRow; row++) {
+                    for (long col = minCol; col <= maxCol; col++) {
+                        Cell cell = cells.get(key(row, col));
+                        if (cell != null) {
+                            cell.scan(lat, lng, radiusMeters, bounds, visitor);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int cellCount() {
+        lock.readLock().lock();
+        try {
+            return cells.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_METERS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private Cell cellFor(double lat, double lng) {
+        return cells.computeIfAbsent(key(row(lat), col(lng)), k -> new Cell());
+    }
+
+    private long row(double lat) {
+        return (long) Math.floor((lat + 90) / cellDegrees);
+    }
+
+    private long col(double lng) {
+        return (long) Math.floor((lng + 180) / cellDegrees);
+    }
+
+    private long key(long row, long col) {
+        return row * cols + col;
+    }
+
+    // 셀 하나에 든 카페들. 객체 대신 나란한 원시 배열로 두어 훑을 때 포인터를 따라가지 않는다
+    private static final class Cell {
+
+        private long[] ids = new long[4];
+        private double[] lats = new double[4];
+        private double[] lngs = new double[4];
+        private int size;
+
+        void add(long id, double lat, double lng) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lngs = Arrays.copyOf(lngs, capacity);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lngs[size] = lng;
+            size++;
+        }
+
+        // 순서는 의미가 없으므로 마지막 항목을 빈자리로 옮긴다
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    lats[i] = lats[size];
+                    lngs[i] = lngs[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void scan(double lat, double lng, double radiusMeters, GeoBounds bounds, Visitor visitor) {
+            for (int i = 0; i < size; i++) {
+                double cafeLat = lats[i];
+                double cafeLng = lngs[i];
+                // 경계 상자로 먼저 거르고 남은 것만 haversine으로 확인한다
+                if (!bounds.contains(cafeLat, cafeLng)) {
+                    continue;
+                }
+                double distance = haversineMeters(lat, lng, cafeLat, cafeLng);
+                if (distance <= radiusMeters) {
+                    visitor.accept(ids[i], cafeLat, cafeLng, distance);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Visitor {
+        void accept(long id, double lat, double lng, double distanceMeters);
+    }
+}
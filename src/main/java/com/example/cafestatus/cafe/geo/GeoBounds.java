@@ -0,0 +1,21 @@
+package com.example.cafestatus.cafe.geo;
+
+// 반경 검색 원을 덮는 위경도 경계 상자
+public record GeoBounds(double minLat, double maxLat, double minLng, double maxLng) {
+
+    private static final double METERS_PER_DEGREE = 111_000.0;
+
+    // 위경도 범위를 넘지 않게 자르고, 극 근처에서 cos가 0으로 가면 경도 범위를 전체로 본다
+    public static GeoBounds around(double lat, double lng, double radiusMeters) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double lngDelta = cosLat < 1e-6 ? 180 : Math.min(180, radiusMeters / (METERS_PER_DEGREE * cosLat));
+        return new GeoBounds(
+                Math.max(-90, lat - latDelta), Math.min(90, lat + latDelta),
+                Math.max(-180, lng - lngDelta), Math.min(180, lng + lngDelta));
+    }
+
+    public boolean contains(double lat, double lng) {
+        return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.cafestatus.cafe.geo;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 가까운 순 상위 limit개만 남기는 최대 힙. 루트가 지금까지 남긴 것 중 가장 먼 카페라서
+// 후보마다 거리를 한 번 받아 루트와만 비교하면 된다 (전체 정렬 O(n log n) 대신 O(n log limit))
+// 거리가 같으면 ID가 작은 쪽을 가까운 것으로 본다 (결과 순서 고정)
+public final class NearestCafes {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int limit;
+    private long[] ids;
+    private double[] distances;
+    private int size;
+
+    public NearestCafes(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        this.limit = limit;
+        int capacity = Math.min(limit, INITIAL_CAPACITY);
+        this.ids = new long[capacity];
+        this.distances = new double[capacity];
+    }
+
+    public void offer(long cafeId, double distanceMeters) {
+        if (size < limit) {
+            if (size == ids.length) {
+                int capacity = (int) Math.min(limit, size * 2L);
+                ids = Arrays.copyOf(ids, capacity);
+                distances = Arrays.copyOf(distances, capacity);
+            }
+            ids[size] = cafeId;
+            distances[size] = distanceMeters;
+            siftUp(size++);
+        } else if (closer(distanceMeters, cafeId, distances[0], ids[0])) {
+            ids[0] = cafeId;
+            distances[0] = distanceMeters;
+            siftDown(0, size);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 힙을 제자리에서 정렬해 돌려준다. 호출한 뒤에는 더 넣지 않는다
+    public List<CafeDistance> toSortedList() {
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        List<CafeDistance> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new CafeDistance(ids[i], distances[i]));
+        }
+        return result;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!farther(i, parent)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int end) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= end) {
+                return;
+            }
+            if (child + 1 < end && farther(child + 1, child)) {
+                child++;
+            }
+            if (!farther(child, i)) {
+                return;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private boolean farther(int i, int j) {
+        return closer(distances[j], ids[j], distances[i], ids[i]);
+    }
+
+    private static boolean closer(double distance, long id, double otherDistance, long otherId) {
+        return distance < otherDistance || (distance == otherDistance && id < otherId);
+    }
+
+    private void swap(int i, int j) {
+        long id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+        double distance = distances[i];
+        distances[i] = distances[j];
+        distances[j] = distance;
+    }
+}
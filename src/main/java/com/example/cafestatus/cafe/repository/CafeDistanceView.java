@@ -0,0 +1,13 @@
+package com.example.cafestatus.cafe.repository;
+
+// 공간 인덱스 검색 결과 한 행. distance는 중심점까지의 구면 거리(m)
+public interface CafeDistanceView {
+
+    Long getCafeId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    Double getDistance();
+}
@@ -1,5 +1,7 @@
 package com.example.cafestatus.cafe.repository;
 
+import com.example.cafestatus.cafe.dto.CafeInfo;
+import com.example.cafestatus.cafe.dto.CafeLocation;
 import com.example.cafestatus.cafe.entity.Cafe;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +20,40 @@ public interface CafeRepository extends JpaRepository<Cafe, Long> {
     """)
     List<Cafe> findInBoundingBox(double minLat, double maxLat, double minLng, double maxLng);
 
+    @Query("""
+        select new com.example.cafestatus.cafe.dto.CafeLocation(c.id, c.latitude, c.longitude) from Cafe c
+        where c.latitude between :minLat and :maxLat
+          and c.longitude between :minLng and :maxLng
+    """)
+    List<CafeLocation> findLocationsInBoundingBox(double minLat, double maxLat, double minLng, double maxLng);
+
+    @Query("select new com.example.cafestatus.cafe.dto.CafeLocation(c.id, c.latitude, c.longitude) from Cafe c")
+    List<CafeLocation> findAllLocations();
+
+    @Query("""
+        select new com.example.cafestatus.cafe.dto.CafeInfo(c.id, c.name, c.latitude, c.longitude, c.address, c.createdAt)
+        from Cafe c
+    """)
+    List<CafeInfo> findAllInfos();
+
+    // MySQL 전용: 경계 상자로 공간 인덱스(idx_cafes_location)를 타고, 구면 거리로 원 밖을 거른 뒤 가까운 순으로 자른다
+    @Query(value = """
+        select c.id as cafeId, c.latitude as latitude, c.longitude as longitude,
+               ST_Distance_Sphere(c.location,
+                   ST_PointFromWKB(ST_AsWKB(POINT(:lng, :lat)), 4326, 'axis-order=long-lat')) as distance
+        from cafes c
+        where MBRContains(
+                  ST_GeomFromWKB(ST_AsWKB(ST_MakeEnvelope(POINT(:minLng, :minLat), POINT(:maxLng, :maxLat))),
+                      4326, 'axis-order=long-lat'),
+                  c.location)
+        having distance <= :radiusMeters
+        order by distance
+        limit :limit
+    """, nativeQuery = true)
+    List<CafeDistanceView> findNearestBySpatialIndex(double lat, double lng, double radiusMeters,
+                                                     double minLat, double maxLat, double minLng, double maxLng,
+                                                     int limit);
+
     Page<Cafe> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
     Page<Cafe> findByOwnerId(Long ownerId, Pageable pageable);
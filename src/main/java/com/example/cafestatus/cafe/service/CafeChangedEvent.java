@@ -0,0 +1,20 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeInfo;
+
+public record CafeChangedEvent(CafeInfo cafe, Change change) {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public boolean created() {
+        return change == Change.CREATED;
+    }
+
+    public boolean removed() {
+        return change == Change.DELETED;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeInfo;
+import com.example.cafestatus.cafe.dto.NearbyCafe;
+import com.example.cafestatus.status.cache.StatusCacheModel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface CafeGeoCache {
+
+    // 비어 있으면 캐시로 답할 수 없다는 뜻이고, 호출자는 DB 경로로 내려간다
+    Optional<NearbyResult> findNearby(double lat, double lng, double radiusMeters, int limit);
+
+    void put(CafeInfo cafe);
+
+    void remove(Long cafeId);
+
+    void rebuild();
+
+    // cafes는 가까운 순, statuses는 캐시에 있던 것만 담긴다
+    record NearbyResult(List<NearbyCafe> cafes, Map<Long, StatusCacheModel> statuses) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import com.example.cafestatus.cafe.entity.Cafe;
+import com.example.cafestatus.cafe.repository.CafeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// 카페 좌표는 생성 후 바뀌지 않으므로 TTL 없이 크기로만 제한한다
+@Component
+public class CafeLocationCache {
+
+    private final CafeRepository cafeRepository;
+    private final Cache<Long, CafeLocation> locations;
+    private final Counter loads;
+
+    public CafeLocationCache(CafeRepository cafeRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${cafe.location-cache.max-size:100000}") long maxSize) {
+        this.cafeRepository = cafeRepository;
+        this.locations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.loads = meterRegistry.counter("cafe.location.load");
+        meterRegistry.gauge("cafe.location.cache.size", locations, Cache::estimatedSize);
+    }
+
+    // 없는 카페면 null (캐시에 남기지 않음)
+    public CafeLocation get(Long cafeId) {
+        return locations.get(cafeId, id -> {
+            loads.increment();
+            return cafeRepository.findById(id).map(CafeLocation::from).orElse(null);
+        });
+    }
+
+    public void putAll(Collection<Cafe> cafes) {
+        for (Cafe cafe : cafes) {
+            locations.put(cafe.getId(), CafeLocation.from(cafe));
+        }
+    }
+}
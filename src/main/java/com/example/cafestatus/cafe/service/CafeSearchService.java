@@ -1,39 +1,42 @@
 package com.example.cafestatus.cafe.service;
 
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeInfo;
 import com.example.cafestatus.cafe.dto.CafeMapItemResponse;
+import com.example.cafestatus.cafe.dto.NearbyCafe;
 import com.example.cafestatus.cafe.entity.Cafe;
+import com.example.cafestatus.cafe.service.CafeGeoCache.NearbyResult;
 import com.example.cafestatus.status.cache.StatusCacheModel;
 import com.example.cafestatus.status.dto.StatusSummary;
-import com.example.cafestatus.status.entity.CafeLiveStatus;
 import com.example.cafestatus.status.mapper.StatusViewMapper;
-import com.example.cafestatus.status.repository.CafeLiveStatusRepository;
 import com.example.cafestatus.status.service.CafeStatusCacheService;
+import com.example.cafestatus.status.service.CafeStatusLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
+// 클래스 단위 트랜잭션을 두지 않는다: Redis 경로에서 DB 커넥션을 잡지 않기 위해서이며, DB 조회는 CafeService/리포지토리의 트랜잭션을 탄다
 @Service
-@Transactional(readOnly = true)
 public class CafeSearchService {
 
     private static final Logger log = LoggerFactory.getLogger(CafeSearchService.class);
 
     private final CafeService cafeService;
-    private final CafeLiveStatusRepository statusRepository;
     private final CafeStatusCacheService cacheService;
+    private final CafeStatusLoader statusLoader;
+    private final CafeGeoCache geoCache;
 
     public CafeSearchService(CafeService cafeService,
-                             CafeLiveStatusRepository statusRepository,
-                             CafeStatusCacheService cacheService) {
+                             CafeStatusCacheService cacheService,
+                             CafeStatusLoader statusLoader,
+                             CafeGeoCache geoCache) {
         this.cafeService = cafeService;
-        this.statusRepository = statusRepository;
         this.cacheService = cacheService;
+        this.statusLoader = statusLoader;
+        this.geoCache = geoCache;
     }
 
     public List<CafeMapItemResponse> findNearbyWithStatus(double lat, double lng, double radiusMeters, int limit) {
@@ -41,65 +44,72 @@ public class CafeSearchService {
         if (limit < 1 || limit > 200) {
             throw new IllegalArgumentException("limit must be between 1 and 200");
         }
+        cafeService.validateNearbyQuery(lat, lng, radiusMeters);
 
-        List<Cafe> cafes = cafeService.findNearby(lat, lng, radiusMeters);
-
-        cafes = cafes.stream()
-                .sorted(Comparator.comparingDouble(c -> haversineMeters(lat, lng, c.getLatitude(), c.getLongitude())))
-                .limit(limit)
-                .toList();
+        // Redis 모드: GEOSEARCH + (info, 상태) 파이프라인으로 끝나고 SQL은 상태 미스에만 나간다
+        NearbyResult nearby = geoCache.findNearby(lat, lng, radiusMeters, limit)
+                .orElseGet(() -> findNearbyFromDatabase(lat, lng, radiusMeters, limit));
+        List<NearbyCafe> cafes = nearby.cafes();
+        if (cafes.isEmpty()) {
+            return List.of();
+        }
 
         Instant now = Instant.now();
-        List<Long> ids = cafes.stream().map(Cafe::getId).toList();
-
-        // Try cache first
-        Map<Long, StatusCacheModel> cachedMap = cacheService.getMultiple(ids);
+        Map<Long, StatusCacheModel> cachedMap = nearby.statuses();
+        cachedMap.values().forEach(model -> statusLoader.refreshAheadOfExpiry(model, now));
 
         // Find IDs that missed cache
-        List<Long> missIds = ids.stream()
+        List<Long> missIds = cafes.stream()
+                .map(n -> n.cafe().id())
                 .filter(id -> !cachedMap.containsKey(id))
                 .toList();
 
-        // Fetch misses from DB and backfill cache
-        Map<Long, CafeLiveStatus> dbStatusMap = Map.of();
-        if (!missIds.isEmpty()) {
-            dbStatusMap = statusRepository.findByCafeIdIn(missIds).stream()
-                    .collect(Collectors.toMap(CafeLiveStatus::getCafeId, Function.identity()));
-            for (var entry : dbStatusMap.entrySet()) {
-                cacheService.put(entry.getKey(), entry.getValue());
-            }
-        }
+        // Fetch misses from DB (coalesced with concurrent loads) and backfill cache
+        Map<Long, StatusCacheModel> loadedMap = missIds.isEmpty() ? Map.of() : statusLoader.loadAll(missIds);
 
-        Map<Long, CafeLiveStatus> finalDbStatusMap = dbStatusMap;
         return cafes.stream()
-                .map(c -> {
-                    StatusSummary summary = null;
-                    StatusCacheModel cached = cachedMap.get(c.getId());
-                    if (cached != null) {
-                        summary = cached.toSummary(now);
-                    }
-                    if (summary == null) {
-                        CafeLiveStatus s = finalDbStatusMap.get(c.getId());
-                        summary = (s == null) ? StatusViewMapper.unknown() : StatusViewMapper.from(s, now);
+                .map(n -> {
+                    CafeInfo c = n.cafe();
+                    StatusCacheModel model = cachedMap.get(c.id());
+                    if (model == null) {
+                        model = loadedMap.get(c.id());
                     }
+                    StatusSummary summary = (model == null) ? StatusViewMapper.unknown() : model.toSummary(now);
                     return new CafeMapItemResponse(
-                            c.getId(), c.getName(),
-                            c.getLatitude(), c.getLongitude(),
-                            c.getAddress(), c.getCreatedAt(),
+                            c.id(), c.name(),
+                            c.latitude(), c.longitude(),
+                            c.address(), c.createdAt(),
+                            roundDistance(n.distanceMeters()),
                             summary
                     );
                 })
                 .toList();
     }
 
-    static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 6371000.0;
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+    private NearbyResult findNearbyFromDatabase(double lat, double lng, double radiusMeters, int limit) {
+        // 좌표만으로 거리순 상위 limit개를 고른 뒤, 그 카페들만 PK로 읽는다
+        List<CafeDistance> nearest = cafeService.findNearest(lat, lng, radiusMeters, limit);
+        if (nearest.isEmpty()) {
+            return new NearbyResult(List.of(), Map.of());
+        }
+        List<Long> nearestIds = nearest.stream().map(CafeDistance::cafeId).toList();
+
+        Map<Long, Cafe> byId = new HashMap<>();
+        for (Cafe cafe : cafeService.findAllById(nearestIds)) {
+            byId.put(cafe.getId(), cafe);
+        }
+        // 인덱스에만 남아 있는(롤백/삭제된) 카페는 여기서 빠진다
+        List<NearbyCafe> cafes = nearest.stream()
+                .filter(d -> byId.containsKey(d.cafeId()))
+                .map(d -> new NearbyCafe(CafeInfo.from(byId.get(d.cafeId())), d.distanceMeters()))
+                .toList();
+
+        // Try cache first
+        return new NearbyResult(cafes, cacheService.getMultiple(cafes.stream().map(n -> n.cafe().id()).toList()));
+    }
+
+    // 구면 거리 근사라 cm 단위는 의미가 없다
+    private static double roundDistance(double meters) {
+        return Math.round(meters * 10) / 10.0;
     }
 }
@@ -3,6 +3,9 @@ package com.example.cafestatus.cafe.service;
 import com.example.cafestatus.auth.entity.Owner;
 import com.example.cafestatus.auth.repository.OwnerRepository;
 import com.example.cafestatus.cafe.dto.CafeCreateRequest;
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeInfo;
+import com.example.cafestatus.cafe.dto.CafeLocation;
 import com.example.cafestatus.cafe.dto.CafeUpdateRequest;
 import com.example.cafestatus.cafe.entity.Cafe;
 import com.example.cafestatus.cafe.repository.CafeRepository;
@@ -10,6 +13,7 @@ import com.example.cafestatus.common.exception.ForbiddenException;
 import com.example.cafestatus.common.exception.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -25,10 +29,17 @@ public class CafeService {
 
     private final CafeRepository cafeRepository;
     private final OwnerRepository ownerRepository;
+    private final NearbyCafeLocator nearbyLocator;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CafeService(CafeRepository cafeRepository, OwnerRepository ownerRepository) {
+    public CafeService(CafeRepository cafeRepository,
+                       OwnerRepository ownerRepository,
+                       NearbyCafeLocator nearbyLocator,
+                       ApplicationEventPublisher eventPublisher) {
         this.cafeRepository = cafeRepository;
         this.ownerRepository = ownerRepository;
+        this.nearbyLocator = nearbyLocator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -41,6 +52,7 @@ public class CafeService {
 
         Cafe cafe = new Cafe(req.name(), req.latitude(), req.longitude(), req.address(), owner);
         Cafe saved = cafeRepository.save(cafe);
+        eventPublisher.publishEvent(new CafeChangedEvent(CafeInfo.from(saved), CafeChangedEvent.Change.CREATED));
         log.info("카페 생성 완료: id={}", saved.getId());
         return saved;
     }
@@ -58,19 +70,29 @@ public class CafeService {
         return cafeRepository.findByNameContainingIgnoreCase(name, pageable);
     }
 
-    public List<Cafe> findNearby(double lat, double lng, double radiusMeters) {
-        validateCoordinates(lat, lng);
-        if (radiusMeters <= 0 || radiusMeters > 10_000) {
-            throw new IllegalArgumentException("radiusMeters must be between 1 and 10000");
-        }
+    // 반경 안 카페의 ID/좌표만 돌려준다. 엔티티가 필요하면 골라낸 ID로 findAllById 한다
+    public List<CafeLocation> findNearby(double lat, double lng, double radiusMeters) {
+        validateNearbyQuery(lat, lng, radiusMeters);
+        return nearbyLocator.findWithin(lat, lng, radiusMeters);
+    }
 
-        double latDelta = radiusMeters / 111_000.0;
-        double lngDelta = radiusMeters / (111_000.0 * Math.cos(Math.toRadians(lat)));
+    // 반경 안에서 가까운 순으로 최대 limit개와 각 거리(m)
+    public List<CafeDistance> findNearest(double lat, double lng, double radiusMeters, int limit) {
+        validateNearbyQuery(lat, lng, radiusMeters);
+        return nearbyLocator.findNearest(lat, lng, radiusMeters, limit);
+    }
 
-        return cafeRepository.findInBoundingBox(
-                lat - latDelta, lat + latDelta,
-                lng - lngDelta, lng + lngDelta
-        );
+    public List<Cafe> findAllById(List<Long> ids) {
+        return cafeRepository.findAllById(ids);
+    }
+
+    public List<Cafe> findInArea(double minLat, double maxLat, double minLng, double maxLng) {
+        validateCoordinates(minLat, minLng);
+        validateCoordinates(maxLat, maxLng);
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("min must not exceed max");
+        }
+        return cafeRepository.findInBoundingBox(minLat, maxLat, minLng, maxLng);
     }
 
     public Cafe verifyOwnership(Long cafeId, Long ownerId) {
@@ -86,6 +108,7 @@ public class CafeService {
     public Cafe update(Long cafeId, Long ownerId, CafeUpdateRequest req) {
         Cafe cafe = verifyOwnership(cafeId, ownerId);
         cafe.update(req.name(), req.address());
+        eventPublisher.publishEvent(new CafeChangedEvent(CafeInfo.from(cafe), CafeChangedEvent.Change.UPDATED));
         log.info("카페 정보 수정 완료: id={}", cafeId);
         return cafe;
     }
@@ -94,6 +117,7 @@ public class CafeService {
     public void delete(Long cafeId, Long ownerId) {
         Cafe cafe = verifyOwnership(cafeId, ownerId);
         cafeRepository.delete(cafe);
+        eventPublisher.publishEvent(new CafeChangedEvent(CafeInfo.from(cafe), CafeChangedEvent.Change.DELETED));
         log.info("카페 삭제 완료: id={}", cafeId);
     }
 
@@ -101,6 +125,13 @@ public class CafeService {
         return cafeRepository.findByOwnerId(ownerId, pageable);
     }
 
+    public void validateNearbyQuery(double lat, double lng, double radiusMeters) {
+        validateCoordinates(lat, lng);
+        if (radiusMeters <= 0 || radiusMeters > 10_000) {
+            throw new IllegalArgumentException("radiusMeters must be between 1 and 10000");
+        }
+    }
+
     private void validateCoordinates(double lat, double lng) {
         if (lat < -90 || lat > 90) throw new IllegalArgumentException("Invalid latitude");
         if (lng < -180 || lng > 180) throw new IllegalArgumentException("Invalid longitude");
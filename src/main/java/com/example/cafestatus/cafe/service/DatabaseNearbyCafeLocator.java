@@ -0,0 +1,48 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import com.example.cafestatus.cafe.geo.CafeGridIndex;
+import com.example.cafestatus.cafe.geo.GeoBounds;
+import com.example.cafestatus.cafe.geo.NearestCafes;
+import com.example.cafestatus.cafe.repository.CafeRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 경계 상자를 DB 인덱스로 좁히고 원 밖 모서리는 메모리에서 걸러낸다. 엔티티 대신 좌표만 읽는다
+@Component
+@ConditionalOnProperty(name = "cafe.nearby.engine", havingValue = "db")
+public class DatabaseNearbyCafeLocator implements NearbyCafeLocator {
+
+    private final CafeRepository cafeRepository;
+
+    public DatabaseNearbyCafeLocator(CafeRepository cafeRepository) {
+        this.cafeRepository = cafeRepository;
+    }
+
+    @Override
+    public List<CafeLocation> findWithin(double lat, double lng, double radiusMeters) {
+        return findInBoundingBox(lat, lng, radiusMeters).stream()
+                .filter(l -> CafeGridIndex.haversineMeters(lat, lng, l.latitude(), l.longitude()) <= radiusMeters)
+                .toList();
+    }
+
+    @Override
+    public List<CafeDistance> findNearest(double lat, double lng, double radiusMeters, int limit) {
+        NearestCafes nearest = new NearestCafes(limit);
+        for (CafeLocation l : findInBoundingBox(lat, lng, radiusMeters)) {
+            double distance = CafeGridIndex.haversineMeters(lat, lng, l.latitude(), l.longitude());
+            if (distance <= radiusMeters) {
+                nearest.offer(l.cafeId(), distance);
+            }
+        }
+        return nearest.toSortedList();
+    }
+
+    private List<CafeLocation> findInBoundingBox(double lat, double lng, double radiusMeters) {
+        GeoBounds bounds = GeoBounds.around(lat, lng, radiusMeters);
+        return cafeRepository.findLocationsInBoundingBox(bounds.minLat(), bounds.maxLat(), bounds.minLng(), bounds.maxLng());
+    }
+}
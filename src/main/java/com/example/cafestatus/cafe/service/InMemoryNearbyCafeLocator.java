@@ -0,0 +1,148 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import com.example.cafestatus.cafe.geo.CafeGridIndex;
+import com.example.cafestatus.cafe.repository.CafeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 모든 카페 좌표를 격자 인덱스에 올려 두고 반경 검색을 DB 왕복 없이 처리한다.
+// 추가는 트랜잭션 안에서 바로, 삭제는 커밋 뒤에 반영한다. 호출자가 ID로 다시 조회하므로
+// 롤백된 추가나 아직 커밋 전인 삭제가 인덱스에 잠깐 남아도 응답에는 나오지 않는다.
+// 다른 노드에서 생긴 변경은 주기적인 재적재로 맞춘다.
+// 재적재 스냅샷은 아직 커밋 전인 추가와 스냅샷 이후 커밋된 삭제를 모르므로, 바꿔 끼운 직후 함께 다시 적용한다
+@Component
+@ConditionalOnProperty(name = "cafe.nearby.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryNearbyCafeLocator implements NearbyCafeLocator {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryNearbyCafeLocator.class);
+
+    private final CafeRepository cafeRepository;
+    private final double cellDegrees;
+    private final Timer rebuilds;
+    private volatile CafeGridIndex index;
+
+    // 이벤트 반영과 인덱스 교체가 엇갈리지 않도록 둘 다 이 잠금 안에서 한다 (카페 변경은 드물다)
+    private final Object swapLock = new Object();
+    private boolean rebuilding;
+    // 재적재 중에 들어온 변경. 같은 카페는 마지막 변경만 남긴다
+    private final Map<Long, CafeLocation> addedDuringRebuild = new HashMap<>();
+    private final Map<Long, CafeLocation> removedDuringRebuild = new HashMap<>();
+    // 인덱스에 넣었지만 아직 커밋되지 않은 생성. 커밋이나 롤백되면 지운다
+    private final Map<Long, CafeLocation> uncommitted = new ConcurrentHashMap<>();
+
+    public InMemoryNearbyCafeLocator(CafeRepository cafeRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${cafe.nearby.memory.cell-degrees:0.01}") double cellDegrees) {
+        this.cafeRepository = cafeRepository;
+        this.cellDegrees = cellDegrees;
+        this.index = new CafeGridIndex(cellDegrees);
+        this.rebuilds = meterRegistry.timer("cafe.nearby.index.rebuild");
+        meterRegistry.gauge("cafe.nearby.index.size", this, locator -> locator.index.size());
+        meterRegistry.gauge("cafe.nearby.index.cells", this, locator -> locator.index.cellCount());
+    }
+
+    @Override
+    public List<CafeLocation> findWithin(double lat, double lng, double radiusMeters) {
+        return index.findWithin(lat, lng, radiusMeters);
+    }
+
+    @Override
+    public List<CafeDistance> findNearest(double lat, double lng, double radiusMeters, int limit) {
+        return index.findNearest(lat, lng, radiusMeters, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${cafe.nearby.memory.refresh-interval-ms:300000}",
+            fixedDelayString = "${cafe.nearby.memory.refresh-interval-ms:300000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    // 새 인덱스를 따로 만든 뒤 한 번에 바꿔 끼우므로 적재 중에도 검색은 이전 인덱스로 계속된다
+    synchronized void rebuild() {
+        synchronized (swapLock) {
+            rebuilding = true;
+        }
+        try {
+            CafeGridIndex rebuilt = rebuilds.recordCallable(
+                    () -> CafeGridIndex.of(cellDegrees, cafeRepository.findAllLocations()));
+            synchronized (swapLock) {
+                uncommitted.values().forEach(rebuilt::put);
+                addedDuringRebuild.values().forEach(rebuilt::put);
+                removedDuringRebuild.values().forEach(rebuilt::remove);
+                index = rebuilt;
+            }
+            log.info("근처 검색 인덱스 적재 완료: cafes={}, cells={}", rebuilt.size(), rebuilt.cellCount());
+        } catch (Exception e) {
+            log.warn("근처 검색 인덱스 적재 실패: error={}", e.getMessage());
+        } finally {
+            synchronized (swapLock) {
+                rebuilding = false;
+                addedDuringRebuild.clear();
+                removedDuringRebuild.clear();
+            }
+        }
+    }
+
+    @EventListener(condition = "#event.created()")
+    public void onAdded(CafeChangedEvent event) {
+        CafeLocation location = event.cafe().location();
+        uncommitted.put(location.cafeId(), location);
+        synchronized (swapLock) {
+            if (rebuilding) {
+                removedDuringRebuild.remove(location.cafeId());
+                addedDuringRebuild.put(location.cafeId(), location);
+            }
+            index.put(location);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, condition = "#event.created()",
+            fallbackExecution = true)
+    public void onCreateCommitted(CafeChangedEvent event) {
+        uncommitted.remove(event.cafe().id());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, condition = "#event.removed()")
+    public void onRemoved(CafeChangedEvent event) {
+        remove(event.cafe().location());
+    }
+
+    // 생성은 커밋 전에 바로 넣으므로, 롤백되면 다시 뺀다 (거리가 같은 유령 카페가 상위 limit을 차지하지 않게)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK, condition = "#event.created()")
+    public void onCreateRolledBack(CafeChangedEvent event) {
+        uncommitted.remove(event.cafe().id());
+        remove(event.cafe().location());
+    }
+
+    private void remove(CafeLocation location) {
+        synchronized (swapLock) {
+            if (rebuilding) {
+                addedDuringRebuild.remove(location.cafeId());
+                removedDuringRebuild.put(location.cafeId(), location);
+            }
+            index.remove(location);
+        }
+    }
+}
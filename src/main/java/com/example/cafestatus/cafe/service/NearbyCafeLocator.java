@@ -0,0 +1,18 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeLocation;
+
+import java.util.List;
+
+// 반경 검색의 좌표 부분만 맡는다
+// cafe.nearby.engine으로 구현을 고른다
+// (memory: 프로세스 내 격자 인덱스, db: 위경도 범위 쿼리, spatial: MySQL 공간 인덱스)
+public interface NearbyCafeLocator {
+
+    // 반경 안 카페의 ID/좌표. 순서는 보장하지 않는다
+    List<CafeLocation> findWithin(double lat, double lng, double radiusMeters);
+
+    // 반경 안에서 가까운 순으로 최대 limit개와 그 거리. 거리는 후보마다 한 번만 계산한다
+    List<CafeDistance> findNearest(double lat, double lng, double radiusMeters, int limit);
+}
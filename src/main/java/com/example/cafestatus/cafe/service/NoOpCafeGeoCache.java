@@ -0,0 +1,32 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeInfo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpCafeGeoCache implements CafeGeoCache {
+
+    @Override
+    public Optional<NearbyResult> findNearby(double lat, double lng, double radiusMeters, int limit) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(CafeInfo cafe) {
+        // no-op
+    }
+
+    @Override
+    public void remove(Long cafeId) {
+        // no-op
+    }
+
+    @Override
+    public void rebuild() {
+        // no-op
+    }
+}
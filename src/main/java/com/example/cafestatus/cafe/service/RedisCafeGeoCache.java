@@ -0,0 +1,432 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeInfo;
+import com.example.cafestatus.cafe.dto.NearbyCafe;
+import com.example.cafestatus.cafe.repository.CafeRepository;
+import com.example.cafestatus.status.cache.StatusCacheCodec;
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.service.RedisCafeStatusCacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands.GeoLocation;
+import org.springframework.data.redis.connection.RedisGeoCommands.GeoSearchCommandArgs;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.domain.geo.GeoReference;
+import org.springframework.data.redis.domain.geo.GeoShape;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * 카페 좌표와 응답 필드를 Redis에 복제해 근처 검색을 SQL 없이 처리한다.
+ *
+ *   cafe:geo              : GEO 집합 (member = cafeId)
+ *   cafe:info             : 해시 (field = cafeId, value = CafeInfo JSON)
+ *   cafe:geo:empty        : 카페가 0개일 때 적재는 끝났다는 표시 (빈 집합은 Redis에 남지 않는다)
+ *   cafe:geo:rebuild:lock : 재적재 락 (SET NX PX, 노드 토큰), 여러 노드가 동시에 뜰 때 한 노드만 적재한다
+ *   cafe:geo:reconcile    : 주기 재적재 간격 표시 (SET NX PX), 노드 수와 상관없이 간격마다 한 번만 돈다
+ *
+ * 조회는 GEOSEARCH(WITHDIST) 1회 + (HMGET cafe:info, MGET cafe:status:{id}) 파이프라인 1회.
+ * cafe:geo 키가 없으면 DB 경로로 내려가고 백그라운드에서 전체 재적재한다.
+ * 반영 실패(cafe.geo.write.failure)나 다른 노드의 재적재에 덮인 변경은 주기 재적재가 메운다.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+public class RedisCafeGeoCache implements CafeGeoCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCafeGeoCache.class);
+    private static final String GEO_KEY = "cafe:geo";
+    private static final String INFO_KEY = "cafe:info";
+    private static final byte[] GEO = GEO_KEY.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INFO = INFO_KEY.getBytes(StandardCharsets.UTF_8);
+    private static final String EMPTY_KEY = "cafe:geo:empty";
+    private static final String LOCK_KEY = "cafe:geo:rebuild:lock";
+    private static final String RECONCILE_KEY = "cafe:geo:reconcile";
+    private static final byte[] EMPTY = EMPTY_KEY.getBytes(StandardCharsets.UTF_8);
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final CafeRepository cafeRepository;
+    private final StatusCacheCodec codec;
+    private final ObjectMapper objectMapper;
+    private final int rebuildBatchSize;
+    private final Duration lockLease;
+    private final Duration reconcileInterval;
+
+    // 락 값이자 임시 키 접미사. 락이 만료돼 두 노드가 겹쳐도 서로의 임시 집합을 지우지 않는다
+    private final String nodeToken = UUID.randomUUID().toString();
+    private final byte[] geoRebuild;
+    private final byte[] infoRebuild;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // 재적재 중에 들어온 변경은 RENAME 뒤에 다시 적용한다 (스냅샷 이후 커밋분 유실 방지, 빈 Optional = 삭제)
+    private final ConcurrentMap<Long, Optional<CafeInfo>> changedDuringRebuild = new ConcurrentHashMap<>();
+    private final ExecutorService rebuildExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter hits;
+    private final Counter missingKey;
+    private final Counter errors;
+    private final Counter missingInfo;
+    private final Counter writeFailures;
+    private final Timer rebuilds;
+
+    public RedisCafeGeoCache(RedisTemplate<String, byte[]> binaryRedisTemplate,
+                             CafeRepository cafeRepository,
+                             StatusCacheCodec codec,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${cafe.nearby.redis.rebuild-batch-size:1000}") int rebuildBatchSize,
+                             @Value("${cafe.nearby.redis.rebuild-lock-ms:60000}") long rebuildLockMs,
+                             @Value("${cafe.nearby.redis.reconcile-interval-ms:600000}") long reconcileIntervalMs) {
+        this.redisTemplate = binaryRedisTemplate;
+        this.cafeRepository = cafeRepository;
+        this.codec = codec;
+        this.objectMapper = objectMapper;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.lockLease = Duration.ofMillis(rebuildLockMs);
+        this.reconcileInterval = Duration.ofMillis(reconcileIntervalMs);
+        this.geoRebuild = ("cafe:geo:rebuild:" + nodeToken).getBytes(StandardCharsets.UTF_8);
+        this.infoRebuild = ("cafe:info:rebuild:" + nodeToken).getBytes(StandardCharsets.UTF_8);
+        this.hits = meterRegistry.counter("cafe.geo.hit");
+        this.missingKey = meterRegistry.counter("cafe.geo.fallback", "reason", "missing");
+        this.errors = meterRegistry.counter("cafe.geo.fallback", "reason", "error");
+        this.missingInfo = meterRegistry.counter("cafe.geo.info.missing");
+        this.writeFailures = meterRegistry.counter("cafe.geo.write.failure");
+        this.rebuilds = meterRegistry.timer("cafe.geo.rebuild");
+    }
+
+    @Override
+    public Optional<NearbyResult> findNearby(double lat, double lng, double radiusMeters, int limit) {
+        try {
+            GeoResults<GeoLocation<byte[]>> found = redisTemplate.execute(
+                    (RedisCallback<GeoResults<GeoLocation<byte[]>>>) connection -> connection.geoCommands().geoSearch(
+                            GEO,
+                            GeoReference.fromCoordinate(lng, lat),
+                            GeoShape.byRadius(new Distance(radiusMeters, Metrics.METERS)),
+                            GeoSearchCommandArgs.newGeoSearchArgs().includeDistance().sortAscending().limit(limit)));
+            if (found == null) {
+                errors.increment();
+                return Optional.empty();
+            }
+            if (found.getContent().isEmpty()) {
+                // 결과가 없는 것과 집합 자체가 없는 것을 구분한다
+                if (loaded()) {
+                    hits.increment();
+                    return Optional.of(new NearbyResult(List.of(), Map.of()));
+                }
+                missingKey.increment();
+                rebuildAsync();
+                return Optional.empty();
+            }
+
+            List<Long> ids = new ArrayList<>(found.getContent().size());
+            double[] distances = new double[found.getContent().size()];
+            for (GeoResult<GeoLocation<byte[]>> result : found) {
+                distances[ids.size()] = result.getDistance().getValue();
+                ids.add(Long.valueOf(new String(result.getContent().getName(), StandardCharsets.UTF_8)));
+            }
+            byte[][] fields = new byte[ids.size()][];
+            byte[][] statusKeys = new byte[ids.size()][];
+            for (int i = 0; i < ids.size(); i++) {
+                fields[i] = ids.get(i).toString().getBytes(StandardCharsets.UTF_8);
+                statusKeys[i] = RedisCafeStatusCacheService.key(ids.get(i)).getBytes(StandardCharsets.UTF_8);
+            }
+            List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hashCommands().hMGet(INFO, fields);
+                connection.stringCommands().mGet(statusKeys);
+                return null;
+            }, RedisSerializer.byteArray());
+
+            NearbyResult result = toResult(ids, distances, (List<?>) replies.get(0), (List<?>) replies.get(1));
+            hits.increment();
+            return Optional.of(result);
+        } catch (Exception e) {
+            errors.increment();
+            log.warn("Redis 근처 검색 실패, DB로 대체: error={}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private NearbyResult toResult(List<Long> ids, double[] distances, List<?> infos, List<?> statuses) {
+        List<NearbyCafe> cafes = new ArrayList<>(ids.size());
+        Map<Long, StatusCacheModel> models = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long cafeId = ids.get(i);
+            // 삭제 중인 카페는 GEO 멤버만 잠깐 남아 있을 수 있다 (ZREM → HDEL 순서)
+            if (!(infos.get(i) instanceof byte[] info)) {
+                missingInfo.increment();
+                continue;
+            }
+            cafes.add(new NearbyCafe(readInfo(info), distances[i]));
+            if (statuses.get(i) instanceof byte[] status) {
+                try {
+                    models.put(cafeId, codec.decodeModel(cafeId, status));
+                } catch (RuntimeException e) {
+                    log.warn("Redis 상태 역직렬화 실패: cafeId={}", cafeId);
+                }
+            }
+        }
+        return new NearbyResult(cafes, models);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCafeChanged(CafeChangedEvent event) {
+        if (event.removed()) {
+            remove(event.cafe().id());
+        } else {
+            put(event.cafe());
+        }
+    }
+
+    @Override
+    public void put(CafeInfo cafe) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.put(cafe.id(), Optional.of(cafe));
+        }
+        try {
+            // 집합이 없을 때 GEOADD 하면 카페 1개짜리 집합이 생겨 재적재 판단이 틀어지므로 건너뛴다
+            if (loaded()) {
+                write(GEO, INFO, List.of(cafe));
+            }
+        } catch (Exception e) {
+            writeFailures.increment();
+            log.warn("Redis GEO 반영 실패: cafeId={}, error={}", cafe.id(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void remove(Long cafeId) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.put(cafeId, Optional.empty());
+        }
+        try {
+            delete(cafeId);
+        } catch (Exception e) {
+            writeFailures.increment();
+            log.warn("Redis GEO 삭제 실패: cafeId={}, error={}", cafeId, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        try {
+            if (!loaded()) {
+                rebuildAsync();
+            }
+        } catch (Exception e) {
+            log.warn("Redis GEO 집합 확인 실패: error={}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cafe.nearby.redis.reconcile-interval-ms:600000}",
+            initialDelayString = "${cafe.nearby.redis.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(
+                    RECONCILE_KEY, nodeToken.getBytes(StandardCharsets.UTF_8), reconcileInterval))) {
+                rebuildAsync();
+            }
+        } catch (Exception e) {
+            log.warn("Redis GEO 주기 재적재 예약 실패: error={}", e.getMessage());
+        }
+    }
+
+    // 적재가 끝난 상태: 집합이 있거나, 카페가 없어서 빈 표시만 남긴 경우
+    private boolean loaded() {
+        Long existing = redisTemplate.countExistingKeys(List.of(GEO_KEY, EMPTY_KEY));
+        return existing != null && existing > 0;
+    }
+
+    private void rebuildAsync() {
+        if (!rebuilding.get()) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    // 임시 키에 배치로 채운 뒤 RENAME으로 바꿔 끼우므로 적재 중에도 기존 집합으로 계속 조회된다
+    @Override
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        boolean swapped = false;
+        boolean locked = false;
+        try {
+            locked = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(
+                    LOCK_KEY, nodeToken.getBytes(StandardCharsets.UTF_8), lockLease));
+            if (!locked) {
+                log.debug("다른 노드가 Redis GEO 집합을 적재 중이라 건너뜀");
+                return;
+            }
+            int loaded = rebuilds.recordCallable(this::load);
+            swapped = true;
+            log.info("Redis GEO 집합 적재 완료: cafes={}", loaded);
+        } catch (Exception e) {
+            log.warn("Redis GEO 집합 적재 실패: error={}", e.getMessage());
+            discardTemp();
+        } finally {
+            if (locked) {
+                releaseLock();
+            }
+            rebuilding.set(false);
+            // 바꿔 끼운 집합에만 다시 적용한다. 실패했으면 다음 재적재가 DB에서 함께 읽는다
+            if (swapped) {
+                replayChanges();
+            } else {
+                changedDuringRebuild.clear();
+            }
+        }
+    }
+
+    private int load() {
+        List<CafeInfo> cafes = cafeRepository.findAllInfos();
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().del(geoRebuild, infoRebuild));
+        if (cafes.isEmpty()) {
+            // 빈 집합은 키로 남지 않으므로 표시를 남겨 검색마다 재적재하지 않게 한다
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.stringCommands().set(EMPTY, new byte[0]);
+                connection.keyCommands().del(GEO, INFO);
+                return null;
+            });
+            return 0;
+        }
+        for (int from = 0; from < cafes.size(); from += rebuildBatchSize) {
+            write(geoRebuild, infoRebuild, cafes.subList(from, Math.min(cafes.size(), from + rebuildBatchSize)));
+            // 적재 중 노드가 죽으면 임시 키가 남지 않도록 락과 같은 수명을 준다
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.keyCommands().pExpire(geoRebuild, lockLease.toMillis());
+                connection.keyCommands().pExpire(infoRebuild, lockLease.toMillis());
+                return null;
+            });
+        }
+        // info를 먼저 바꿔야 새 GEO 멤버가 info 없이 보이는 구간이 생기지 않는다. RENAME은 TTL도 옮기므로 지운다
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.keyCommands().rename(infoRebuild, INFO);
+            connection.keyCommands().rename(geoRebuild, GEO);
+            connection.keyCommands().persist(INFO);
+            connection.keyCommands().persist(GEO);
+            connection.keyCommands().del(EMPTY);
+            return null;
+        });
+        return cafes.size();
+    }
+
+    private void discardTemp() {
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().del(geoRebuild, infoRebuild));
+        } catch (Exception e) {
+            log.debug("Redis GEO 임시 키 삭제 실패: error={}", e.getMessage());
+        }
+    }
+
+    private void releaseLock() {
+        try {
+            redisTemplate.execute(RELEASE_LOCK, List.of(LOCK_KEY), (Object) nodeToken.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            // 풀지 못한 락은 lease가 지나면 풀린다
+            log.warn("Redis GEO 재적재 락 해제 실패: error={}", e.getMessage());
+        }
+    }
+
+    private void replayChanges() {
+        for (Long cafeId : new ArrayList<>(changedDuringRebuild.keySet())) {
+            Optional<CafeInfo> change = changedDuringRebuild.remove(cafeId);
+            if (change == null) {
+                continue;
+            }
+            try {
+                if (change.isPresent()) {
+                    write(GEO, INFO, List.of(change.get()));
+                } else {
+                    delete(cafeId);
+                }
+            } catch (Exception e) {
+                writeFailures.increment();
+                log.warn("Redis GEO 변경 재적용 실패: cafeId={}, error={}", cafeId, e.getMessage());
+            }
+        }
+    }
+
+    // info를 먼저 쓰고 GEO에 넣는다 (조회 쪽에서 info 없는 멤버를 최소화)
+    private void write(byte[] geoKey, byte[] infoKey, List<CafeInfo> cafes) {
+        Map<byte[], byte[]> infos = new LinkedHashMap<>();
+        Map<byte[], Point> points = new LinkedHashMap<>();
+        for (CafeInfo cafe : cafes) {
+            byte[] member = cafe.id().toString().getBytes(StandardCharsets.UTF_8);
+            infos.put(member, writeInfo(cafe));
+            points.put(member, new Point(cafe.longitude(), cafe.latitude()));
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hMSet(infoKey, infos);
+            connection.geoCommands().geoAdd(geoKey, points);
+            if (geoKey == GEO) {
+                // 카페가 0개였던 뒤 첫 카페가 생기면 빈 표시를 지운다
+                connection.keyCommands().del(EMPTY);
+            }
+            return null;
+        });
+    }
+
+    private void delete(Long cafeId) {
+        byte[] member = cafeId.toString().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zRem(GEO, member);
+            connection.hashCommands().hDel(INFO, member);
+            return null;
+        });
+    }
+
+    private byte[] writeInfo(CafeInfo cafe) {
+        try {
+            return objectMapper.writeValueAsBytes(cafe);
+        } catch (Exception e) {
+            throw new IllegalStateException("CafeInfo 직렬화 실패: cafeId=" + cafe.id(), e);
+        }
+    }
+
+    private CafeInfo readInfo(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, CafeInfo.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("CafeInfo 역직렬화 실패", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdown();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import com.example.cafestatus.cafe.geo.GeoBounds;
+import com.example.cafestatus.cafe.repository.CafeDistanceView;
+import com.example.cafestatus.cafe.repository.CafeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+// MySQL의 SRID 4326 POINT 컬럼과 SPATIAL INDEX로 거리순 상위 결과를 DB에서 바로 받는다.
+// 공간 컬럼이 없는 DB(H2 개발 프로필)에서는 위경도 범위 쿼리로 대체한다
+@Component
+@ConditionalOnProperty(name = "cafe.nearby.engine", havingValue = "spatial")
+public class SpatialNearbyCafeLocator implements NearbyCafeLocator {
+
+    private static final Logger log = LoggerFactory.getLogger(SpatialNearbyCafeLocator.class);
+
+    private final CafeRepository cafeRepository;
+    private final NearbyCafeLocator fallback;
+    private final boolean spatial;
+
+    public SpatialNearbyCafeLocator(CafeRepository cafeRepository, DataSource dataSource) {
+        this.cafeRepository = cafeRepository;
+        this.fallback = new DatabaseNearbyCafeLocator(cafeRepository);
+        this.spatial = isMySql(dataSource);
+        if (!spatial) {
+            log.warn("공간 인덱스를 쓸 수 없는 DB라 위경도 범위 쿼리로 대체한다");
+        }
+    }
+
+    @Override
+    public List<CafeLocation> findWithin(double lat, double lng, double radiusMeters) {
+        if (!spatial) {
+            return fallback.findWithin(lat, lng, radiusMeters);
+        }
+        return query(lat, lng, radiusMeters, Integer.MAX_VALUE).stream()
+                .map(row -> new CafeLocation(row.getCafeId(), row.getLatitude(), row.getLongitude()))
+                .toList();
+    }
+
+    // 거리는 DB가 ST_Distance_Sphere로 계산한 값을 그대로 쓴다
+    @Override
+    public List<CafeDistance> findNearest(double lat, double lng, double radiusMeters, int limit) {
+        if (!spatial) {
+            return fallback.findNearest(lat, lng, radiusMeters, limit);
+        }
+        return query(lat, lng, radiusMeters, limit).stream()
+                .map(row -> new CafeDistance(row.getCafeId(), row.getDistance()))
+                .toList();
+    }
+
+    private List<CafeDistanceView> query(double lat, double lng, double radiusMeters, int limit) {
+        GeoBounds bounds = GeoBounds.around(lat, lng, radiusMeters);
+        return cafeRepository.findNearestBySpatialIndex(lat, lng, radiusMeters,
+                bounds.minLat(), bounds.maxLat(), bounds.minLng(), bounds.maxLng(), limit);
+    }
+
+    private static boolean isMySql(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (Exception e) {
+            log.warn("DB 종류 확인 실패: error={}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.cafestatus.status.cache;
+
+import com.example.cafestatus.status.dto.CafeStatusSseEvent;
+import com.example.cafestatus.status.dto.StatusSummary;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * cafe:status:{id} 값과 Pub/Sub 메시지의 바이너리 포맷.
+ *
+ *   MODEL_V1 : [0x01][packed:1][updatedAt epochMillis:8][expiresAt epochMillis:8]          = 18 bytes (읽기 전용)
+ *   MODEL_V2 : MODEL_V1 + [cachedUntil epochMillis:8]                                       = 26 bytes
+ *   EVENT_V1 : [0x02][cafeId:8][packed:1][updatedAt epochMillis:8][expiresAt epochMillis:8] = 26 bytes
+ *   EVENT_V2 : EVENT_V1 (버전 0x04) + [eventId millis:8][eventId seq:8]                      = 42 bytes
+ *   EVENT_BATCH_V1 : [0x05][count:4] + count × [cafeId:8][packed:1][updatedAt:8][expiresAt:8][eventId millis:8][eventId seq:8]
+ *                    = 5 + 41×count bytes, eventId가 없으면 millis = -1
+ *   INVALIDATION   : count × [cafeId:8] = 8×count bytes (cafe:status:invalidations 전용)
+ *
+ *   packed = crowdLevel(2bit) | party2(2bit) | party3(2bit) | party4(2bit), enum ordinal 기준
+ *   cachedUntil = Redis 키 만료 시각 (조기 갱신 판단용)
+ *   eventId = 이벤트 로그(Redis Streams / 인메모리 링 버퍼)에서 받은 ID, SSE id 필드로 그대로 내려간다
+ *
+ * 첫 바이트가 '{' 이면 이전 버전이 저장한 JSON으로 보고 Jackson으로 읽는다 (롤아웃 기간 호환).
+ */
+@Component
+public class StatusCacheCodec {
+
+    static final byte MODEL_V1 = 0x01;
+    static final byte EVENT_V1 = 0x02;
+    static final byte MODEL_V2 = 0x03;
+    static final byte EVENT_V2 = 0x04;
+    static final byte EVENT_BATCH_V1 = 0x05;
+
+    private static final int MODEL_V1_LENGTH = 1 + 1 + 8 + 8;
+    private static final int MODEL_V2_LENGTH = MODEL_V1_LENGTH + 8;
+    private static final int EVENT_V1_LENGTH = 1 + 8 + 1 + 8 + 8;
+    private static final int EVENT_V2_LENGTH = EVENT_V1_LENGTH + 8 + 8;
+    private static final int BATCH_HEADER_LENGTH = 1 + 4;
+    private static final int BATCH_ENTRY_LENGTH = EVENT_V2_LENGTH - 1;
+
+    private static final CrowdLevel[] CROWD_LEVELS = CrowdLevel.values();
+    private static final Availability[] AVAILABILITIES = Availability.values();
+
+    private final ObjectMapper objectMapper;
+
+    public StatusCacheCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] encodeModel(StatusCacheModel model, Instant cachedUntil) {
+        return ByteBuffer.allocate(MODEL_V2_LENGTH)
+                .put(MODEL_V2)
+                .put(pack(model))
+                .putLong(model.updatedAt().toEpochMilli())
+                .putLong(model.expiresAt().toEpochMilli())
+                .putLong(cachedUntil.toEpochMilli())
+                .array();
+    }
+
+    public StatusCacheModel decodeModel(Long cafeId, byte[] bytes) {
+        if (isJson(bytes)) {
+            return readJson(bytes, StatusCacheModel.class);
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        byte version = buf.get();
+        if (version == MODEL_V2 && bytes.length == MODEL_V2_LENGTH) {
+            return unpack(cafeId, buf, true);
+        }
+        if (version == MODEL_V1 && bytes.length == MODEL_V1_LENGTH) {
+            return unpack(cafeId, buf, false);
+        }
+        throw new IllegalArgumentException("Unsupported status cache format: version=" + version);
+    }
+
+    public byte[] encodeEvent(StatusEvent event) {
+        StatusCacheModel model = event.model();
+        StatusEventId id = event.id();
+        ByteBuffer buf = ByteBuffer.allocate(id == null ? EVENT_V1_LENGTH : EVENT_V2_LENGTH)
+                .put(id == null ? EVENT_V1 : EVENT_V2)
+                .putLong(model.cafeId())
+                .put(pack(model))
+                .putLong(model.updatedAt().toEpochMilli())
+                .putLong(model.expiresAt().toEpochMilli());
+        if (id != null) {
+            buf.putLong(id.millis()).putLong(id.seq());
+        }
+        return buf.array();
+    }
+
+    public StatusEvent decodeEvent(byte[] bytes) {
+        if (isJson(bytes)) {
+            return new StatusEvent(null, fromLegacyEvent(readJson(bytes, CafeStatusSseEvent.class)));
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        byte version = buf.get();
+        if (version == EVENT_V2 && bytes.length == EVENT_V2_LENGTH) {
+            StatusCacheModel model = unpack(buf.getLong(), buf, false);
+            return new StatusEvent(new StatusEventId(buf.getLong(), buf.getLong()), model);
+        }
+        if (version == EVENT_V1 && bytes.length == EVENT_V1_LENGTH) {
+            return new StatusEvent(null, unpack(buf.getLong(), buf, false));
+        }
+        throw new IllegalArgumentException("Unsupported status event format: version=" + version);
+    }
+
+    public byte[] encodeBatch(List<StatusEvent> events) {
+        ByteBuffer buf = ByteBuffer.allocate(BATCH_HEADER_LENGTH + BATCH_ENTRY_LENGTH * events.size())
+                .put(EVENT_BATCH_V1)
+                .putInt(events.size());
+        for (StatusEvent event : events) {
+            StatusCacheModel model = event.model();
+            StatusEventId id = event.id();
+            buf.putLong(model.cafeId())
+                    .put(pack(model))
+                    .putLong(model.updatedAt().toEpochMilli())
+                    .putLong(model.expiresAt().toEpochMilli())
+                    .putLong(id == null ? -1 : id.millis())
+                    .putLong(id == null ? -1 : id.seq());
+        }
+        return buf.array();
+    }
+
+    // 단건 이벤트와 배치 메시지를 모두 받아 이벤트 목록으로 푼다
+    public List<StatusEvent> decodeEvents(byte[] bytes) {
+        if (bytes.length == 0 || bytes[0] != EVENT_BATCH_V1) {
+            return List.of(decodeEvent(bytes));
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        buf.get();
+        int count = buf.getInt();
+        if (count < 0 || bytes.length != BATCH_HEADER_LENGTH + (long) BATCH_ENTRY_LENGTH * count) {
+            throw new IllegalArgumentException("Unsupported status batch format: count=" + count + ", length=" + bytes.length);
+        }
+        List<StatusEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StatusCacheModel model = unpack(buf.getLong(), buf, false);
+            long millis = buf.getLong();
+            long seq = buf.getLong();
+            events.add(new StatusEvent(millis < 0 ? null : new StatusEventId(millis, seq), model));
+        }
+        return events;
+    }
+
+    public byte[] encodeInvalidations(Collection<Long> cafeIds) {
+        ByteBuffer buf = ByteBuffer.allocate(8 * cafeIds.size());
+        cafeIds.forEach(buf::putLong);
+        return buf.array();
+    }
+
+    public List<Long> decodeInvalidations(byte[] bytes) {
+        if (bytes.length == 0 || bytes.length % 8 != 0) {
+            throw new IllegalArgumentException("Unsupported invalidation format: length=" + bytes.length);
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        List<Long> cafeIds = new ArrayList<>(bytes.length / 8);
+        while (buf.hasRemaining()) {
+            cafeIds.add(buf.getLong());
+        }
+        return cafeIds;
+    }
+
+    private static byte pack(StatusCacheModel model) {
+        return (byte) model.packed();
+    }
+
+    private static StatusCacheModel unpack(Long cafeId, ByteBuffer buf, boolean withCachedUntil) {
+        int packed = buf.get() & 0xFF;
+        Instant updatedAt = Instant.ofEpochMilli(buf.getLong());
+        Instant expiresAt = Instant.ofEpochMilli(buf.getLong());
+        Instant cachedUntil = withCachedUntil ? Instant.ofEpochMilli(buf.getLong()) : null;
+        return new StatusCacheModel(
+                cafeId,
+                CROWD_LEVELS[packed >>> 6],
+                AVAILABILITIES[(packed >>> 4) & 0b11],
+                AVAILABILITIES[(packed >>> 2) & 0b11],
+                AVAILABILITIES[packed & 0b11],
+                updatedAt,
+                expiresAt,
+                cachedUntil
+        );
+    }
+
+    private static StatusCacheModel fromLegacyEvent(CafeStatusSseEvent event) {
+        StatusSummary s = event.status();
+        return new StatusCacheModel(
+                event.cafeId(),
+                CrowdLevel.valueOf(s.crowdLevel()),
+                Availability.valueOf(s.party2()),
+                Availability.valueOf(s.party3()),
+                Availability.valueOf(s.party4()),
+                s.updatedAt(),
+                s.expiresAt(),
+                null
+        );
+    }
+
+    private static boolean isJson(byte[] bytes) {
+        return bytes.length > 0 && bytes[0] == '{';
+    }
+
+    private <T> T readJson(byte[] bytes, Class<T> type) {
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,19 +1,22 @@
 package com.example.cafestatus.status.cache;
 
 import com.example.cafestatus.status.dto.StatusSummary;
+import com.example.cafestatus.status.entity.Availability;
 import com.example.cafestatus.status.entity.CafeLiveStatus;
+import com.example.cafestatus.status.entity.CrowdLevel;
 
 import java.time.Duration;
 import java.time.Instant;
 
 public record StatusCacheModel(
         Long cafeId,
-        String crowdLevel,
-        String party2,
-        String party3,
-        String party4,
-        String updatedAt,
-        String expiresAt
+        CrowdLevel crowdLevel,
+        Availability party2,
+        Availability party3,
+        Availability party4,
+        Instant updatedAt,
+        Instant expiresAt,
+        Instant cachedUntil
 ) {
 
     private static final long STALE_MINUTES = 30;
@@ -21,34 +24,42 @@ public record StatusCacheModel(
     public static StatusCacheModel from(CafeLiveStatus status) {
         return new StatusCacheModel(
                 status.getCafeId(),
-                status.getCrowdLevel().name(),
-                status.getParty2().name(),
-                status.getParty3().name(),
-                status.getParty4().name(),
-                status.getUpdatedAt().toString(),
-                status.getExpiresAt().toString()
+                status.getCrowdLevel(),
+                status.getParty2(),
+                status.getParty3(),
+                status.getParty4(),
+                status.getUpdatedAt(),
+                status.getExpiresAt(),
+                null
         );
     }
 
+    // crowdLevel(2bit) | party2(2bit) | party3(2bit) | party4(2bit), enum ordinal 기준 (0..255)
+    public int packed() {
+        return crowdLevel.ordinal() << 6
+                | party2.ordinal() << 4
+                | party3.ordinal() << 2
+                | party4.ordinal();
+    }
+
+    // toSummary의 stale 판정이 참이 되는 첫 시각
+    public Instant staleAt() {
+        return updatedAt.plus(Duration.ofMinutes(STALE_MINUTES));
+    }
+
     public StatusSummary toSummary(Instant now) {
-        try {
-            Instant updated = Instant.parse(updatedAt);
-            Instant expires = Instant.parse(expiresAt);
-            long ageMinutes = Duration.between(updated, now).toMinutes();
-            boolean stale = ageMinutes >= STALE_MINUTES;
-
-            return new StatusSummary(
-                    crowdLevel,
-                    party2,
-                    party3,
-                    party4,
-                    updated,
-                    expires,
-                    stale,
-                    ageMinutes
-            );
-        } catch (Exception e) {
-            return null;
-        }
+        long ageMinutes = Duration.between(updatedAt, now).toMinutes();
+        boolean stale = ageMinutes >= STALE_MINUTES;
+
+        return new StatusSummary(
+                crowdLevel.name(),
+                party2.name(),
+                party3.name(),
+                party4.name(),
+                updatedAt,
+                expiresAt,
+                stale,
+                ageMinutes
+        );
     }
 }
@@ -0,0 +1,46 @@
+package com.example.cafestatus.status.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/*
+ * 상태 변경 Pub/Sub 채널 이름.
+ *
+ *   cafe:status:updates:{shard} : SSE 팬아웃용 이벤트. shard = cafeId mod shards, 로컬 구독자가 있는 샤드만 구독한다
+ *   cafe:status:invalidations   : L1 무효화용 cafeId(8 bytes). 모든 노드가 항상 구독한다
+ *   cafe:status:areas           : 살아 있는 영역 구독의 셀 안 카페 이벤트. 영역 구독이 있는 노드만 구독한다
+ */
+@Component
+@ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+public class StatusChannels {
+
+    public static final String INVALIDATIONS = "cafe:status:invalidations";
+    public static final String AREAS = "cafe:status:areas";
+    private static final String UPDATES_PREFIX = "cafe:status:updates:";
+
+    private final int shards;
+
+    public StatusChannels(@Value("${cache.redis.pubsub.shards:64}") int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("shards must be positive: " + shards);
+        }
+        this.shards = shards;
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public int shardOf(Long cafeId) {
+        return (int) Math.floorMod(cafeId, (long) shards);
+    }
+
+    public String updates(int shard) {
+        return UPDATES_PREFIX + shard;
+    }
+
+    public String updatesFor(Long cafeId) {
+        return updates(shardOf(cafeId));
+    }
+}
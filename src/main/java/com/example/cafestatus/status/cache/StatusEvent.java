@@ -0,0 +1,5 @@
+package com.example.cafestatus.status.cache;
+
+// id는 이벤트 로그에 기록되기 전이거나 이전 포맷에서 읽은 경우 null
+public record StatusEvent(StatusEventId id, StatusCacheModel model) {
+}
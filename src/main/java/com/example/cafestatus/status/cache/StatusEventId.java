@@ -0,0 +1,33 @@
+package com.example.cafestatus.status.cache;
+
+// Redis Streams 엔트리 ID와 같은 "millis-seq" 형식. 인메모리 로그도 같은 규칙으로 단조 증가시킨다.
+public record StatusEventId(long millis, long seq) implements Comparable<StatusEventId> {
+
+    public static StatusEventId parse(String value) {
+        int dash = value.indexOf('-');
+        try {
+            if (dash < 0) {
+                return new StatusEventId(Long.parseLong(value), 0);
+            }
+            return new StatusEventId(Long.parseLong(value.substring(0, dash)), Long.parseLong(value.substring(dash + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid event id: " + value);
+        }
+    }
+
+    // 시계가 뒤로 가거나 같은 밀리초 안이면 seq를 올려 이전 ID보다 항상 크게 만든다
+    public StatusEventId next(long nowMillis) {
+        return nowMillis > millis ? new StatusEventId(nowMillis, 0) : new StatusEventId(millis, seq + 1);
+    }
+
+    @Override
+    public int compareTo(StatusEventId other) {
+        int byMillis = Long.compare(millis, other.millis);
+        return byMillis != 0 ? byMillis : Long.compare(seq, other.seq);
+    }
+
+    @Override
+    public String toString() {
+        return millis + "-" + seq;
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.cafestatus.status.controller;
 
-import com.example.cafestatus.cafe.service.CafeService;
 import com.example.cafestatus.status.dto.CafeStatusResponse;
+import com.example.cafestatus.status.dto.CafeViewersResponse;
 import com.example.cafestatus.status.dto.UpdateCafeStatusRequest;
 import com.example.cafestatus.status.service.CafeStatusService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,11 +17,9 @@ import java.time.Instant;
 @RequestMapping("/api/owner/cafes")
 public class OwnerCafeStatusController {
 
-    private final CafeService cafeService;
     private final CafeStatusService statusService;
 
-    public OwnerCafeStatusController(CafeService cafeService, CafeStatusService statusService) {
-        this.cafeService = cafeService;
+    public OwnerCafeStatusController(CafeStatusService statusService) {
         this.statusService = statusService;
     }
 
@@ -30,8 +28,14 @@ public class OwnerCafeStatusController {
     public CafeStatusResponse update(@PathVariable Long cafeId,
                                      @AuthenticationPrincipal Long ownerId,
                                      @Valid @RequestBody UpdateCafeStatusRequest req) {
-        cafeService.verifyOwnership(cafeId, ownerId);
-        var saved = statusService.upsert(cafeId, req);
+        var saved = statusService.upsert(cafeId, ownerId, req);
         return CafeStatusResponse.from(saved, Instant.now());
     }
+
+    @Operation(summary = "카페 실시간 시청자 수 조회")
+    @GetMapping("/{cafeId}/viewers")
+    public CafeViewersResponse viewers(@PathVariable Long cafeId,
+                                       @AuthenticationPrincipal Long ownerId) {
+        return new CafeViewersResponse(cafeId, statusService.getViewers(cafeId, ownerId));
+    }
 }
@@ -1,8 +1,12 @@
 package com.example.cafestatus.status.controller;
 
+import com.example.cafestatus.status.dto.SseSubscriptionResponse;
+import com.example.cafestatus.status.dto.SseSubscriptionUpdateRequest;
 import com.example.cafestatus.status.service.StatusSseRegistry;
+import com.example.cafestatus.status.sse.SseArea;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +14,7 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 @Tag(name = "SSE", description = "실시간 상태 스트리밍")
 @RestController
@@ -26,8 +31,12 @@ public class StatusSseController {
 
     @Operation(summary = "카페 상태 SSE 스트림 구독")
     @GetMapping("/stream")
-    public SseEmitter stream(@RequestParam String cafeIds) {
-        log.info("SSE 스트림 요청: cafeIds={}", cafeIds);
+    public SseEmitter stream(@RequestParam String cafeIds,
+                             @RequestParam(required = false) Integer maxRate,
+                             @RequestParam(required = false) String filter,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             HttpServletRequest request) {
+        log.info("SSE 스트림 요청: cafeIds={}, maxRate={}, filter={}, lastEventId={}", cafeIds, maxRate, filter, lastEventId);
 
         List<Long> ids;
         try {
@@ -45,6 +54,51 @@ public class StatusSseController {
             throw new IllegalArgumentException("cafeIds is required");
         }
 
-        return registry.subscribe(ids);
+        return registry.subscribe(ids, lastEventId, maxRate, filter, request.getRemoteAddr());
+    }
+
+    @Operation(summary = "영역(경계 상자 또는 중심+반경) 카페 상태 SSE 스트림 구독")
+    @GetMapping("/stream/area")
+    public SseEmitter streamArea(@RequestParam(required = false) Double lat,
+                                 @RequestParam(required = false) Double lng,
+                                 @RequestParam(required = false) Double radiusMeters,
+                                 @RequestParam(required = false) Double minLat,
+                                 @RequestParam(required = false) Double maxLat,
+                                 @RequestParam(required = false) Double minLng,
+                                 @RequestParam(required = false) Double maxLng,
+                                 @RequestParam(required = false) Integer maxRate,
+                                 @RequestParam(required = false) String filter,
+                                 @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                 HttpServletRequest request) {
+        log.info("SSE 영역 스트림 요청: lat={}, lng={}, radiusMeters={}, box=[{}, {}, {}, {}], maxRate={}, filter={}, lastEventId={}",
+                lat, lng, radiusMeters, minLat, maxLat, minLng, maxLng, maxRate, filter, lastEventId);
+
+        SseArea area;
+        if (lat != null && lng != null && radiusMeters != null) {
+            if (radiusMeters <= 0 || radiusMeters > 10_000) {
+                throw new IllegalArgumentException("radiusMeters must be between 1 and 10000");
+            }
+            area = SseArea.circle(lat, lng, radiusMeters);
+        } else if (minLat != null && maxLat != null && minLng != null && maxLng != null) {
+            area = SseArea.box(minLat, maxLat, minLng, maxLng);
+        } else {
+            throw new IllegalArgumentException("lat/lng/radiusMeters or minLat/maxLat/minLng/maxLng is required");
+        }
+
+        return registry.subscribeArea(area, lastEventId, maxRate, filter, request.getRemoteAddr());
+    }
+
+    @Operation(summary = "열려 있는 SSE 스트림의 구독 카페 추가/제거",
+            description = "스트림을 열 때 받은 ALB 스티키 쿠키를 함께 보내야 한다. 다른 노드에 도착하면 404")
+    @PatchMapping("/stream/{connectionId}")
+    public SseSubscriptionResponse updateStream(@PathVariable String connectionId,
+                                                @RequestBody SseSubscriptionUpdateRequest request) {
+        if (request.add().isEmpty() && request.remove().isEmpty()) {
+            throw new IllegalArgumentException("add or remove is required");
+        }
+        if (request.add().stream().anyMatch(Objects::isNull) || request.remove().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("cafe ids must not be null");
+        }
+        return registry.update(connectionId, request.add(), request.remove());
     }
 }
@@ -1,7 +1,7 @@
 package com.example.cafestatus.status.dto;
 
+import com.example.cafestatus.status.cache.StatusCacheModel;
 import com.example.cafestatus.status.entity.Availability;
-import com.example.cafestatus.status.entity.CafeLiveStatus;
 import com.example.cafestatus.status.entity.CrowdLevel;
 
 import java.time.Instant;
@@ -16,16 +16,16 @@ public record CafeStatusResponse(
         Instant expiresAt,
         boolean expired
 ) {
-    public static CafeStatusResponse from(CafeLiveStatus s, Instant now) {
+    public static CafeStatusResponse from(StatusCacheModel m, Instant now) {
         return new CafeStatusResponse(
-                s.getCafeId(),
-                s.getCrowdLevel(),
-                s.getParty2(),
-                s.getParty3(),
-                s.getParty4(),
-                s.getUpdatedAt(),
-                s.getExpiresAt(),
-                s.isExpired(now)
+                m.cafeId(),
+                m.crowdLevel(),
+                m.party2(),
+                m.party3(),
+                m.party4(),
+                m.updatedAt(),
+                m.expiresAt(),
+                now.isAfter(m.expiresAt())
         );
     }
 }
@@ -0,0 +1,7 @@
+package com.example.cafestatus.status.dto;
+
+import java.util.List;
+
+public record CafeStatusSnapshotEvent(
+        List<CafeStatusSseEvent> statuses
+) {}
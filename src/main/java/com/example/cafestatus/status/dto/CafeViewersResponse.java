@@ -0,0 +1,6 @@
+package com.example.cafestatus.status.dto;
+
+public record CafeViewersResponse(
+        Long cafeId,
+        long viewers
+) {}
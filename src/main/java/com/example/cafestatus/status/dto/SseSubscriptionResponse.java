@@ -0,0 +1,8 @@
+package com.example.cafestatus.status.dto;
+
+import java.util.List;
+
+public record SseSubscriptionResponse(
+        String connectionId,
+        List<Long> cafeIds
+) {}
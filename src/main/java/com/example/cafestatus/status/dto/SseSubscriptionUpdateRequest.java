@@ -0,0 +1,13 @@
+package com.example.cafestatus.status.dto;
+
+import java.util.List;
+
+public record SseSubscriptionUpdateRequest(
+        List<Long> add,
+        List<Long> remove
+) {
+    public SseSubscriptionUpdateRequest {
+        add = add == null ? List.of() : add;
+        remove = remove == null ? List.of() : remove;
+    }
+}
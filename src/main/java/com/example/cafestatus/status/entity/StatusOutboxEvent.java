@@ -0,0 +1,77 @@
+package com.example.cafestatus.status.entity;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "status_outbox")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StatusOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long cafeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CrowdLevel crowdLevel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Availability party2;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Availability party3;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Availability party4;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant availableAt;
+
+    @Column(length = 36)
+    private String claimedBy;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public StatusOutboxEvent(StatusCacheModel model) {
+        this.cafeId = model.cafeId();
+        this.crowdLevel = model.crowdLevel();
+        this.party2 = model.party2();
+        this.party3 = model.party3();
+        this.party4 = model.party4();
+        this.updatedAt = model.updatedAt();
+        this.expiresAt = model.expiresAt();
+    }
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = Instant.now();
+        this.availableAt = this.createdAt;
+    }
+
+    public StatusCacheModel toModel() {
+        return new StatusCacheModel(cafeId, crowdLevel, party2, party3, party4, updatedAt, expiresAt, null);
+    }
+}
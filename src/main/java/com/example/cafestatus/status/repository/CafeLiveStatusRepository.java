@@ -5,6 +5,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
-public interface CafeLiveStatusRepository extends JpaRepository<CafeLiveStatus, Long> {
+public interface CafeLiveStatusRepository extends JpaRepository<CafeLiveStatus, Long>, CafeLiveStatusRepositoryCustom {
     List<CafeLiveStatus> findByCafeIdIn(List<Long> cafeIds);
 }
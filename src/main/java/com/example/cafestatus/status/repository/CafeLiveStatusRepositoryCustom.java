@@ -0,0 +1,18 @@
+package com.example.cafestatus.status.repository;
+
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+
+import java.time.Instant;
+
+public interface CafeLiveStatusRepositoryCustom {
+
+    int upsertIfOwner(Long cafeId,
+                      Long ownerId,
+                      CrowdLevel crowdLevel,
+                      Availability party2,
+                      Availability party3,
+                      Availability party4,
+                      Instant updatedAt,
+                      Instant expiresAt);
+}
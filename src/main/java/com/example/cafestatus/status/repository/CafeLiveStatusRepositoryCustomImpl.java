@@ -0,0 +1,76 @@
+package com.example.cafestatus.status.repository;
+
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.Instant;
+
+public class CafeLiveStatusRepositoryCustomImpl implements CafeLiveStatusRepositoryCustom {
+
+    // 소유권 확인(cafes.owner_id)과 상태 upsert를 한 문장으로 처리. 소유자가 아니면 0건.
+    private static final String MYSQL_UPSERT = """
+            INSERT INTO cafe_live_status (cafe_id, crowd_level, party2, party3, party4, updated_at, expires_at)
+            SELECT c.id, :crowdLevel, :party2, :party3, :party4, :updatedAt, :expiresAt
+            FROM cafes c
+            WHERE c.id = :cafeId AND c.owner_id = :ownerId
+            ON DUPLICATE KEY UPDATE
+                crowd_level = :crowdLevel,
+                party2 = :party2,
+                party3 = :party3,
+                party4 = :party4,
+                updated_at = :updatedAt,
+                expires_at = :expiresAt
+            """;
+
+    private static final String H2_MERGE = """
+            MERGE INTO cafe_live_status s
+            USING (SELECT c.id AS cafe_id FROM cafes c WHERE c.id = :cafeId AND c.owner_id = :ownerId) o
+            ON s.cafe_id = o.cafe_id
+            WHEN MATCHED THEN UPDATE SET
+                crowd_level = :crowdLevel,
+                party2 = :party2,
+                party3 = :party3,
+                party4 = :party4,
+                updated_at = :updatedAt,
+                expires_at = :expiresAt
+            WHEN NOT MATCHED THEN INSERT (cafe_id, crowd_level, party2, party3, party4, updated_at, expires_at)
+                VALUES (o.cafe_id, :crowdLevel, :party2, :party3, :party4, :updatedAt, :expiresAt)
+            """;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final String upsertSql;
+
+    public CafeLiveStatusRepositoryCustomImpl(DataSource dataSource) throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.upsertSql = "H2".equalsIgnoreCase(product) ? H2_MERGE : MYSQL_UPSERT;
+    }
+
+    @Override
+    public int upsertIfOwner(Long cafeId,
+                             Long ownerId,
+                             CrowdLevel crowdLevel,
+                             Availability party2,
+                             Availability party3,
+                             Availability party4,
+                             Instant updatedAt,
+                             Instant expiresAt) {
+        return em.createNativeQuery(upsertSql)
+                .setParameter("cafeId", cafeId)
+                .setParameter("ownerId", ownerId)
+                .setParameter("crowdLevel", crowdLevel.name())
+                .setParameter("party2", party2.name())
+                .setParameter("party3", party3.name())
+                .setParameter("party4", party4.name())
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("expiresAt", expiresAt)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.cafestatus.status.repository;
+
+import com.example.cafestatus.status.entity.StatusOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface StatusOutboxRepository extends JpaRepository<StatusOutboxEvent, Long> {
+
+    @Query("select e.id from StatusOutboxEvent e where e.availableAt <= :now order by e.id")
+    List<Long> findReadyIds(Instant now, Pageable pageable);
+
+    // availableAt을 lease 만료 시각으로 밀어 두면 다른 노드/다음 폴링이 같은 행을 다시 가져가지 않는다
+    @Modifying
+    @Query("""
+            update StatusOutboxEvent e
+            set e.claimedBy = :token, e.availableAt = :leaseUntil
+            where e.id in :ids and e.availableAt <= :now
+            """)
+    int claim(Collection<Long> ids, String token, Instant now, Instant leaseUntil);
+
+    List<StatusOutboxEvent> findByClaimedBy(String token);
+
+    @Modifying
+    @Query("""
+            update StatusOutboxEvent e
+            set e.attempts = e.attempts + 1, e.availableAt = :retryAt, e.claimedBy = null
+            where e.id in :ids
+            """)
+    int scheduleRetry(Collection<Long> ids, Instant retryAt);
+}
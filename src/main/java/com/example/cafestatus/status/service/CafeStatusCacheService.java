@@ -1,9 +1,9 @@
 package com.example.cafestatus.status.service;
 
 import com.example.cafestatus.status.cache.StatusCacheModel;
-import com.example.cafestatus.status.dto.StatusSummary;
-import com.example.cafestatus.status.entity.CafeLiveStatus;
+import com.example.cafestatus.status.cache.StatusEvent;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -14,7 +14,19 @@ public interface CafeStatusCacheService {
 
     Map<Long, StatusCacheModel> getMultiple(List<Long> cafeIds);
 
-    void put(Long cafeId, CafeLiveStatus status);
+    // false면 더 최신(updatedAt) 상태가 이미 캐시에 있어 쓰지 않았다
+    boolean put(StatusCacheModel model);
 
-    boolean publishUpdate(Long cafeId, StatusSummary summary);
+    // false면 브로커가 없으므로 호출자가 로컬 구독자에게 직접 전달한다. 브로커 오류는 예외로 던진다.
+    // toSubscribers: 카페 샤드 채널로 (카페 구독자용), toAreas: 영역 채널로 (살아 있는 영역 셀 안의 카페)
+    boolean publishUpdate(StatusEvent event, boolean toSubscribers, boolean toAreas);
+
+    // 샤드별로 묶어 메시지 수를 줄인다. areaEvents는 영역 채널로 보낼 이벤트, invalidateOnly는 팬아웃 없이 무효화만 보낼 카페.
+    // false면 publishUpdate와 같다
+    boolean publishBatch(List<StatusEvent> events, List<StatusEvent> areaEvents, Collection<Long> invalidateOnly);
+
+    // SSE 팬아웃 없이 다른 노드의 로컬 캐시만 무효화한다
+    void publishInvalidation(Long cafeId);
+
+    void evictLocal(Long cafeId);
 }
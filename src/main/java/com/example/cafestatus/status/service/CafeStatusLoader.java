@@ -0,0 +1,172 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.entity.CafeLiveStatus;
+import com.example.cafestatus.status.repository.CafeLiveStatusRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+@Component
+public class CafeStatusLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(CafeStatusLoader.class);
+    private static final double LOAD_TIME_SMOOTHING = 0.1;
+
+    private final CafeLiveStatusRepository repo;
+    private final CafeStatusCacheService cacheService;
+    private final double earlyRefreshBeta;
+
+    private final ConcurrentMap<Long, CompletableFuture<Optional<StatusCacheModel>>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile double avgLoadMillis = 5.0;
+
+    private final Counter leaderLoads;
+    private final Counter coalescedLoads;
+    private final Counter earlyRefreshes;
+
+    public CafeStatusLoader(CafeLiveStatusRepository repo,
+                            CafeStatusCacheService cacheService,
+                            MeterRegistry meterRegistry,
+                            @Value("${cache.status.early-refresh-beta:1.0}") double earlyRefreshBeta) {
+        this.repo = repo;
+        this.cacheService = cacheService;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.leaderLoads = meterRegistry.counter("cafe.status.load", "role", "leader");
+        this.coalescedLoads = meterRegistry.counter("cafe.status.load", "role", "coalesced");
+        this.earlyRefreshes = meterRegistry.counter("cafe.status.load.early-refresh");
+        meterRegistry.gauge("cafe.status.load.in-flight", inFlight, Map::size);
+    }
+
+    public Optional<StatusCacheModel> load(Long cafeId) {
+        CompletableFuture<Optional<StatusCacheModel>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<StatusCacheModel>> existing = inFlight.putIfAbsent(cafeId, mine);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return await(existing);
+        }
+
+        leaderLoads.increment();
+        try {
+            long start = System.nanoTime();
+            Optional<StatusCacheModel> loaded = repo.findById(cafeId).map(this::backfill);
+            recordLoadTime(start);
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cafeId, mine);
+        }
+    }
+
+    public Map<Long, StatusCacheModel> loadAll(List<Long> cafeIds) {
+        Map<Long, CompletableFuture<Optional<StatusCacheModel>>> mine = new HashMap<>();
+        Map<Long, CompletableFuture<Optional<StatusCacheModel>>> theirs = new HashMap<>();
+        for (Long cafeId : cafeIds) {
+            CompletableFuture<Optional<StatusCacheModel>> future = new CompletableFuture<>();
+            CompletableFuture<Optional<StatusCacheModel>> existing = inFlight.putIfAbsent(cafeId, future);
+            if (existing == null) {
+                mine.put(cafeId, future);
+            } else {
+                theirs.put(cafeId, existing);
+            }
+        }
+
+        Map<Long, StatusCacheModel> result = new HashMap<>();
+
+        // 다른 호출자가 기다리는 키를 먼저 완료시킨 뒤에 남의 결과를 기다린다 (교착 방지)
+        if (!mine.isEmpty()) {
+            leaderLoads.increment(mine.size());
+            try {
+                long start = System.nanoTime();
+                Map<Long, CafeLiveStatus> loaded = new HashMap<>();
+                for (CafeLiveStatus status : repo.findByCafeIdIn(new ArrayList<>(mine.keySet()))) {
+                    loaded.put(status.getCafeId(), status);
+                }
+                recordLoadTime(start);
+                mine.forEach((cafeId, future) -> {
+                    Optional<StatusCacheModel> model = Optional.ofNullable(loaded.get(cafeId)).map(this::backfill);
+                    model.ifPresent(m -> result.put(cafeId, m));
+                    future.complete(model);
+                });
+            } catch (RuntimeException e) {
+                mine.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                mine.forEach(inFlight::remove);
+            }
+        }
+
+        if (!theirs.isEmpty()) {
+            coalescedLoads.increment(theirs.size());
+            theirs.forEach((cafeId, future) -> await(future).ifPresent(m -> result.put(cafeId, m)));
+        }
+        return result;
+    }
+
+    // XFetch: 만료가 가까울수록, DB 로드가 느릴수록 높은 확률로 만료 전에 미리 갱신한다
+    public void refreshAheadOfExpiry(StatusCacheModel cached, Instant now) {
+        if (cached.cachedUntil() == null || inFlight.containsKey(cached.cafeId())) {
+            return;
+        }
+        // L2 TTL이 상태 만료 시각에 맞춰 잘린 항목은 다시 읽어도 같은 expiresAt이라 cachedUntil이 늘지 않는다
+        if (!cached.cachedUntil().isBefore(cached.expiresAt())) {
+            return;
+        }
+        double jitter = -avgLoadMillis * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        if (now.toEpochMilli() + jitter < cached.cachedUntil().toEpochMilli()) {
+            return;
+        }
+
+        earlyRefreshes.increment();
+        Long cafeId = cached.cafeId();
+        refreshExecutor.execute(() -> {
+            try {
+                load(cafeId);
+            } catch (Exception e) {
+                log.warn("상태 조기 갱신 실패: cafeId={}, error={}", cafeId, e.getMessage());
+            }
+        });
+    }
+
+    private StatusCacheModel backfill(CafeLiveStatus status) {
+        StatusCacheModel model = StatusCacheModel.from(status);
+        try {
+            cacheService.put(model);
+        } catch (Exception e) {
+            log.warn("캐시 백필 실패: cafeId={}, error={}", model.cafeId(), e.getMessage());
+        }
+        return model;
+    }
+
+    private void recordLoadTime(long startNanos) {
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        avgLoadMillis += LOAD_TIME_SMOOTHING * (millis - avgLoadMillis);
+    }
+
+    private static Optional<StatusCacheModel> await(CompletableFuture<Optional<StatusCacheModel>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdown();
+    }
+}
@@ -1,22 +1,26 @@
 package com.example.cafestatus.status.service;
 
-import com.example.cafestatus.cafe.entity.Cafe;
 import com.example.cafestatus.cafe.service.CafeService;
+import com.example.cafestatus.common.exception.ConflictException;
 import com.example.cafestatus.common.exception.NotFoundException;
 import com.example.cafestatus.status.cache.StatusCacheModel;
-import com.example.cafestatus.status.dto.CafeStatusSseEvent;
 import com.example.cafestatus.status.dto.StatusSummary;
 import com.example.cafestatus.status.dto.UpdateCafeStatusRequest;
 import com.example.cafestatus.status.entity.CafeLiveStatus;
-import com.example.cafestatus.status.mapper.StatusViewMapper;
+import com.example.cafestatus.status.entity.StatusOutboxEvent;
 import com.example.cafestatus.status.repository.CafeLiveStatusRepository;
+import com.example.cafestatus.status.repository.StatusOutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional(readOnly = true)
@@ -27,17 +31,26 @@ public class CafeStatusService {
 
     private final CafeService cafeService;
     private final CafeLiveStatusRepository repo;
-    private final StatusSseRegistry sseRegistry;
+    private final StatusOutboxRepository outboxRepo;
+    private final ApplicationEventPublisher eventPublisher;
     private final CafeStatusCacheService cacheService;
+    private final CafeStatusLoader loader;
+    private final StatusPresence presence;
 
     public CafeStatusService(CafeService cafeService,
                              CafeLiveStatusRepository repo,
-                             StatusSseRegistry sseRegistry,
-                             CafeStatusCacheService cacheService) {
+                             StatusOutboxRepository outboxRepo,
+                             ApplicationEventPublisher eventPublisher,
+                             CafeStatusCacheService cacheService,
+                             CafeStatusLoader loader,
+                             StatusPresence presence) {
         this.cafeService = cafeService;
         this.repo = repo;
-        this.sseRegistry = sseRegistry;
+        this.outboxRepo = outboxRepo;
+        this.eventPublisher = eventPublisher;
         this.cacheService = cacheService;
+        this.loader = loader;
+        this.presence = presence;
     }
 
     public CafeLiveStatus getOrThrow(Long cafeId) {
@@ -48,57 +61,76 @@ public class CafeStatusService {
     public StatusSummary getStatusSummary(Long cafeId) {
         Instant now = Instant.now();
 
-        StatusSummary cached = cacheService.get(cafeId)
-                .map(model -> model.toSummary(now))
-                .orElse(null);
+        StatusCacheModel cached = cacheService.get(cafeId).orElse(null);
         if (cached != null) {
-            return cached;
+            loader.refreshAheadOfExpiry(cached, now);
+            return cached.toSummary(now);
         }
 
-        CafeLiveStatus status = repo.findById(cafeId)
+        return loader.load(cafeId)
+                .map(model -> model.toSummary(now))
                 .orElseThrow(() -> new NotFoundException("Status not found for cafeId: " + cafeId));
-        cacheService.put(cafeId, status);
-        return StatusViewMapper.from(status, now);
+    }
+
+    public Map<Long, StatusCacheModel> getStatusSnapshot(List<Long> cafeIds) {
+        Instant now = Instant.now();
+
+        Map<Long, StatusCacheModel> result = new HashMap<>(cacheService.getMultiple(cafeIds));
+        result.values().forEach(model -> loader.refreshAheadOfExpiry(model, now));
+
+        List<Long> missIds = cafeIds.stream()
+                .filter(id -> !result.containsKey(id))
+                .toList();
+        if (!missIds.isEmpty()) {
+            result.putAll(loader.loadAll(missIds));
+        }
+        return result;
+    }
+
+    public long getViewers(Long cafeId, Long ownerId) {
+        cafeService.verifyOwnership(cafeId, ownerId);
+        return presence.viewers(cafeId);
     }
 
     @Transactional
-    public CafeLiveStatus upsert(Long cafeId, UpdateCafeStatusRequest req) {
+    public StatusCacheModel upsert(Long cafeId, Long ownerId, UpdateCafeStatusRequest req) {
         log.info("카페 상태 업데이트: cafeId={}, crowdLevel={}", cafeId, req.crowdLevel());
-        Cafe cafe = cafeService.get(cafeId);
 
         Instant now = Instant.now();
         Instant expiresAt = now.plus(TTL);
 
-        CafeLiveStatus saved = repo.findById(cafeId)
-                .map(existing -> {
-                    existing.update(
-                            req.crowdLevel(),
-                            req.party2(),
-                            req.party3(),
-                            req.party4(),
-                            now,
-                            expiresAt
-                    );
-                    return existing;
-                })
-                .orElseGet(() -> repo.save(new CafeLiveStatus(
-                        cafe,
-                        req.crowdLevel(),
-                        req.party2(),
-                        req.party3(),
-                        req.party4(),
-                        now,
-                        expiresAt
-                )));
-
-        cacheService.put(cafeId, saved);
-
-        var statusDto = StatusViewMapper.from(saved, now);
-        boolean published = cacheService.publishUpdate(cafeId, statusDto);
-        if (!published) {
-            sseRegistry.publish(cafeId, new CafeStatusSseEvent(cafeId, statusDto));
+        int affected = repo.upsertIfOwner(
+                cafeId,
+                ownerId,
+                req.crowdLevel(),
+                req.party2(),
+                req.party3(),
+                req.party4(),
+                now,
+                expiresAt
+        );
+        if (affected == 0) {
+            // 실패 원인(카페 없음 / 소유자 아님)은 실패한 경우에만 조회해서 구분한다
+            cafeService.verifyOwnership(cafeId, ownerId);
+            // 확인 시점엔 소유자라도 upsert 시점엔 아니었을 수 있다 (그 사이 카페/소유자 변경). 저장되지 않은 상태는 발행하지 않는다
+            throw new ConflictException("카페 상태를 저장하지 못했습니다. 다시 시도해 주세요: cafeId=" + cafeId);
         }
 
-        return saved;
+        StatusCacheModel model = new StatusCacheModel(
+                cafeId,
+                req.crowdLevel(),
+                req.party2(),
+                req.party3(),
+                req.party4(),
+                now,
+                expiresAt,
+                null
+        );
+
+        // 캐시 반영과 발행은 커밋 이후 StatusOutboxRelay가 처리한다
+        outboxRepo.save(new StatusOutboxEvent(model));
+        eventPublisher.publishEvent(new StatusChangedEvent(cafeId));
+
+        return model;
     }
 }
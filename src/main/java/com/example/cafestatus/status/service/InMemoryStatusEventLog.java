@@ -0,0 +1,83 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.example.cafestatus.status.cache.StatusEventId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+@Component
+@ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+public class InMemoryStatusEventLog implements StatusEventLog {
+
+    private final StatusEvent[] ring;
+    private final int maxScan;
+    private long appended;
+    private StatusEventId lastId;
+    // 링에 남아 있을 만큼만 기억한다
+    private final Map<Long, StatusEventId> bySource;
+
+    public InMemoryStatusEventLog(@Value("${sse.replay.capacity:10000}") int capacity,
+                                  @Value("${sse.replay.max-scan:5000}") int maxScan) {
+        this.ring = new StatusEvent[capacity];
+        this.maxScan = maxScan;
+        this.bySource = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, StatusEventId> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public synchronized StatusEventId append(Long sourceId, StatusCacheModel model) {
+        StatusEventId appendedBefore = bySource.get(sourceId);
+        if (appendedBefore != null) {
+            return appendedBefore;
+        }
+        long now = System.currentTimeMillis();
+        StatusEventId id = lastId == null ? new StatusEventId(now, 0) : lastId.next(now);
+        ring[(int) (appended % ring.length)] = new StatusEvent(id, model);
+        appended++;
+        lastId = id;
+        bySource.put(sourceId, id);
+        return id;
+    }
+
+    @Override
+    public synchronized Optional<List<StatusEvent>> readAfter(StatusEventId lastEventId, Set<Long> cafeIds) {
+        int size = (int) Math.min(appended, ring.length);
+        if (size == 0 || lastEventId.compareTo(lastId) > 0) {
+            // 재시작 전 프로세스가 발급한 ID일 수 있으므로 이어 붙이지 않는다
+            return Optional.empty();
+        }
+        StatusEvent oldest = ring[(int) ((appended - size) % ring.length)];
+        if (lastEventId.compareTo(oldest.id()) < 0) {
+            return Optional.empty();
+        }
+
+        List<StatusEvent> missed = new ArrayList<>();
+        for (long i = appended - 1, scanned = 0; i >= appended - size; i--, scanned++) {
+            StatusEvent event = ring[(int) (i % ring.length)];
+            if (event.id().compareTo(lastEventId) <= 0) {
+                break;
+            }
+            if (scanned >= maxScan) {
+                return Optional.empty();
+            }
+            if (cafeIds.contains(event.model().cafeId())) {
+                missed.add(event);
+            }
+        }
+        Collections.reverse(missed);
+        return Optional.of(missed);
+    }
+
+    @Override
+    public synchronized Optional<StatusEventId> latestId() {
+        return Optional.ofNullable(lastId);
+    }
+}
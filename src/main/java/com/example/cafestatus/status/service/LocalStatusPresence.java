@@ -0,0 +1,63 @@
+package com.example.cafestatus.status.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalStatusPresence implements StatusPresence {
+
+    private final Map<Long, Integer> viewers = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> cells = new ConcurrentHashMap<>();
+
+    @Override
+    public void join(Collection<Long> cafeIds) {
+        increment(viewers, cafeIds);
+    }
+
+    @Override
+    public void leave(Collection<Long> cafeIds) {
+        decrement(viewers, cafeIds);
+    }
+
+    @Override
+    public boolean isWatched(Long cafeId) {
+        return viewers.containsKey(cafeId);
+    }
+
+    @Override
+    public long viewers(Long cafeId) {
+        return viewers.getOrDefault(cafeId, 0);
+    }
+
+    @Override
+    public void joinCells(Collection<Long> cells) {
+        increment(this.cells, cells);
+    }
+
+    @Override
+    public void leaveCells(Collection<Long> cells) {
+        decrement(this.cells, cells);
+    }
+
+    @Override
+    public boolean isCellWatched(Long cell) {
+        return cells.containsKey(cell);
+    }
+
+    private static void increment(Map<Long, Integer> counts, Collection<Long> keys) {
+        for (Long key : keys) {
+            counts.merge(key, 1, Integer::sum);
+        }
+    }
+
+    private static void decrement(Map<Long, Integer> counts, Collection<Long> keys) {
+        for (Long key : keys) {
+            counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
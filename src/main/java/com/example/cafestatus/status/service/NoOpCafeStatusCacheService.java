@@ -1,11 +1,11 @@
 package com.example.cafestatus.status.service;
 
 import com.example.cafestatus.status.cache.StatusCacheModel;
-import com.example.cafestatus.status.dto.StatusSummary;
-import com.example.cafestatus.status.entity.CafeLiveStatus;
+import com.example.cafestatus.status.cache.StatusEvent;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,12 +25,28 @@ public class NoOpCafeStatusCacheService implements CafeStatusCacheService {
     }
 
     @Override
-    public void put(Long cafeId, CafeLiveStatus status) {
+    public boolean put(StatusCacheModel model) {
         // no-op
+        return true;
     }
 
     @Override
-    public boolean publishUpdate(Long cafeId, StatusSummary summary) {
+    public boolean publishUpdate(StatusEvent event, boolean toSubscribers, boolean toAreas) {
         return false;
     }
+
+    @Override
+    public boolean publishBatch(List<StatusEvent> events, List<StatusEvent> areaEvents, Collection<Long> invalidateOnly) {
+        return false;
+    }
+
+    @Override
+    public void publishInvalidation(Long cafeId) {
+        // no-op
+    }
+
+    @Override
+    public void evictLocal(Long cafeId) {
+        // no-op
+    }
 }
@@ -0,0 +1,20 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.sse.SseInterestListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpSseInterestListener implements SseInterestListener {
+
+    @Override
+    public void watched(Long cafeId) {
+        // 단일 노드라 모든 업데이트가 로컬에서 발행된다
+    }
+
+    @Override
+    public void unwatched(Long cafeId) {
+        // 단일 노드라 모든 업데이트가 로컬에서 발행된다
+    }
+}
@@ -1,19 +1,23 @@
 package com.example.cafestatus.status.service;
 
+import com.example.cafestatus.status.cache.StatusCacheCodec;
 import com.example.cafestatus.status.cache.StatusCacheModel;
-import com.example.cafestatus.status.dto.CafeStatusSseEvent;
-import com.example.cafestatus.status.dto.StatusSummary;
-import com.example.cafestatus.status.entity.CafeLiveStatus;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.cafestatus.status.cache.StatusChannels;
+import com.example.cafestatus.status.cache.StatusEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
 @Service
 @ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
@@ -21,25 +25,72 @@ public class RedisCafeStatusCacheService implements CafeStatusCacheService {
 
     private static final Logger log = LoggerFactory.getLogger(RedisCafeStatusCacheService.class);
     private static final String KEY_PREFIX = "cafe:status:";
-    private static final String CHANNEL = "cafe:status:updates";
     private static final long TTL_SECONDS = 1800;
+    private static final byte[] INVALIDATIONS = StatusChannels.INVALIDATIONS.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] AREAS = StatusChannels.AREAS.getBytes(StandardCharsets.UTF_8);
 
-    private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
+    // 저장된 값의 updatedAt(3~10번째 바이트, big-endian)이 더 크면 쓰지 않는다.
+    // 양수 epochMillis라 바이트 순서 비교가 곧 시간 비교다. 코덱 이전의 JSON 값은 그대로 덮어쓴다
+    private static final RedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if current and #current >= 10 then
+              local version = string.byte(current, 1)
+              if version == 1 or version == 3 then
+                for i = 3, 10 do
+                  local stored, incoming = string.byte(current, i), string.byte(ARGV[1], i)
+                  if stored ~= incoming then
+                    if stored > incoming then
+                      return 0
+                    end
+                    break
+                  end
+                end
+              end
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return 1
+            """, Long.class);
 
-    public RedisCafeStatusCacheService(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
-        this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final StatusCacheCodec codec;
+    private final StatusChannels channels;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter updateMessages;
+    private final Counter invalidationMessages;
+    private final Counter areaMessages;
+    private final Counter publishedEvents;
+
+    public RedisCafeStatusCacheService(RedisTemplate<String, byte[]> binaryRedisTemplate,
+                                       StatusCacheCodec codec,
+                                       StatusChannels channels,
+                                       MeterRegistry meterRegistry) {
+        this.redisTemplate = binaryRedisTemplate;
+        this.codec = codec;
+        this.channels = channels;
+        this.hits = meterRegistry.counter("cafe.status.cache.hit", "tier", "l2");
+        this.misses = meterRegistry.counter("cafe.status.cache.miss", "tier", "l2");
+        this.updateMessages = meterRegistry.counter("cafe.status.publish.messages", "channel", "updates");
+        this.invalidationMessages = meterRegistry.counter("cafe.status.publish.messages", "channel", "invalidations");
+        this.areaMessages = meterRegistry.counter("cafe.status.publish.messages", "channel", "areas");
+        this.publishedEvents = meterRegistry.counter("cafe.status.publish.events");
+    }
+
+    // 근처 검색(RedisCafeGeoCache)이 같은 키를 GEO 조회와 한 파이프라인으로 읽는다
+    public static String key(Long cafeId) {
+        return KEY_PREFIX + cafeId;
     }
 
     @Override
     public Optional<StatusCacheModel> get(Long cafeId) {
         try {
-            String json = redisTemplate.opsForValue().get(KEY_PREFIX + cafeId);
-            if (json == null) {
+            byte[] value = redisTemplate.opsForValue().get(KEY_PREFIX + cafeId);
+            if (value == null) {
+                misses.increment();
                 return Optional.empty();
             }
-            return Optional.of(objectMapper.readValue(json, StatusCacheModel.class));
+            hits.increment();
+            return Optional.of(codec.decodeModel(cafeId, value));
         } catch (Exception e) {
             log.warn("Redis GET 실패: cafeId={}, error={}", cafeId, e.getMessage());
             return Optional.empty();
@@ -55,22 +106,25 @@ public class RedisCafeStatusCacheService implements CafeStatusCacheService {
             List<String> keys = cafeIds.stream()
                     .map(id -> KEY_PREFIX + id)
                     .toList();
-            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            List<byte[]> values = redisTemplate.opsForValue().multiGet(keys);
             if (values == null) {
+                misses.increment(cafeIds.size());
                 return Map.of();
             }
 
             Map<Long, StatusCacheModel> result = new HashMap<>();
             for (int i = 0; i < Math.min(cafeIds.size(), values.size()); i++) {
-                String json = values.get(i);
-                if (json != null) {
+                byte[] value = values.get(i);
+                if (value != null) {
                     try {
-                        result.put(cafeIds.get(i), objectMapper.readValue(json, StatusCacheModel.class));
-                    } catch (JsonProcessingException e) {
+                        result.put(cafeIds.get(i), codec.decodeModel(cafeIds.get(i), value));
+                    } catch (RuntimeException e) {
                         log.warn("Redis MGET 역직렬화 실패: cafeId={}", cafeIds.get(i));
                     }
                 }
             }
+            hits.increment(result.size());
+            misses.increment(cafeIds.size() - result.size());
             return result;
         } catch (Exception e) {
             log.warn("Redis MGET 실패: error={}", e.getMessage());
@@ -79,28 +133,109 @@ public class RedisCafeStatusCacheService implements CafeStatusCacheService {
     }
 
     @Override
-    public void put(Long cafeId, CafeLiveStatus status) {
-        try {
-            StatusCacheModel model = StatusCacheModel.from(status);
-            String json = objectMapper.writeValueAsString(model);
-            redisTemplate.opsForValue().set(KEY_PREFIX + cafeId, json, TTL_SECONDS, TimeUnit.SECONDS);
-            log.debug("Redis SET 완료: cafeId={}", cafeId);
-        } catch (Exception e) {
-            log.warn("Redis SET 실패: cafeId={}, error={}", cafeId, e.getMessage());
+    public boolean put(StatusCacheModel model) {
+        // 쓰기 실패는 호출자(아웃박스 릴레이)가 재시도하도록 그대로 던진다
+        Instant now = Instant.now();
+        Instant cachedUntil = now.plusSeconds(TTL_SECONDS);
+        // 살아 있는 상태는 expiresAt에 L2에서도 사라지게 한다 (릴레이 재시도로 늦게 써도 만료를 넘기지 않게).
+        // 이미 만료된 상태는 다음 업데이트 전까지 바뀌지 않으므로 읽을 때마다 DB로 내려가지 않도록 TTL만큼 둔다
+        if (model.expiresAt().isAfter(now) && model.expiresAt().isBefore(cachedUntil)) {
+            cachedUntil = model.expiresAt();
+        }
+        byte[] value = codec.encodeModel(model, cachedUntil);
+        byte[] ttlMillis = String.valueOf(Math.max(1, cachedUntil.toEpochMilli() - now.toEpochMilli()))
+                .getBytes(StandardCharsets.UTF_8);
+        Long written = redisTemplate.execute(PUT_IF_NEWER, List.of(KEY_PREFIX + model.cafeId()),
+                value, ttlMillis);
+        if (written == null || written == 0) {
+            log.debug("Redis SET 생략, 더 최신 상태가 있음: cafeId={}, updatedAt={}", model.cafeId(), model.updatedAt());
+            return false;
         }
+        log.debug("Redis SET 완료: cafeId={}", model.cafeId());
+        return true;
     }
 
     @Override
-    public boolean publishUpdate(Long cafeId, StatusSummary summary) {
-        try {
-            CafeStatusSseEvent event = new CafeStatusSseEvent(cafeId, summary);
-            String json = objectMapper.writeValueAsString(event);
-            redisTemplate.convertAndSend(CHANNEL, json);
-            log.debug("Redis PUBLISH 완료: cafeId={}", cafeId);
+    public boolean publishUpdate(StatusEvent event, boolean toSubscribers, boolean toAreas) {
+        Long cafeId = event.model().cafeId();
+        byte[] updates = channels.updatesFor(cafeId).getBytes(StandardCharsets.UTF_8);
+        byte[] payload = codec.encodeEvent(event);
+        byte[] invalidation = codec.encodeInvalidations(List.of(cafeId));
+        // 이벤트는 해당 샤드/영역 구독 노드에만, 8바이트 무효화는 모든 노드에 한 번의 왕복으로 보낸다
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            if (toSubscribers) {
+                connection.publish(updates, payload);
+            }
+            if (toAreas) {
+                connection.publish(AREAS, payload);
+            }
+            connection.publish(INVALIDATIONS, invalidation);
+            return null;
+        });
+        if (toSubscribers) {
+            updateMessages.increment();
+        }
+        if (toAreas) {
+            areaMessages.increment();
+        }
+        invalidationMessages.increment();
+        publishedEvents.increment();
+        log.debug("Redis PUBLISH 완료: cafeId={}, eventId={}", event.model().cafeId(), event.id());
+        return true;
+    }
+
+    @Override
+    public boolean publishBatch(List<StatusEvent> events, List<StatusEvent> areaEvents, Collection<Long> invalidateOnly) {
+        Map<Integer, List<StatusEvent>> byShard = new LinkedHashMap<>();
+        Set<Long> invalidated = new LinkedHashSet<>();
+        for (StatusEvent event : events) {
+            byShard.computeIfAbsent(channels.shardOf(event.model().cafeId()), k -> new ArrayList<>()).add(event);
+            invalidated.add(event.model().cafeId());
+        }
+        areaEvents.forEach(event -> invalidated.add(event.model().cafeId()));
+        int published = invalidated.size();
+        invalidated.addAll(invalidateOnly);
+        if (invalidated.isEmpty()) {
             return true;
-        } catch (Exception e) {
-            log.warn("Redis PUBLISH 실패: cafeId={}, error={}", cafeId, e.getMessage());
-            return false;
         }
+
+        Map<byte[], byte[]> messages = new LinkedHashMap<>();
+        byShard.forEach((shard, shardEvents) -> messages.put(
+                channels.updates(shard).getBytes(StandardCharsets.UTF_8),
+                shardEvents.size() == 1 ? codec.encodeEvent(shardEvents.get(0)) : codec.encodeBatch(shardEvents)));
+        byte[] areas = areaEvents.isEmpty() ? null
+                : areaEvents.size() == 1 ? codec.encodeEvent(areaEvents.get(0)) : codec.encodeBatch(areaEvents);
+        byte[] invalidation = codec.encodeInvalidations(invalidated);
+        // 샤드당 메시지 1건 + 영역 메시지 1건 + 무효화 1건을 한 번의 왕복으로 보낸다
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            messages.forEach(connection::publish);
+            if (areas != null) {
+                connection.publish(AREAS, areas);
+            }
+            connection.publish(INVALIDATIONS, invalidation);
+            return null;
+        });
+        updateMessages.increment(messages.size());
+        if (areas != null) {
+            areaMessages.increment();
+        }
+        invalidationMessages.increment();
+        publishedEvents.increment(published);
+        log.debug("Redis 배치 PUBLISH 완료: events={}, shards={}, areaEvents={}, invalidations={}",
+                published, messages.size(), areaEvents.size(), invalidated.size());
+        return true;
+    }
+
+    @Override
+    public void publishInvalidation(Long cafeId) {
+        byte[] invalidation = codec.encodeInvalidations(List.of(cafeId));
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(INVALIDATIONS, invalidation));
+        invalidationMessages.increment();
+        log.debug("Redis 무효화 발행 완료: cafeId={}", cafeId);
+    }
+
+    @Override
+    public void evictLocal(Long cafeId) {
+        // no local tier
     }
 }
@@ -0,0 +1,128 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusCacheCodec;
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.example.cafestatus.status.cache.StatusEventId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@Component
+@ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+public class RedisStatusEventLog implements StatusEventLog {
+
+    private static final byte[] STREAM_KEY = "cafe:status:events".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FIELD = "e".getBytes(StandardCharsets.UTF_8);
+    private static final String SOURCE_KEY_PREFIX = "cafe:status:events:source:";
+    // 릴레이 재시도(최대 백오프 60초 × 시도 횟수)보다 넉넉하게 기억한다
+    private static final long SOURCE_TTL_MILLIS = 3_600_000;
+
+    // 이미 쌓은 sourceId면 그때 받은 엔트리 ID를, 아니면 XADD 후 sourceId → 엔트리 ID를 남긴다
+    private static final RedisScript<byte[]> APPEND_ONCE = new DefaultRedisScript<>("""
+            local existing = redis.call('GET', KEYS[2])
+            if existing then
+              return existing
+            end
+            local id = redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[3], '*', ARGV[1], ARGV[2])
+            redis.call('SET', KEYS[2], id, 'PX', ARGV[4])
+            return id
+            """, byte[].class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final StatusCacheCodec codec;
+    private final long capacity;
+    private final int maxScan;
+
+    public RedisStatusEventLog(RedisTemplate<String, byte[]> binaryRedisTemplate,
+                               StatusCacheCodec codec,
+                               @Value("${sse.replay.capacity:10000}") long capacity,
+                               @Value("${sse.replay.max-scan:5000}") int maxScan) {
+        this.redisTemplate = binaryRedisTemplate;
+        this.codec = codec;
+        this.capacity = capacity;
+        this.maxScan = maxScan;
+    }
+
+    @Override
+    public StatusEventId append(Long sourceId, StatusCacheModel model) {
+        // 엔트리 ID는 Redis가 단조 증가로 발급하고, 길이는 MAXLEN ~ 으로 대략 제한한다
+        byte[] id = redisTemplate.execute(APPEND_ONCE,
+                List.of(new String(STREAM_KEY, StandardCharsets.UTF_8), SOURCE_KEY_PREFIX + sourceId),
+                FIELD,
+                codec.encodeEvent(new StatusEvent(null, model)),
+                ascii(capacity),
+                ascii(SOURCE_TTL_MILLIS));
+        return StatusEventId.parse(new String(Objects.requireNonNull(id), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] ascii(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Optional<List<StatusEvent>> readAfter(StatusEventId lastEventId, Set<Long> cafeIds) {
+        return redisTemplate.execute((RedisCallback<Optional<List<StatusEvent>>>) connection -> {
+            var streams = connection.streamCommands();
+
+            List<ByteRecord> first = streams.xRange(STREAM_KEY, Range.unbounded(), Limit.limit().count(1));
+            List<ByteRecord> last = streams.xRevRange(STREAM_KEY, Range.unbounded(), Limit.limit().count(1));
+            if (first == null || first.isEmpty() || last == null || last.isEmpty()) {
+                return Optional.empty();
+            }
+            // 가장 오래 남은 엔트리보다 앞선 ID면 그 사이가 잘려 나갔을 수 있다
+            if (lastEventId.compareTo(idOf(first.get(0))) < 0 || lastEventId.compareTo(idOf(last.get(0))) > 0) {
+                return Optional.empty();
+            }
+
+            // XRANGE의 배타적 하한 대신 바로 다음 ID를 포함 하한으로 쓴다
+            String from = new StatusEventId(lastEventId.millis(), lastEventId.seq() + 1).toString();
+            List<ByteRecord> records = streams.xRange(STREAM_KEY,
+                    Range.rightUnbounded(Range.Bound.inclusive(from)), Limit.limit().count(maxScan + 1));
+            if (records == null) {
+                return Optional.empty();
+            }
+            if (records.size() > maxScan) {
+                return Optional.empty();
+            }
+
+            List<StatusEvent> missed = new ArrayList<>();
+            for (ByteRecord record : records) {
+                StatusEvent event = decode(record);
+                if (cafeIds.contains(event.model().cafeId())) {
+                    missed.add(event);
+                }
+            }
+            return Optional.of(missed);
+        });
+    }
+
+    @Override
+    public Optional<StatusEventId> latestId() {
+        List<ByteRecord> last = redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xRevRange(STREAM_KEY, Range.unbounded(), Limit.limit().count(1)));
+        if (last == null || last.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(idOf(last.get(0)));
+    }
+
+    private StatusEvent decode(ByteRecord record) {
+        byte[] value = record.getValue().values().iterator().next();
+        return new StatusEvent(idOf(record), codec.decodeEvent(value).model());
+    }
+
+    private static StatusEventId idOf(ByteRecord record) {
+        return StatusEventId.parse(record.getId().getValue());
+    }
+}
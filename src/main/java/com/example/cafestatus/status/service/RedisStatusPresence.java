@@ -0,0 +1,208 @@
+package com.example.cafestatus.status.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 카페별 SSE 시청자 수를 노드 단위로 Redis 해시에 모은다.
+ *
+ *   cafe:presence:{cafeId}      = { nodeId -> "count:expiresAtMillis" }
+ *   cafe:presence:cell:{cell}   = { nodeId -> "count:expiresAtMillis" }  (영역 구독이 걸친 격자 셀)
+ *
+ * 노드는 하트비트마다 자기 필드를 다시 쓰고, 읽는 쪽은 만료된 필드(죽은 노드)를 무시한다.
+ * 첫 시청자는 즉시 기록해야 그 직후의 발행이 생략되지 않는다. 감소는 하트비트에 몰아서 반영한다.
+ * Redis 기록은 로컬 맵의 compute 밖에서 한다 (같은 빈의 다른 구독이 네트워크 왕복 동안 막히지 않도록).
+ */
+@Component
+@ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+public class RedisStatusPresence implements StatusPresence {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisStatusPresence.class);
+    private static final String KEY_PREFIX = "cafe:presence:";
+    private static final String CELL_KEY_PREFIX = "cafe:presence:cell:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Duration ttl;
+
+    // 이 노드의 키별 시청자 수. 항목이 있는 동안에는 Redis에도 이 노드의 필드가 있다고 본다 (0은 하트비트 때 정리)
+    private final Map<String, Integer> local = new ConcurrentHashMap<>();
+
+    public RedisStatusPresence(StringRedisTemplate stringRedisTemplate,
+                               @Value("${sse.presence.ttl-seconds:30}") long ttlSeconds) {
+        this.redisTemplate = stringRedisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    @Override
+    public void join(Collection<Long> cafeIds) {
+        join(keys(KEY_PREFIX, cafeIds));
+    }
+
+    @Override
+    public void leave(Collection<Long> cafeIds) {
+        leave(keys(KEY_PREFIX, cafeIds));
+    }
+
+    @Override
+    public boolean isWatched(Long cafeId) {
+        return isWatched(KEY_PREFIX + cafeId);
+    }
+
+    @Override
+    public long viewers(Long cafeId) {
+        return count(KEY_PREFIX + cafeId, true);
+    }
+
+    @Override
+    public void joinCells(Collection<Long> cells) {
+        join(keys(CELL_KEY_PREFIX, cells));
+    }
+
+    @Override
+    public void leaveCells(Collection<Long> cells) {
+        leave(keys(CELL_KEY_PREFIX, cells));
+    }
+
+    @Override
+    public boolean isCellWatched(Long cell) {
+        return isWatched(CELL_KEY_PREFIX + cell);
+    }
+
+    private void join(List<String> keys) {
+        // compute 안에서는 로컬 카운트만 바꾸고, Redis 왕복은 빈(bin) 잠금을 놓은 뒤에 한 번에 보낸다
+        List<String> first = new ArrayList<>();
+        for (String key : keys) {
+            if (local.merge(key, 1, Integer::sum) == 1) {
+                first.add(key);
+            }
+        }
+        if (!first.isEmpty()) {
+            write(first);
+        }
+    }
+
+    private void leave(List<String> keys) {
+        for (String key : keys) {
+            local.computeIfPresent(key, (k, count) -> Math.max(0, count - 1));
+        }
+    }
+
+    private boolean isWatched(String key) {
+        Integer mine = local.get(key);
+        if (mine != null && mine > 0) {
+            return true;
+        }
+        return count(key, false) > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${sse.presence.heartbeat-ms:10000}")
+    public void heartbeat() {
+        Map<String, Integer> snapshot = new HashMap<>(local);
+        List<String> idle = new ArrayList<>();
+        String expiresAt = Long.toString(System.currentTimeMillis() + ttl.toMillis());
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    snapshot.forEach((key, count) -> {
+                        if (count == 0) {
+                            idle.add(key);
+                            return;
+                        }
+                        operations.opsForHash().put(key, nodeId, count + ":" + expiresAt);
+                        operations.expire(key, ttl);
+                    });
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("시청자 하트비트 실패: keys={}, error={}", snapshot.size(), e.getMessage());
+            return;
+        }
+
+        // 0인 항목만 조건부로 지우고, 필드 삭제는 맵 잠금 밖에서 한다
+        List<String> removed = idle.stream().filter(key -> local.remove(key, 0)).toList();
+        if (!removed.isEmpty()) {
+            try {
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Object execute(RedisOperations operations) {
+                        removed.forEach(key -> operations.opsForHash().delete(key, nodeId));
+                        return null;
+                    }
+                });
+            } catch (Exception e) {
+                // 필드는 ttl이 지나면 읽는 쪽에서 무시된다
+                log.debug("시청자 필드 삭제 실패: keys={}, error={}", removed.size(), e.getMessage());
+            }
+            // 지우는 사이 다시 들어온 시청자의 기록이 삭제에 덮였을 수 있으므로 되살린다
+            List<String> rejoined = removed.stream().filter(key -> local.getOrDefault(key, 0) > 0).toList();
+            if (!rejoined.isEmpty()) {
+                write(rejoined);
+            }
+        }
+        log.debug("시청자 하트비트: nodeId={}, keys={}, idle={}", nodeId, snapshot.size() - idle.size(), idle.size());
+    }
+
+    private void write(List<String> keys) {
+        String expiresAt = Long.toString(System.currentTimeMillis() + ttl.toMillis());
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    for (String key : keys) {
+                        operations.opsForHash().put(key, nodeId, local.getOrDefault(key, 0) + ":" + expiresAt);
+                        operations.expire(key, ttl);
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // 다음 하트비트에서 다시 기록된다
+            log.warn("시청자 등록 실패: keys={}, error={}", keys.size(), e.getMessage());
+        }
+    }
+
+    private long count(String key, boolean cleanUp) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(key);
+        long now = System.currentTimeMillis();
+        long total = 0;
+        List<Object> expired = new ArrayList<>();
+        for (Map.Entry<Object, Object> field : fields.entrySet()) {
+            String value = (String) field.getValue();
+            int sep = value.indexOf(':');
+            if (sep < 0 || Long.parseLong(value.substring(sep + 1)) <= now) {
+                expired.add(field.getKey());
+                continue;
+            }
+            total += Long.parseLong(value.substring(0, sep));
+        }
+        if (cleanUp && !expired.isEmpty()) {
+            redisTemplate.opsForHash().delete(key, expired.toArray());
+        }
+        return total;
+    }
+
+    private static List<String> keys(String prefix, Collection<Long> ids) {
+        List<String> keys = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            keys.add(prefix + id);
+        }
+        return keys;
+    }
+}
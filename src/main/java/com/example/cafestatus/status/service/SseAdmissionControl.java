@@ -0,0 +1,126 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 노드/클라이언트별 SSE 연결 상한. 넘치면 일을 하기 전에 바로 503 + Retry-After(지터 포함)로 돌려보낸다
+@Component
+public class SseAdmissionControl {
+
+    private static final Logger log = LoggerFactory.getLogger(SseAdmissionControl.class);
+
+    private final int maxConnections;
+    private final int maxPerClient;
+    private final long retryAfterSeconds;
+    private final AtomicInteger active = new AtomicInteger();
+    private final Map<String, Integer> perClient = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Counter rejectedNode;
+    private final Counter rejectedClient;
+    private final Counter rejectedDraining;
+
+    public SseAdmissionControl(MeterRegistry meterRegistry,
+                               @Value("${sse.admission.max-connections:10000}") int maxConnections,
+                               @Value("${sse.admission.max-per-client:20}") int maxPerClient,
+                               @Value("${sse.admission.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.maxConnections = maxConnections;
+        this.maxPerClient = maxPerClient;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejectedNode = meterRegistry.counter("sse.admission.rejected", "reason", "node");
+        this.rejectedClient = meterRegistry.counter("sse.admission.rejected", "reason", "client");
+        this.rejectedDraining = meterRegistry.counter("sse.admission.rejected", "reason", "draining");
+        meterRegistry.gauge("sse.admission.active", active);
+        meterRegistry.gauge("sse.admission.clients", perClient, Map::size);
+        meterRegistry.gauge("sse.admission.draining", draining, d -> d.get() ? 1 : 0);
+    }
+
+    // clientKey가 null이면 노드 상한만 본다
+    public Permit acquire(String clientKey) {
+        if (draining.get()) {
+            rejectedDraining.increment();
+            throw reject("server is draining connections");
+        }
+        if (active.incrementAndGet() > maxConnections) {
+            active.decrementAndGet();
+            rejectedNode.increment();
+            throw reject("too many SSE connections on this node");
+        }
+        if (clientKey != null && !admitClient(clientKey)) {
+            active.decrementAndGet();
+            rejectedClient.increment();
+            throw reject("too many SSE connections from this client");
+        }
+        return new Permit(clientKey);
+    }
+
+    public void startDraining() {
+        if (draining.compareAndSet(false, true)) {
+            log.info("SSE 신규 연결 차단(드레인 시작): active={}", active.get());
+        }
+    }
+
+    public boolean isDraining() {
+        return draining.get();
+    }
+
+    public int activeCount() {
+        return active.get();
+    }
+
+    // 증가와 상한 확인을 같은 키의 compute 안에서 해야 release가 지운 항목에 올려 세는 일이 없다
+    private boolean admitClient(String clientKey) {
+        boolean[] admitted = new boolean[1];
+        perClient.compute(clientKey, (k, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxPerClient) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        return admitted[0];
+    }
+
+    private void release(String clientKey) {
+        // 0이 된 항목은 같은 키의 compute 안에서 지워야 동시 acquire와 엇갈리지 않는다
+        perClient.computeIfPresent(clientKey, (k, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private ServiceUnavailableException reject(String message) {
+        // 거절된 클라이언트들이 같은 시각에 다시 몰려오지 않도록 재시도 시각을 흩뿌린다
+        long jitter = ThreadLocalRandom.current().nextLong(retryAfterSeconds + 1);
+        return new ServiceUnavailableException(message, retryAfterSeconds + jitter);
+    }
+
+    // 연결 하나가 잡은 자리. release는 여러 번 불려도 한 번만 반영된다
+    public final class Permit {
+
+        private final String clientKey;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(String clientKey) {
+            this.clientKey = clientKey;
+        }
+
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            active.decrementAndGet();
+            if (clientKey != null) {
+                SseAdmissionControl.this.release(clientKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.cafestatus.status.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+// 기본 phase라 웹 서버 graceful shutdown보다 먼저 멈춘다.
+// 신규 연결을 막은 뒤 열린 스트림을 배치로 나눠 닫아, 클라이언트 재접속이 한 순간에 몰리지 않게 한다
+@Component
+public class SseGracefulShutdown implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SseGracefulShutdown.class);
+
+    private final StatusSseRegistry registry;
+    private final SseAdmissionControl admission;
+    private final int batchSize;
+    private final long intervalMs;
+    private final long reconnectSpreadMs;
+    private volatile boolean running;
+
+    public SseGracefulShutdown(StatusSseRegistry registry,
+                               SseAdmissionControl admission,
+                               @Value("${sse.drain.batch-size:200}") int batchSize,
+                               @Value("${sse.drain.interval-ms:100}") long intervalMs,
+                               @Value("${sse.drain.reconnect-spread-ms:30000}") long reconnectSpreadMs) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("sse.drain.batch-size must be positive");
+        }
+        this.registry = registry;
+        this.admission = admission;
+        this.batchSize = batchSize;
+        this.intervalMs = intervalMs;
+        this.reconnectSpreadMs = reconnectSpreadMs;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        drain();
+    }
+
+    // 드레인은 배치 간격만큼 걸리므로 다른 빈의 종료를 막지 않도록 별도 스레드에서 돌린다
+    @Override
+    public void stop(Runnable callback) {
+        Thread.ofVirtual().name("sse-drain").start(() -> {
+            try {
+                drain();
+            } finally {
+                callback.run();
+            }
+        });
+    }
+
+    private void drain() {
+        admission.startDraining();
+        try {
+            registry.drain(batchSize, intervalMs, reconnectSpreadMs);
+        } catch (Exception e) {
+            log.warn("SSE 연결 드레인 실패: error={}", e.getMessage());
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.cafestatus.status.service;
+
+public record StatusChangedEvent(Long cafeId) {
+}
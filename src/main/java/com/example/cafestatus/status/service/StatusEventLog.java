@@ -0,0 +1,21 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.example.cafestatus.status.cache.StatusEventId;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface StatusEventLog {
+
+    // sourceId(아웃박스 행 ID)로 이미 쌓은 이벤트면 새로 쌓지 않고 처음 발급한 ID를 돌려준다.
+    // 발행이 실패해 릴레이가 다시 시도해도 Last-Event-ID 재생에 같은 이벤트가 두 번 나가지 않는다
+    StatusEventId append(Long sourceId, StatusCacheModel model);
+
+    // lastEventId 이후 cafeIds의 이벤트를 ID 순으로 반환. 로그가 이미 잘려 나가 이어 붙일 수 없으면 empty.
+    Optional<List<StatusEvent>> readAfter(StatusEventId lastEventId, Set<Long> cafeIds);
+
+    Optional<StatusEventId> latestId();
+}
@@ -0,0 +1,96 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.sse.HashedTimingWheel;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 카페마다 "다음 전이"(stale → expired) 타이머 하나만 휠에 걸어 두고, 발화하면 그다음 전이를 다시 건다.
+// 새 상태가 들어오면 이전 타이머는 취소만 하고(지연 제거), 테이블을 훑는 일은 없다
+// 지금 설정은 stale 기준(30분)과 상태 TTL(30분)이 같아 stale 없이 바로 expired만 나간다. stale은 둘이 달라질 때만 발화한다
+public class StatusLifecycleTracker {
+
+    public enum Transition {
+        STALE("stale"),
+        EXPIRED("expired");
+
+        private final String eventName;
+
+        Transition(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String eventName() {
+            return eventName;
+        }
+    }
+
+    // 휠 워커 스레드에서 호출되므로 짧게 끝내야 한다
+    public interface Listener {
+        void onTransition(Transition transition, StatusCacheModel model);
+    }
+
+    private record Tracked(StatusCacheModel model, HashedTimingWheel.Timeout timeout) {
+    }
+
+    private final HashedTimingWheel wheel;
+    private final Listener listener;
+    private final Map<Long, Tracked> tracked = new ConcurrentHashMap<>();
+
+    public StatusLifecycleTracker(HashedTimingWheel wheel, Listener listener) {
+        this.wheel = wheel;
+        this.listener = listener;
+    }
+
+    // 이미 추적 중인 것보다 오래된(또는 같은) 상태는 무시한다
+    public void track(StatusCacheModel model, Instant now) {
+        tracked.compute(model.cafeId(), (cafeId, current) -> {
+            if (current != null && !model.updatedAt().isAfter(current.model().updatedAt())) {
+                return current;
+            }
+            if (current != null) {
+                current.timeout().cancel();
+            }
+            return next(model, now.isBefore(model.staleAt()) ? Transition.STALE : Transition.EXPIRED, now);
+        });
+    }
+
+    public int trackedCount() {
+        return tracked.size();
+    }
+
+    public void stop() {
+        wheel.stop();
+    }
+
+    private Tracked next(StatusCacheModel model, Transition transition, Instant now) {
+        // 만료가 stale 시각보다 빠르거나 같으면 stale 없이 바로 만료로 넘어간다
+        if (transition == Transition.STALE && !model.staleAt().isBefore(model.expiresAt())) {
+            transition = Transition.EXPIRED;
+        }
+        Instant at = transition == Transition.STALE ? model.staleAt() : model.expiresAt();
+        if (transition == Transition.EXPIRED && !now.isBefore(at)) {
+            return null;
+        }
+        Transition scheduled = transition;
+        long delayMillis = Math.max(0, at.toEpochMilli() - now.toEpochMilli());
+        return new Tracked(model, wheel.schedule(() -> fire(model, scheduled), delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private void fire(StatusCacheModel model, Transition transition) {
+        boolean[] current = new boolean[1];
+        tracked.computeIfPresent(model.cafeId(), (cafeId, entry) -> {
+            if (entry.model() != model) {
+                return entry;
+            }
+            current[0] = true;
+            return transition == Transition.STALE ? next(model, Transition.EXPIRED, Instant.now()) : null;
+        });
+        if (current[0]) {
+            listener.onTransition(transition, model);
+        }
+    }
+}
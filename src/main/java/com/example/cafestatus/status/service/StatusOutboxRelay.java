@@ -0,0 +1,328 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.example.cafestatus.status.entity.CafeLiveStatus;
+import com.example.cafestatus.status.entity.StatusOutboxEvent;
+import com.example.cafestatus.status.repository.CafeLiveStatusRepository;
+import com.example.cafestatus.status.repository.StatusOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class StatusOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusOutboxRelay.class);
+    private static final long MAX_BACKOFF_SECONDS = 60;
+
+    private final StatusOutboxRepository outboxRepo;
+    private final CafeLiveStatusRepository liveStatusRepo;
+    private final CafeStatusCacheService cacheService;
+    private final StatusSseRegistry sseRegistry;
+    private final StatusEventLog eventLog;
+    private final StatusPresence presence;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final boolean batchPublish;
+    private final long batchWindowMs;
+    private final int batchMaxSize;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "status-outbox-relay");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private final Counter relayed;
+    private final Counter coalesced;
+    private final Counter retried;
+    private final Counter dropped;
+    private final Counter suppressed;
+    private final Counter superseded;
+
+    public StatusOutboxRelay(StatusOutboxRepository outboxRepo,
+                             CafeLiveStatusRepository liveStatusRepo,
+                             CafeStatusCacheService cacheService,
+                             StatusSseRegistry sseRegistry,
+                             StatusEventLog eventLog,
+                             StatusPresence presence,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${outbox.relay.batch-size:100}") int batchSize,
+                             @Value("${outbox.relay.lease-seconds:30}") long leaseSeconds,
+                             @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                             @Value("${outbox.relay.batch-publish.enabled:false}") boolean batchPublish,
+                             @Value("${outbox.relay.batch-publish.window-ms:5}") long batchWindowMs,
+                             @Value("${outbox.relay.batch-publish.max-size:200}") int batchMaxSize) {
+        this.outboxRepo = outboxRepo;
+        this.liveStatusRepo = liveStatusRepo;
+        this.cacheService = cacheService;
+        this.sseRegistry = sseRegistry;
+        this.eventLog = eventLog;
+        this.presence = presence;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.batchPublish = batchPublish;
+        this.batchWindowMs = batchWindowMs;
+        this.batchMaxSize = batchMaxSize;
+        this.relayed = meterRegistry.counter("cafe.status.outbox.relayed");
+        this.coalesced = meterRegistry.counter("cafe.status.outbox.coalesced");
+        this.retried = meterRegistry.counter("cafe.status.outbox.retried");
+        this.dropped = meterRegistry.counter("cafe.status.outbox.dropped");
+        this.suppressed = meterRegistry.counter("cafe.status.publish.suppressed");
+        this.superseded = meterRegistry.counter("cafe.status.outbox.superseded");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStatusChanged(StatusChangedEvent event) {
+        // 배치 발행 모드에서는 창(window) 동안 들어온 커밋을 한 번의 drain으로 모은다
+        requestDrain(batchPublish ? batchWindowMs : 0);
+    }
+
+    // 커밋 직후 트리거가 유실되거나 재시도 대기 중인 행을 주기적으로 회수
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:1000}")
+    public void poll() {
+        requestDrain(0);
+    }
+
+    private void requestDrain(long delayMs) {
+        // 이미 대기 중인 drain이 있으면 그 배치에 합류시킨다
+        if (drainScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::drain, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        try {
+            while (relayBatch() == batchSize) {
+                // 밀린 행이 남아 있으면 계속 비운다
+            }
+        } catch (Exception e) {
+            log.warn("아웃박스 릴레이 실패: error={}", e.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        Instant now = Instant.now();
+        String token = UUID.randomUUID().toString();
+        List<StatusOutboxEvent> batch = tx.execute(status -> claim(now, token));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        // 같은 카페의 이벤트는 가장 최신 상태 하나만 반영
+        Map<Long, List<StatusOutboxEvent>> byCafe = new LinkedHashMap<>();
+        for (StatusOutboxEvent event : batch) {
+            byCafe.computeIfAbsent(event.getCafeId(), k -> new ArrayList<>()).add(event);
+        }
+
+        // 재시도나 다른 노드의 클레임으로 늦게 도착한 이벤트가 이미 반영된 최신 상태를 되돌리지 않게 한다
+        Map<Long, Instant> current = new HashMap<>();
+        for (CafeLiveStatus status : liveStatusRepo.findByCafeIdIn(new ArrayList<>(byCafe.keySet()))) {
+            current.put(status.getCafeId(), status.getUpdatedAt());
+        }
+
+        List<Long> done = new ArrayList<>();
+        Map<Instant, List<Long>> retries = new HashMap<>();
+        List<Delivery> pending = new ArrayList<>();
+        byCafe.forEach((cafeId, events) -> {
+            StatusOutboxEvent latest = Collections.max(events,
+                    Comparator.comparing(StatusOutboxEvent::getUpdatedAt).thenComparing(StatusOutboxEvent::getId));
+            Delivery delivery = new Delivery(latest, events.stream().map(StatusOutboxEvent::getId).toList());
+            Instant stored = current.get(cafeId);
+            if (stored != null && stored.isAfter(latest.getUpdatedAt())) {
+                delivery.supersede(done);
+                return;
+            }
+            try {
+                if (!delivery.prepare()) {
+                    delivery.supersede(done);
+                    return;
+                }
+                if (batchPublish) {
+                    pending.add(delivery);
+                } else {
+                    delivery.publish();
+                    delivery.succeed(done);
+                }
+            } catch (Exception e) {
+                delivery.fail(e, now, done, retries);
+            }
+        });
+        for (int from = 0; from < pending.size(); from += batchMaxSize) {
+            publishBatch(pending.subList(from, Math.min(from + batchMaxSize, pending.size())), now, done, retries);
+        }
+
+        tx.executeWithoutResult(status -> {
+            if (!done.isEmpty()) {
+                outboxRepo.deleteAllByIdInBatch(done);
+            }
+            retries.forEach((retryAt, ids) -> outboxRepo.scheduleRetry(ids, retryAt));
+        });
+        log.debug("아웃박스 릴레이 완료: events={}, cafes={}, retries={}", batch.size(), byCafe.size(), retries.size());
+        return batch.size();
+    }
+
+    private List<StatusOutboxEvent> claim(Instant now, String token) {
+        List<Long> ids = outboxRepo.findReadyIds(now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (outboxRepo.claim(ids, token, now, now.plus(lease)) == 0) {
+            return List.of();
+        }
+        return outboxRepo.findByClaimedBy(token);
+    }
+
+    private void publishBatch(List<Delivery> chunk, Instant now, List<Long> done, Map<Instant, List<Long>> retries) {
+        List<StatusEvent> events = new ArrayList<>(chunk.size());
+        List<StatusEvent> areaEvents = new ArrayList<>();
+        List<Long> invalidateOnly = new ArrayList<>();
+        for (Delivery delivery : chunk) {
+            if (delivery.watched) {
+                events.add(delivery.event);
+            }
+            if (delivery.inArea) {
+                areaEvents.add(delivery.event);
+            }
+            if (!delivery.watched && !delivery.inArea) {
+                invalidateOnly.add(delivery.event.model().cafeId());
+            }
+        }
+        try {
+            if (!cacheService.publishBatch(events, areaEvents, invalidateOnly)) {
+                chunk.stream().filter(delivery -> delivery.watched || delivery.inArea)
+                        .forEach(delivery -> sseRegistry.publish(delivery.event));
+            }
+        } catch (Exception e) {
+            // 묶음 전체가 한 번의 왕복이므로 실패도 묶음 단위로 재시도한다
+            chunk.forEach(delivery -> delivery.fail(e, now, done, retries));
+            return;
+        }
+        suppressed.increment(invalidateOnly.size());
+        chunk.forEach(delivery -> delivery.succeed(done));
+    }
+
+    // 카페 하나의 반영 단위. 캐시/로그 반영(prepare)과 발행(publish)을 나눠 배치 발행 시 발행만 모은다
+    private final class Delivery {
+
+        private final StatusOutboxEvent latest;
+        private final List<Long> ids;
+        private StatusEvent event;
+        private boolean watched;
+        private boolean inArea;
+
+        private Delivery(StatusOutboxEvent latest, List<Long> ids) {
+            this.latest = latest;
+            this.ids = ids;
+        }
+
+        // false면 캐시에 더 최신 상태가 있어 로그와 발행도 생략한다
+        boolean prepare() {
+            StatusCacheModel model = latest.toModel();
+            if (!cacheService.put(model)) {
+                return false;
+            }
+            // 로그에 먼저 남겨야 발행 직후 끊긴 클라이언트도 Last-Event-ID로 이어 받을 수 있다
+            event = new StatusEvent(eventLog.append(latest.getId(), model), model);
+            // 캐시 반영 뒤에 확인해야 그 사이 접속한 시청자가 스냅샷으로 새 상태를 읽는다
+            watched = isWatched(model.cafeId());
+            inArea = isInWatchedArea(model.cafeId());
+            return true;
+        }
+
+        void publish() {
+            if (!watched && !inArea) {
+                // 시청자가 없으면 팬아웃은 생략하고 다른 노드의 L1만 무효화한다
+                cacheService.publishInvalidation(event.model().cafeId());
+                suppressed.increment();
+                return;
+            }
+            if (!cacheService.publishUpdate(event, watched, inArea)) {
+                sseRegistry.publish(event);
+            }
+        }
+
+        void succeed(List<Long> done) {
+            relayed.increment();
+            coalesced.increment(ids.size() - 1);
+            done.addAll(ids);
+        }
+
+        void supersede(List<Long> done) {
+            // 더 최신 상태의 이벤트가 따로 반영되므로 이 행들은 발행 없이 정리한다
+            log.debug("지난 아웃박스 이벤트 생략: cafeId={}, updatedAt={}", latest.getCafeId(), latest.getUpdatedAt());
+            superseded.increment();
+            done.addAll(ids);
+        }
+
+        void fail(Exception e, Instant now, List<Long> done, Map<Instant, List<Long>> retries) {
+            Long cafeId = latest.getCafeId();
+            int attempts = latest.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("아웃박스 릴레이 포기: cafeId={}, attempts={}, error={}", cafeId, attempts, e.getMessage());
+                dropped.increment();
+                done.addAll(ids);
+            } else {
+                log.warn("아웃박스 릴레이 재시도 예약: cafeId={}, attempts={}, error={}", cafeId, attempts, e.getMessage());
+                retried.increment();
+                retries.computeIfAbsent(now.plus(backoff(attempts)), k -> new ArrayList<>()).addAll(ids);
+            }
+        }
+    }
+
+    private boolean isWatched(Long cafeId) {
+        try {
+            return presence.isWatched(cafeId);
+        } catch (Exception e) {
+            // 시청자 정보를 모르면 발행한다 (생략보다 중복 발행이 안전하다)
+            log.warn("시청자 조회 실패, 발행 진행: cafeId={}, error={}", cafeId, e.getMessage());
+            return true;
+        }
+    }
+
+    // 카페 구독자가 없어도 좌표가 살아 있는 영역 구독의 셀 안이면 발행한다 (구독 뒤 영역 안에 생긴 카페 포함)
+    private boolean isInWatchedArea(Long cafeId) {
+        try {
+            Long cell = sseRegistry.areaCellOf(cafeId);
+            return cell != null && presence.isCellWatched(cell);
+        } catch (Exception e) {
+            log.warn("영역 시청자 조회 실패, 발행 진행: cafeId={}, error={}", cafeId, e.getMessage());
+            return true;
+        }
+    }
+
+    private static Duration backoff(int attempts) {
+        return Duration.ofSeconds(Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempts, 6)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
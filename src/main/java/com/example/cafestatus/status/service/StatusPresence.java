@@ -0,0 +1,22 @@
+package com.example.cafestatus.status.service;
+
+import java.util.Collection;
+
+public interface StatusPresence {
+
+    void join(Collection<Long> cafeIds);
+
+    void leave(Collection<Long> cafeIds);
+
+    // 클러스터 어딘가에 이 카페의 SSE 시청자가 있는지 (근사값, 노드 하트비트 주기만큼 늦을 수 있다)
+    boolean isWatched(Long cafeId);
+
+    long viewers(Long cafeId);
+
+    // 영역 구독은 격자 셀 단위로 센다. 구독 시점에 없던 카페도 좌표가 속한 셀로 시청 여부를 알 수 있다
+    void joinCells(Collection<Long> cells);
+
+    void leaveCells(Collection<Long> cells);
+
+    boolean isCellWatched(Long cell);
+}
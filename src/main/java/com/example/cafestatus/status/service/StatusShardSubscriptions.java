@@ -0,0 +1,140 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusChannels;
+import com.example.cafestatus.status.sse.SseInterestListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// 로컬 SSE 구독자가 있는 카페의 샤드 채널만 구독한다. 수신량이 전체 쓰기량이 아니라 이 노드의 관심에 비례하도록
+@Component
+@ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+public class StatusShardSubscriptions implements SseInterestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusShardSubscriptions.class);
+
+    private final RedisMessageListenerContainer container;
+    // 레지스트리 → 샤드 구독 → 리스너 → 레지스트리 순환을 피하려고 리스너는 처음 구독할 때 조회한다
+    private final ObjectProvider<StatusUpdateSubscriber> subscriber;
+    private final StatusChannels channels;
+
+    // 샤드별 구독자가 있는 카페 수. 인덱스 compute 안에서 갱신되므로 같은 카페의 증감 순서가 보장된다
+    private final AtomicIntegerArray watchedCafes;
+    // 샤드별 실제 채널 구독 여부. locks[shard] 안에서만 읽고 쓴다
+    private final boolean[] subscribed;
+    private final Object[] locks;
+    private final AtomicInteger subscribedShards = new AtomicInteger();
+    // 이 노드의 영역 구독 수와 영역 채널 구독 여부. areasSubscribed는 areaLock 안에서만 읽고 쓴다
+    private final AtomicInteger watchedAreas = new AtomicInteger();
+    private final Object areaLock = new Object();
+    private boolean areasSubscribed;
+
+    private final Counter subscribes;
+    private final Counter unsubscribes;
+
+    public StatusShardSubscriptions(RedisMessageListenerContainer container,
+                                    ObjectProvider<StatusUpdateSubscriber> subscriber,
+                                    StatusChannels channels,
+                                    MeterRegistry meterRegistry) {
+        this.container = container;
+        this.subscriber = subscriber;
+        this.channels = channels;
+        this.watchedCafes = new AtomicIntegerArray(channels.shards());
+        this.subscribed = new boolean[channels.shards()];
+        this.locks = new Object[channels.shards()];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        this.subscribes = meterRegistry.counter("cafe.status.pubsub.shard.changes", "action", "subscribe");
+        this.unsubscribes = meterRegistry.counter("cafe.status.pubsub.shard.changes", "action", "unsubscribe");
+        meterRegistry.gauge("cafe.status.pubsub.shards.subscribed", subscribedShards);
+    }
+
+    @Override
+    public void watched(Long cafeId) {
+        watchedCafes.incrementAndGet(channels.shardOf(cafeId));
+    }
+
+    @Override
+    public void unwatched(Long cafeId) {
+        watchedCafes.decrementAndGet(channels.shardOf(cafeId));
+    }
+
+    @Override
+    public void sync(Collection<Long> cafeIds) {
+        for (Long cafeId : cafeIds) {
+            sync(channels.shardOf(cafeId));
+        }
+    }
+
+    @Override
+    public void areaWatched() {
+        watchedAreas.incrementAndGet();
+    }
+
+    @Override
+    public void areaUnwatched() {
+        watchedAreas.decrementAndGet();
+    }
+
+    @Override
+    public void syncAreas() {
+        synchronized (areaLock) {
+            boolean wanted = watchedAreas.get() > 0;
+            if (wanted != areasSubscribed && change(new ChannelTopic(StatusChannels.AREAS), wanted)) {
+                areasSubscribed = wanted;
+            }
+        }
+    }
+
+    // 카운터는 이미 최종 값으로 수렴해 있으므로, 락 안에서 마지막으로 본 값에 맞추면 호출 순서가 뒤섞여도 결과가 같다
+    private void sync(int shard) {
+        synchronized (locks[shard]) {
+            boolean wanted = watchedCafes.get(shard) > 0;
+            if (wanted == subscribed[shard] || !change(new ChannelTopic(channels.updates(shard)), wanted)) {
+                return;
+            }
+            subscribed[shard] = wanted;
+            if (wanted) {
+                subscribedShards.incrementAndGet();
+                subscribes.increment();
+            } else {
+                subscribedShards.decrementAndGet();
+                unsubscribes.increment();
+            }
+        }
+    }
+
+    // 실패하면 상태를 바꾸지 않으므로 같은 채널의 다음 sync에서 다시 시도된다
+    private boolean change(ChannelTopic topic, boolean subscribe) {
+        MessageListener listener = subscriber.getObject();
+        try {
+            if (subscribe) {
+                container.addMessageListener(listener, topic);
+                log.debug("채널 구독: channel={}", topic.getTopic());
+            } else {
+                container.removeMessageListener(listener, topic);
+                log.debug("채널 구독 해지: channel={}", topic.getTopic());
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("채널 구독 변경 실패: channel={}, subscribe={}, error={}", topic.getTopic(), subscribe, e.getMessage());
+            return false;
+        }
+    }
+
+    int subscribedShardCount() {
+        return subscribedShards.get();
+    }
+}
@@ -1,31 +1,192 @@
 package com.example.cafestatus.status.service;
 
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import com.example.cafestatus.cafe.entity.Cafe;
+import com.example.cafestatus.cafe.service.CafeLocationCache;
+import com.example.cafestatus.cafe.service.CafeService;
+import com.example.cafestatus.common.exception.NotFoundException;
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.example.cafestatus.status.cache.StatusEventId;
+import com.example.cafestatus.status.dto.CafeStatusSnapshotEvent;
+import com.example.cafestatus.status.dto.CafeStatusSseEvent;
+import com.example.cafestatus.status.dto.SseSubscriptionResponse;
+import com.example.cafestatus.status.mapper.StatusViewMapper;
+import com.example.cafestatus.status.sse.HashedTimingWheel;
+import com.example.cafestatus.status.sse.SlowConsumerPolicy;
+import com.example.cafestatus.status.sse.SseArea;
+import com.example.cafestatus.status.sse.SseAreaIndex;
+import com.example.cafestatus.status.sse.SseConnection;
+import com.example.cafestatus.status.sse.SseDeliveryMetrics;
+import com.example.cafestatus.status.sse.SseFrame;
+import com.example.cafestatus.status.sse.SseInterestListener;
+import com.example.cafestatus.status.sse.SseSubscriptionIndex;
+import com.example.cafestatus.status.sse.SseThrottle;
+import com.example.cafestatus.status.sse.StatusFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.time.Duration;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class StatusSseRegistry {
 
     private static final Logger log = LoggerFactory.getLogger(StatusSseRegistry.class);
+    // 주석 프레임은 EventSource가 이벤트로 전달하지 않으므로 연결 유지 용도로만 쓰인다
+    private static final SseFrame HEARTBEAT = SseFrame.comment("ping");
+    // 타이밍 휠 틱(100ms)보다 촘촘하게는 묶어 보낼 수 없다
+    private static final long MIN_THROTTLE_INTERVAL_MS = 100;
 
-    private final Map<Long, CopyOnWriteArrayList<SseEmitter>> emittersByCafeId = new ConcurrentHashMap<>();
+    private final SseSubscriptionIndex index;
+    private final SseAreaIndex areaIndex;
+    private final SseInterestListener interest;
+    private final StatusPresence presence;
+    private final SseAdmissionControl admission;
+    // 연결 ID별로 잡아 둔 입장 허가. 연결이 인덱스에서 빠질 때 돌려준다
+    private final Map<String, SseAdmissionControl.Permit> permits = new ConcurrentHashMap<>();
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel("sse-timing-wheel", Duration.ofMillis(100), 512);
+    private final ObjectMapper objectMapper;
+    private final CafeStatusService statusService;
+    private final CafeStatusCacheService cacheService;
+    private final StatusLifecycleTracker lifecycle;
+    private final CafeService cafeService;
+    private final CafeLocationCache locations;
+    private final StatusEventLog eventLog;
+    private final SseDeliveryMetrics metrics;
+    private final int queueCapacity;
+    private final SlowConsumerPolicy policy;
+    private final Duration heartbeatInterval;
+    private final Duration maxLifetime;
+    private final int areaMaxCafes;
+    private final int maxCafeIds;
+    private final long reconnectBaseMs;
+    private final long reconnectJitterMs;
+    private final Counter heartbeats;
+    private final Counter filtered;
+    private final MeterRegistry meterRegistry;
 
-    public SseEmitter subscribe(List<Long> cafeIds) {
-        log.info("SSE 구독 요청: cafeIds={}", cafeIds);
-        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(30).toMillis());
+    public StatusSseRegistry(ObjectMapper objectMapper,
+                             CafeStatusService statusService,
+                             CafeStatusCacheService cacheService,
+                             CafeService cafeService,
+                             CafeLocationCache locations,
+                             StatusEventLog eventLog,
+                             SseInterestListener interest,
+                             StatusPresence presence,
+                             SseAdmissionControl admission,
+                             MeterRegistry meterRegistry,
+                             @Value("${sse.queue.capacity:64}") int queueCapacity,
+                             @Value("${sse.queue.policy:COALESCE}") SlowConsumerPolicy policy,
+                             @Value("${sse.heartbeat-interval-ms:25000}") long heartbeatIntervalMs,
+                             @Value("${sse.max-lifetime-minutes:30}") long maxLifetimeMinutes,
+                             @Value("${sse.area.cell-degrees:0.01}") double areaCellDegrees,
+                             @Value("${sse.area.max-cells:400}") int areaMaxCells,
+                             @Value("${sse.area.max-cafes:500}") int areaMaxCafes,
+                             @Value("${sse.admission.max-cafe-ids:200}") int maxCafeIds,
+                             @Value("${sse.reconnect.base-ms:2000}") long reconnectBaseMs,
+                             @Value("${sse.reconnect.jitter-ms:3000}") long reconnectJitterMs) {
+        this.objectMapper = objectMapper;
+        this.statusService = statusService;
+        this.cacheService = cacheService;
+        // 상태 수명(30분 단위)을 다루므로 연결용 휠과 분리해 1초 틱, 한 바퀴 약 68분으로 둔다
+        this.lifecycle = new StatusLifecycleTracker(
+                new HashedTimingWheel("status-lifecycle-wheel", Duration.ofSeconds(1), 4096), this::onLifecycle);
+        this.cafeService = cafeService;
+        this.locations = locations;
+        this.eventLog = eventLog;
+        this.interest = interest;
+        this.presence = presence;
+        this.admission = admission;
+        this.index = new SseSubscriptionIndex(interest);
+        this.areaIndex = new SseAreaIndex(areaCellDegrees, areaMaxCells);
+        this.areaMaxCafes = areaMaxCafes;
+        this.maxCafeIds = maxCafeIds;
+        this.reconnectBaseMs = reconnectBaseMs;
+        this.reconnectJitterMs = reconnectJitterMs;
+        this.metrics = new SseDeliveryMetrics(meterRegistry, policy);
+        this.queueCapacity = queueCapacity;
+        this.policy = policy;
+        this.heartbeatInterval = Duration.ofMillis(heartbeatIntervalMs);
+        this.maxLifetime = Duration.ofMinutes(maxLifetimeMinutes);
+        this.heartbeats = meterRegistry.counter("sse.heartbeats");
+        this.filtered = meterRegistry.counter("sse.filter.suppressed");
+        meterRegistry.gauge("sse.connections", index, SseSubscriptionIndex::connectionCount);
+        meterRegistry.gauge("sse.area.subscriptions", areaIndex, SseAreaIndex::areaCount);
+        meterRegistry.gauge("sse.lifecycle.tracked", lifecycle, StatusLifecycleTracker::trackedCount);
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("sse.timers", timingWheel, HashedTimingWheel::scheduledCount);
+    }
+
+    // clientKey: 클라이언트별 연결 상한을 셀 키(보통 원격 주소). null이면 노드 상한만 적용한다
+    public SseEmitter subscribe(List<Long> cafeIds, String lastEventId, Integer maxRate, String filter, String clientKey) {
+        log.info("SSE 구독 요청: cafeIds={}, lastEventId={}, maxRate={}, filter={}", cafeIds, lastEventId, maxRate, filter);
+        if (cafeIds.size() > maxCafeIds) {
+            throw new IllegalArgumentException("too many cafeIds (max " + maxCafeIds + ")");
+        }
+        return open(cafeIds, null, lastEventId, throttleFor(maxRate), filterFor(filter), clientKey);
+    }
+
+    // 구독 시점에 영역 안에 있는 카페는 카페 인덱스로 정확히 받고,
+    // 그 뒤 영역 안에서 새로 보이는 카페는 격자 인덱스로 좌표를 맞춰 받는다
+    public SseEmitter subscribeArea(SseArea area, String lastEventId, Integer maxRate, String filter, String clientKey) {
+        log.info("SSE 영역 구독 요청: area={}, lastEventId={}, maxRate={}, filter={}", area, lastEventId, maxRate, filter);
+        SseThrottle throttle = throttleFor(maxRate);
+        StatusFilter statusFilter = filterFor(filter);
+        areaIndex.validate(area);
+
+        List<Cafe> cafes = cafeService.findInArea(area.minLat(), area.maxLat(), area.minLng(), area.maxLng());
+        locations.putAll(cafes);
+        List<Long> cafeIds = cafes.stream()
+                .filter(cafe -> area.contains(cafe.getLatitude(), cafe.getLongitude()))
+                .map(Cafe::getId)
+                .toList();
+        if (cafeIds.isEmpty()) {
+            throw new IllegalArgumentException("no cafes in area");
+        }
+        if (cafeIds.size() > areaMaxCafes) {
+            throw new IllegalArgumentException("too many cafes in area (max " + areaMaxCafes + ")");
+        }
+        return open(cafeIds, area, lastEventId, throttle, statusFilter, clientKey);
+    }
+
+    private SseEmitter open(List<Long> cafeIds, SseArea area, String lastEventId, SseThrottle throttle, StatusFilter filter,
+                            String clientKey) {
+        // 상한을 넘으면 스냅샷/인덱스 작업 전에 바로 503으로 돌려보낸다
+        SseAdmissionControl.Permit permit = admission.acquire(clientKey);
+        try {
+            return register(cafeIds, area, lastEventId, throttle, filter, permit);
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    private SseEmitter register(List<Long> cafeIds, SseArea area, String lastEventId, SseThrottle throttle, StatusFilter filter,
+                                SseAdmissionControl.Permit permit) {
+        // 수명 만료는 타이밍 휠이 처리하고, 컨테이너 타임아웃은 안전망으로만 남겨 둔다
+        SseEmitter emitter = new SseEmitter(maxLifetime.plusMinutes(1).toMillis());
+        // 스냅샷을 보내기 전까지 라이브 업데이트는 큐에만 쌓아 둔다
+        SseConnection connection = new SseConnection(emitter, cafeIds, queueCapacity, policy, deliveryExecutor, metrics, true, throttle, area, filter);
 
         Runnable cleanup = () -> {
             log.debug("SSE 연결 정리: cafeIds={}", cafeIds);
-            cafeIds.forEach(id -> removeEmitter(id, emitter));
+            remove(connection);
         };
         emitter.onCompletion(cleanup);
         emitter.onTimeout(() -> {
@@ -37,64 +198,407 @@ public class StatusSseRegistry {
             cleanup.run();
         });
 
-        cafeIds.forEach(id -> emittersByCafeId
-                .computeIfAbsent(id, k -> new CopyOnWriteArrayList<>())
-                .add(emitter));
+        permits.put(connection.id(), permit);
+        index.add(connection);
+        if (area != null) {
+            areaIndex.add(connection);
+            interest.areaWatched();
+        }
+        // 스냅샷을 읽기 전에 이 카페들의 업데이트 채널 구독을 먼저 맞춰 둔다
+        interest.sync(connection.cafeIds());
+        presence.join(connection.cafeIds());
+        if (area != null) {
+            // 구독 뒤에 영역 안에서 생기거나 처음 갱신되는 카페도 발행이 생략되지 않도록 셀 단위로 시청자에 올린다
+            interest.syncAreas();
+            presence.joinCells(areaIndex.cells(area));
+        }
+        // 재접속 폭주로 한꺼번에 들어온 연결도 하트비트가 한 틱에 몰리지 않도록 첫 주기를 흩뿌린다
+        scheduleHeartbeat(connection, ThreadLocalRandom.current().nextLong(heartbeatInterval.toMillis()) + 1);
+        connection.expireWith(timingWheel.schedule(() -> expire(connection), maxLifetime.toMillis(), TimeUnit.MILLISECONDS));
 
-        try {
-            emitter.send(SseEmitter.event().name("connected").data("ok"));
-            log.debug("SSE 연결 완료: cafeIds={}", cafeIds);
-        } catch (IOException e) {
-            log.warn("SSE 초기 연결 실패: cafeIds={}, error={}", cafeIds, e.getMessage());
-            cleanup.run();
+        // 인덱스 등록 후에 스냅샷/로그를 읽어야 그 사이의 업데이트가 유실되지 않는다
+        if (lastEventId == null || lastEventId.isBlank() || !replay(connection, cafeIds, lastEventId)) {
+            sendSnapshot(connection, cafeIds, List.of(reconnectHint(0), connected(connection)));
         }
+        log.debug("SSE 연결 완료: connectionId={}, cafeIds={}", connection.id(), cafeIds);
 
         return emitter;
     }
 
-    public void publish(Long cafeId, Object payload) {
-        List<SseEmitter> list = emittersByCafeId.get(cafeId);
-        if (list == null) {
+    // 연결을 끊지 않고 구독 카페를 바꾼다. 인덱스/관심/presence는 바뀐 카페만 갱신하고,
+    // 새로 추가된 카페의 스냅샷만 같은 스트림으로 보낸다
+    public SseSubscriptionResponse update(String connectionId, List<Long> add, List<Long> remove) {
+        log.info("SSE 구독 변경 요청: connectionId={}, add={}, remove={}", connectionId, add, remove);
+        SseConnection connection = index.get(connectionId);
+        // 인증 없이 열린 엔드포인트라 connectionId가 곧 자격이다. 없는 ID와 다른 노드의 ID를 구분할 단서를 응답에 남기지 않는다
+        if (connection == null) {
+            throw new NotFoundException("SSE connection not found");
+        }
+
+        List<Long> added;
+        // 연결 제거와 겹치면 제거가 훑은 뒤에 인덱스에 카페가 남을 수 있으므로 같은 잠금으로 직렬화한다
+        synchronized (connection) {
+            if (index.get(connectionId) != connection) {
+                throw new NotFoundException("SSE connection not found");
+            }
+            List<Long> removed = remove.stream().distinct().filter(connection::watches).toList();
+            // 바꾼 뒤의 카페 수가 상한을 넘으면 아무것도 바꾸지 않고 거절한다
+            long adding = add.stream().distinct().filter(cafeId -> !connection.watches(cafeId) || removed.contains(cafeId)).count();
+            if (connection.cafeIds().size() - removed.size() + adding > maxCafeIds) {
+                throw new IllegalArgumentException("too many cafeIds (max " + maxCafeIds + ")");
+            }
+            if (!removed.isEmpty()) {
+                index.removeCafes(connection, removed);
+                connection.unwatch(removed);
+                interest.sync(removed);
+                presence.leave(removed);
+            }
+            added = add.stream().distinct().filter(cafeId -> !connection.watches(cafeId)).toList();
+            if (!added.isEmpty()) {
+                // 스냅샷보다 오래된 라이브 프레임이 스냅샷 뒤에 나가지 않도록 resume 전까지 전송을 멈춘다
+                connection.pause();
+                connection.watch(added);
+                index.addCafes(connection, added);
+                interest.sync(added);
+                presence.join(added);
+            }
+        }
+
+        if (!added.isEmpty()) {
+            sendSnapshot(connection, added, List.of());
+        }
+        log.debug("SSE 구독 변경 완료: connectionId={}, cafeIds={}", connectionId, connection.cafeIds());
+        return new SseSubscriptionResponse(connectionId, connection.cafeIds());
+    }
+
+    // 놓친 이벤트만 카페별 최신 상태로 합쳐 보낸다. 로그가 잘려 이어 붙일 수 없으면 false (스냅샷으로 대체)
+    private boolean replay(SseConnection connection, List<Long> cafeIds, String lastEventId) {
+        Optional<List<StatusEvent>> missed;
+        try {
+            missed = eventLog.readAfter(StatusEventId.parse(lastEventId), new HashSet<>(cafeIds));
+        } catch (Exception e) {
+            log.warn("SSE 이벤트 로그 조회 실패: lastEventId={}, error={}", lastEventId, e.getMessage());
+            return false;
+        }
+        if (missed.isEmpty()) {
+            log.debug("SSE 이어받기 불가, 스냅샷으로 대체: lastEventId={}", lastEventId);
+            return false;
+        }
+
+        Map<Long, StatusEvent> latest = new LinkedHashMap<>();
+        for (StatusEvent event : missed.get()) {
+            latest.remove(event.model().cafeId());
+            latest.put(event.model().cafeId(), event);
+        }
+
+        Instant now = Instant.now();
+        List<SseFrame> frames = new ArrayList<>(latest.size() + 1);
+        Map<Long, Long> versions = new HashMap<>();
+        frames.add(reconnectHint(0));
+        frames.add(connected(connection));
+        try {
+            for (StatusEvent event : latest.values()) {
+                if (connection.admits(event.model().cafeId(), event.model().packed())) {
+                    frames.add(statusFrame(event, now));
+                }
+                versions.put(event.model().cafeId(), event.model().updatedAt().toEpochMilli());
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("SSE 이어받기 인코딩 실패: error={}", e.getMessage());
+            return false;
+        }
+        log.debug("SSE 이어받기: lastEventId={}, missed={}, sent={}", lastEventId, missed.get().size(), latest.size());
+        connection.resume(frames, versions);
+        return true;
+    }
+
+    // maxRate: 초당 최대 상태 프레임 수. 지정하면 카페별 최신 상태를 모아 1000/maxRate ms마다 한 프레임으로 보낸다
+    private SseThrottle throttleFor(Integer maxRate) {
+        if (maxRate == null) {
+            return null;
+        }
+        if (maxRate <= 0) {
+            throw new IllegalArgumentException("maxRate must be positive");
+        }
+        return new SseThrottle(timingWheel, Math.max(MIN_THROTTLE_INTERVAL_MS, 1000L / maxRate));
+    }
+
+    private static StatusFilter filterFor(String filter) {
+        return filter == null ? null : StatusFilter.parse(filter);
+    }
+
+    private void sendSnapshot(SseConnection connection, List<Long> cafeIds, List<SseFrame> leading) {
+        Map<Long, Long> versions = new HashMap<>();
+        try {
+            Instant now = Instant.now();
+            // 스냅샷보다 먼저 로그 끝 ID를 잡아 두면, 이 ID로 재접속했을 때 스냅샷 이후 이벤트만 이어 받는다
+            String snapshotId = latestEventId();
+            Map<Long, StatusCacheModel> snapshot = statusService.getStatusSnapshot(cafeIds);
+            List<CafeStatusSseEvent> statuses = new ArrayList<>(cafeIds.size());
+            for (Long cafeId : cafeIds) {
+                StatusCacheModel model = snapshot.get(cafeId);
+                if (model == null) {
+                    statuses.add(new CafeStatusSseEvent(cafeId, StatusViewMapper.unknown()));
+                } else {
+                    statuses.add(new CafeStatusSseEvent(cafeId, model.toSummary(now)));
+                    versions.put(cafeId, model.updatedAt().toEpochMilli());
+                    connection.primeFilter(cafeId, model.packed());
+                    lifecycle.track(model, now);
+                }
+            }
+            byte[] data = objectMapper.writeValueAsBytes(new CafeStatusSnapshotEvent(statuses));
+            List<SseFrame> frames = new ArrayList<>(leading);
+            frames.add(SseFrame.event(snapshotId, null, "snapshot", 0, data));
+            connection.resume(frames, versions);
+        } catch (Exception e) {
+            // 스냅샷 없이도 라이브 스트림은 동작해야 한다
+            log.warn("SSE 스냅샷 전송 실패: cafeIds={}, error={}", cafeIds, e.getMessage());
+            connection.resume(leading, versions);
+        }
+    }
+
+    private String latestEventId() {
+        try {
+            return eventLog.latestId().map(StatusEventId::toString).orElse(null);
+        } catch (Exception e) {
+            log.warn("SSE 이벤트 로그 조회 실패: error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    public void publish(StatusEvent event) {
+        publish(event, true, true);
+    }
+
+    // 브로커를 거칠 때는 샤드 채널은 카페 구독자에게, 영역 채널은 영역 구독에만 전달한다
+    public void publishToSubscribers(StatusEvent event) {
+        publish(event, true, false);
+    }
+
+    public void publishToAreas(StatusEvent event) {
+        publish(event, false, true);
+    }
+
+    // 이 카페 좌표가 속한 영역 격자 셀. 좌표를 모르는 카페면 null
+    public Long areaCellOf(Long cafeId) {
+        CafeLocation location = locations.get(cafeId);
+        return location == null ? null : areaIndex.cellOf(location.latitude(), location.longitude());
+    }
+
+    private void publish(StatusEvent event, boolean toSubscribers, boolean toAreas) {
+        Long cafeId = event.model().cafeId();
+        Set<SseConnection> subscribers = toSubscribers ? index.subscribers(cafeId) : Set.of();
+        List<SseConnection> areaMatches = toAreas ? matchAreas(cafeId) : List.of();
+        if (subscribers.isEmpty() && areaMatches.isEmpty()) {
             log.debug("SSE 발행 대상 없음: cafeId={}", cafeId);
             return;
         }
 
-        log.debug("SSE 상태 발행: cafeId={}, subscribers={}", cafeId, list.size());
-        for (SseEmitter emitter : list) {
+        log.debug("SSE 상태 발행: cafeId={}, subscribers={}, areaMatches={}", cafeId, subscribers.size(), areaMatches.size());
+        // 이 노드에 보는 연결이 있는 카페만 stale/expired 전이를 추적한다
+        lifecycle.track(event.model(), Instant.now());
+        // 구독자 수와 관계없이 직렬화는 한 번만 하고 같은 프레임을 공유한다
+        SseFrame frame;
+        try {
+            frame = statusFrame(event, Instant.now());
+        } catch (JsonProcessingException e) {
+            log.warn("SSE 프레임 인코딩 실패: cafeId={}, error={}", cafeId, e.getMessage());
+            return;
+        }
+        int packed = event.model().packed();
+        for (SseConnection connection : subscribers) {
+            deliver(connection, cafeId, packed, frame);
+        }
+        for (SseConnection connection : areaMatches) {
+            deliver(connection, cafeId, packed, frame);
+        }
+    }
+
+    // 휠 워커 스레드에서 불리므로 팬아웃은 전송 executor로 넘긴다
+    private void onLifecycle(StatusLifecycleTracker.Transition transition, StatusCacheModel model) {
+        deliveryExecutor.execute(() -> publishLifecycle(transition, model));
+    }
+
+    void publishLifecycle(StatusLifecycleTracker.Transition transition, StatusCacheModel model) {
+        Long cafeId = model.cafeId();
+        meterRegistry.counter("sse.lifecycle.events", "type", transition.eventName()).increment();
+        if (transition == StatusLifecycleTracker.Transition.EXPIRED) {
             try {
-                emitter.send(SseEmitter.event().name("status").data(payload));
-            } catch (IOException e) {
-                log.warn("SSE 발행 실패, 연결 제거: cafeId={}", cafeId);
-                removeEmitter(cafeId, emitter);
+                cacheService.evictLocal(cafeId);
+            } catch (Exception e) {
+                log.warn("만료 상태 캐시 제거 실패: cafeId={}, error={}", cafeId, e.getMessage());
             }
         }
+
+        Set<SseConnection> subscribers = index.subscribers(cafeId);
+        List<SseConnection> areaMatches = matchAreas(cafeId);
+        if (subscribers.isEmpty() && areaMatches.isEmpty()) {
+            return;
+        }
+        log.debug("SSE 상태 전이 발행: cafeId={}, transition={}", cafeId, transition.eventName());
+        SseFrame frame;
+        try {
+            byte[] data = objectMapper.writeValueAsBytes(new CafeStatusSseEvent(cafeId, model.toSummary(Instant.now())));
+            frame = SseFrame.event(cafeId, transition.eventName(), model.updatedAt().toEpochMilli(), data);
+        } catch (JsonProcessingException e) {
+            log.warn("SSE 전이 프레임 인코딩 실패: cafeId={}, error={}", cafeId, e.getMessage());
+            return;
+        }
+        int packed = model.packed();
+        for (SseConnection connection : subscribers) {
+            deliverLifecycle(connection, packed, frame);
+        }
+        for (SseConnection connection : areaMatches) {
+            deliverLifecycle(connection, packed, frame);
+        }
+    }
+
+    // 상태 값은 그대로이므로 필터 전이 기록은 건드리지 않고, 현재 조건을 만족하는 카페만 알린다
+    private void deliverLifecycle(SseConnection connection, int packed, SseFrame frame) {
+        if (connection.filter() != null && !connection.filter().matches(packed)) {
+            return;
+        }
+        if (!connection.offer(frame)) {
+            remove(connection);
+        }
     }
 
-    private void removeEmitter(Long cafeId, SseEmitter emitter) {
-        var list = emittersByCafeId.get(cafeId);
-        if (list == null) return;
-        list.remove(emitter);
-        if (list.isEmpty()) {
-            emittersByCafeId.remove(cafeId);
-            log.debug("SSE 구독자 모두 제거됨: cafeId={}", cafeId);
+    private void deliver(SseConnection connection, Long cafeId, int packed, SseFrame frame) {
+        if (!connection.admits(cafeId, packed)) {
+            filtered.increment();
+            return;
+        }
+        if (!connection.offer(frame)) {
+            remove(connection);
         }
     }
 
-    @Scheduled(fixedRate = 25000)
-    public void ping() {
-        int totalEmitters = emittersByCafeId.values().stream().mapToInt(List::size).sum();
-        if (totalEmitters > 0) {
-            log.trace("SSE ping 전송: totalEmitters={}", totalEmitters);
+    // 영역 구독이 하나도 없으면 좌표 조회 없이 바로 끝낸다
+    private List<SseConnection> matchAreas(Long cafeId) {
+        if (areaIndex.isEmpty()) {
+            return List.of();
+        }
+        CafeLocation location;
+        try {
+            location = locations.get(cafeId);
+        } catch (Exception e) {
+            log.warn("카페 좌표 조회 실패: cafeId={}, error={}", cafeId, e.getMessage());
+            return List.of();
         }
-        emittersByCafeId.forEach((cafeId, list) -> {
-            for (SseEmitter emitter : list) {
+        if (location == null) {
+            return List.of();
+        }
+        List<SseConnection> matches = areaIndex.match(location.latitude(), location.longitude());
+        // 이미 카페 인덱스로 받는 연결은 중복 전송하지 않는다
+        if (!matches.isEmpty()) {
+            matches.removeIf(connection -> connection.watches(cafeId));
+        }
+        return matches;
+    }
+
+    private SseFrame statusFrame(StatusEvent event, Instant now) throws JsonProcessingException {
+        StatusCacheModel model = event.model();
+        byte[] data = objectMapper.writeValueAsBytes(new CafeStatusSseEvent(model.cafeId(), model.toSummary(now)));
+        String id = event.id() == null ? null : event.id().toString();
+        return SseFrame.event(id, model.cafeId(), "status", model.updatedAt().toEpochMilli(), data);
+    }
+
+    // 클라이언트는 connected 이벤트로 받은 connectionId로 구독 변경을 요청한다
+    private static SseFrame connected(SseConnection connection) {
+        return SseFrame.control("connected", "{\"connectionId\":\"" + connection.id() + "\"}");
+    }
+
+    // 클라이언트가 바로 재접속하지 않도록 retry 대기 시간을 알려 준다. 지터로 재접속 시각을 흩뿌린다
+    private SseFrame reconnectHint(long extraDelayMs) {
+        long jitter = reconnectJitterMs <= 0 ? 0 : ThreadLocalRandom.current().nextLong(reconnectJitterMs + 1);
+        return SseFrame.retry(reconnectBaseMs + extraDelayMs + jitter);
+    }
+
+    // 종료 시 연결을 batchSize개씩 나눠 닫는다. 뒤 배치일수록 retry를 길게 줘서
+    // 재접속이 다른 노드로 한꺼번에 몰리지 않고 reconnectSpreadMs에 걸쳐 퍼지게 한다
+    public int drain(int batchSize, long intervalMs, long reconnectSpreadMs) {
+        List<SseConnection> connections = new ArrayList<>(index.connections());
+        if (connections.isEmpty()) {
+            return 0;
+        }
+        int batches = (connections.size() + batchSize - 1) / batchSize;
+        log.info("SSE 연결 드레인 시작: connections={}, batches={}", connections.size(), batches);
+        for (int batch = 0; batch < batches; batch++) {
+            if (batch > 0 && intervalMs > 0) {
                 try {
-                    emitter.send(SseEmitter.event().name("ping").data("ok"));
-                } catch (Exception e) {
-                    log.debug("SSE ping 실패, 연결 제거: cafeId={}", cafeId);
-                    removeEmitter(cafeId, emitter);
+                    Thread.sleep(intervalMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("SSE 연결 드레인 중단: remaining={}", connections.size() - batch * batchSize);
+                    return batch * batchSize;
                 }
             }
-        });
+            long extraDelay = reconnectSpreadMs * batch / batches;
+            int end = Math.min(connections.size(), (batch + 1) * batchSize);
+            for (SseConnection connection : connections.subList(batch * batchSize, end)) {
+                connection.finish(reconnectHint(extraDelay));
+                unregister(connection);
+            }
+        }
+        log.info("SSE 연결 드레인 완료: connections={}", connections.size());
+        return connections.size();
+    }
+
+    private void remove(SseConnection connection) {
+        connection.close();
+        unregister(connection);
+    }
+
+    // 전송 큐는 건드리지 않고 인덱스/관심/presence/입장 허가만 정리한다
+    private void unregister(SseConnection connection) {
+        SseAdmissionControl.Permit permit = permits.remove(connection.id());
+        if (permit != null) {
+            permit.release();
+        }
+        synchronized (connection) {
+            if (!index.remove(connection)) {
+                return;
+            }
+            if (connection.area() != null) {
+                areaIndex.remove(connection);
+                interest.areaUnwatched();
+            }
+            interest.sync(connection.cafeIds());
+            presence.leave(connection.cafeIds());
+            if (connection.area() != null) {
+                interest.syncAreas();
+                presence.leaveCells(areaIndex.cells(connection.area()));
+            }
+            log.debug("SSE 연결 제거: connectionId={}", connection.id());
+        }
+    }
+
+    private void scheduleHeartbeat(SseConnection connection, long delayMillis) {
+        timingWheel.schedule(() -> heartbeat(connection), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void heartbeat(SseConnection connection) {
+        if (connection.isClosed()) {
+            return;
+        }
+        if (!connection.offer(HEARTBEAT)) {
+            remove(connection);
+            return;
+        }
+        heartbeats.increment();
+        scheduleHeartbeat(connection, heartbeatInterval.toMillis());
+    }
+
+    private void expire(SseConnection connection) {
+        log.debug("SSE 연결 수명 만료: connectionId={}", connection.id());
+        remove(connection);
+        deliveryExecutor.execute(connection.emitter()::complete);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timingWheel.stop();
+        lifecycle.stop();
+        deliveryExecutor.shutdown();
     }
 }
@@ -1,35 +1,69 @@
 package com.example.cafestatus.status.service;
 
-import com.example.cafestatus.status.dto.CafeStatusSseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.cafestatus.status.cache.StatusCacheCodec;
+import com.example.cafestatus.status.cache.StatusChannels;
+import com.example.cafestatus.status.cache.StatusEvent;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
 @Component
 @ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
 public class StatusUpdateSubscriber implements MessageListener {
 
     private static final Logger log = LoggerFactory.getLogger(StatusUpdateSubscriber.class);
+    private static final byte[] INVALIDATIONS = StatusChannels.INVALIDATIONS.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] AREAS = StatusChannels.AREAS.getBytes(StandardCharsets.UTF_8);
 
-    private final ObjectMapper objectMapper;
+    private final StatusCacheCodec codec;
     private final StatusSseRegistry sseRegistry;
+    private final CafeStatusCacheService cacheService;
+    private final RedisMessageListenerContainer container;
 
-    public StatusUpdateSubscriber(ObjectMapper objectMapper, StatusSseRegistry sseRegistry) {
-        this.objectMapper = objectMapper;
+    public StatusUpdateSubscriber(StatusCacheCodec codec,
+                                  StatusSseRegistry sseRegistry,
+                                  CafeStatusCacheService cacheService,
+                                  RedisMessageListenerContainer container) {
+        this.codec = codec;
         this.sseRegistry = sseRegistry;
+        this.cacheService = cacheService;
+        this.container = container;
+    }
+
+    // 무효화 채널은 SSE 구독과 무관하게 모든 노드가 받아야 L1이 낡지 않는다
+    @PostConstruct
+    void subscribeInvalidations() {
+        container.addMessageListener(this, new ChannelTopic(StatusChannels.INVALIDATIONS));
     }
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
         try {
-            String json = new String(message.getBody());
-            CafeStatusSseEvent event = objectMapper.readValue(json, CafeStatusSseEvent.class);
-            log.debug("Redis Pub/Sub 수신: cafeId={}", event.cafeId());
-            sseRegistry.publish(event.cafeId(), event);
+            if (Arrays.equals(message.getChannel(), INVALIDATIONS)) {
+                codec.decodeInvalidations(message.getBody()).forEach(cacheService::evictLocal);
+                return;
+            }
+            List<StatusEvent> events = codec.decodeEvents(message.getBody());
+            // 같은 이벤트가 샤드 채널과 영역 채널로 모두 올 수 있으므로 채널마다 받는 쪽을 나눠 두 번 보내지 않는다
+            boolean areas = Arrays.equals(message.getChannel(), AREAS);
+            log.debug("Redis Pub/Sub 수신: events={}, areas={}", events.size(), areas);
+            for (StatusEvent event : events) {
+                if (areas) {
+                    sseRegistry.publishToAreas(event);
+                } else {
+                    sseRegistry.publishToSubscribers(event);
+                }
+            }
         } catch (Exception e) {
             log.warn("Redis Pub/Sub 메시지 처리 실패: error={}", e.getMessage());
         }
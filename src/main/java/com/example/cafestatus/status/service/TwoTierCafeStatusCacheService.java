@@ -0,0 +1,117 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+@Service
+@Primary
+@ConditionalOnProperty(name = {"cache.redis.enabled", "cache.l1.enabled"}, havingValue = "true")
+public class TwoTierCafeStatusCacheService implements CafeStatusCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCafeStatusCacheService.class);
+
+    private final RedisCafeStatusCacheService l2;
+    private final Cache<Long, StatusCacheModel> l1;
+    private final Counter hits;
+    private final Counter misses;
+
+    public TwoTierCafeStatusCacheService(RedisCafeStatusCacheService l2,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${cache.l1.max-size:10000}") long maxSize,
+                                         @Value("${cache.l1.ttl-seconds:5}") long ttlSeconds) {
+        this.l2 = l2;
+        this.hits = meterRegistry.counter("cafe.status.cache.hit", "tier", "l1");
+        this.misses = meterRegistry.counter("cafe.status.cache.miss", "tier", "l1");
+        Counter evictions = meterRegistry.counter("cafe.status.cache.eviction", "tier", "l1");
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .evictionListener((Long cafeId, StatusCacheModel model, RemovalCause cause) -> evictions.increment())
+                .build();
+        meterRegistry.gauge("cafe.status.cache.size", Tags.of("tier", "l1"), l1, Cache::estimatedSize);
+    }
+
+    @Override
+    public Optional<StatusCacheModel> get(Long cafeId) {
+        StatusCacheModel local = l1.getIfPresent(cafeId);
+        if (local != null) {
+            hits.increment();
+            return Optional.of(local);
+        }
+        misses.increment();
+
+        Optional<StatusCacheModel> remote = l2.get(cafeId);
+        remote.ifPresent(model -> l1.put(cafeId, model));
+        return remote;
+    }
+
+    @Override
+    public Map<Long, StatusCacheModel> getMultiple(List<Long> cafeIds) {
+        if (cafeIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, StatusCacheModel> result = new HashMap<>(l1.getAllPresent(cafeIds));
+        hits.increment(result.size());
+
+        List<Long> missIds = cafeIds.stream()
+                .filter(id -> !result.containsKey(id))
+                .toList();
+        if (missIds.isEmpty()) {
+            return result;
+        }
+        misses.increment(missIds.size());
+
+        Map<Long, StatusCacheModel> remote = l2.getMultiple(missIds);
+        l1.putAll(remote);
+        result.putAll(remote);
+        return result;
+    }
+
+    @Override
+    public boolean put(StatusCacheModel model) {
+        if (!l2.put(model)) {
+            // L2에 더 최신 상태가 있으면 L1에 남은 값도 믿지 않고 다음 조회에서 다시 읽는다
+            l1.invalidate(model.cafeId());
+            return false;
+        }
+        l1.put(model.cafeId(), model);
+        return true;
+    }
+
+    @Override
+    public boolean publishUpdate(StatusEvent event, boolean toSubscribers, boolean toAreas) {
+        return l2.publishUpdate(event, toSubscribers, toAreas);
+    }
+
+    @Override
+    public boolean publishBatch(List<StatusEvent> events, List<StatusEvent> areaEvents, Collection<Long> invalidateOnly) {
+        return l2.publishBatch(events, areaEvents, invalidateOnly);
+    }
+
+    @Override
+    public void publishInvalidation(Long cafeId) {
+        l2.publishInvalidation(cafeId);
+    }
+
+    @Override
+    public void evictLocal(Long cafeId) {
+        // 다른 노드의 쓰기는 Pub/Sub으로 무효화, 메시지 유실은 짧은 TTL로 보완
+        l1.invalidate(cafeId);
+        log.trace("L1 캐시 무효화: cafeId={}", cafeId);
+    }
+}
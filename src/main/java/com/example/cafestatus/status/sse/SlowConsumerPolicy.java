@@ -0,0 +1,10 @@
+package com.example.cafestatus.status.sse;
+
+public enum SlowConsumerPolicy {
+    // 큐가 가득 차면 가장 오래된 메시지를 버린다
+    DROP_OLDEST,
+    // 같은 카페의 대기 중인 상태는 최신 값으로 덮어쓰고, 그래도 가득 차면 가장 오래된 메시지를 버린다
+    COALESCE,
+    // 큐가 가득 차면 연결을 끊어 클라이언트가 재접속하게 한다
+    DISCONNECT
+}
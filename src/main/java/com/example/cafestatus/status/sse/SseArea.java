@@ -0,0 +1,29 @@
+package com.example.cafestatus.status.sse;
+
+import com.example.cafestatus.cafe.geo.CafeGridIndex;
+import com.example.cafestatus.cafe.geo.GeoBounds;
+
+// 영역 구독 범위. radiusMeters > 0 이면 중심+반경(원), 아니면 경계 상자 그대로 쓴다
+public record SseArea(double minLat, double maxLat, double minLng, double maxLng,
+                      double centerLat, double centerLng, double radiusMeters) {
+
+    public static SseArea box(double minLat, double maxLat, double minLng, double maxLng) {
+        return new SseArea(minLat, maxLat, minLng, maxLng, (minLat + maxLat) / 2, (minLng + maxLng) / 2, 0);
+    }
+
+    public static SseArea circle(double lat, double lng, double radiusMeters) {
+        GeoBounds bounds = GeoBounds.around(lat, lng, radiusMeters);
+        return new SseArea(bounds.minLat(), bounds.maxLat(), bounds.minLng(), bounds.maxLng(), lat, lng, radiusMeters);
+    }
+
+    public boolean isCircle() {
+        return radiusMeters > 0;
+    }
+
+    public boolean contains(double lat, double lng) {
+        if (lat < minLat || lat > maxLat || lng < minLng || lng > maxLng) {
+            return false;
+        }
+        return !isCircle() || CafeGridIndex.haversineMeters(centerLat, centerLng, lat, lng) <= radiusMeters;
+    }
+}
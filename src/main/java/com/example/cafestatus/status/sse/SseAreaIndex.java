@@ -0,0 +1,125 @@
+package com.example.cafestatus.status.sse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+// 영역 구독을 균일 격자 셀에 걸어 두고, 업데이트 좌표가 속한 한 셀의 후보만 검사한다
+// → 업데이트당 비용은 전체 영역 구독 수가 아니라 그 지점과 겹치는 구독 수에 비례
+public class SseAreaIndex {
+
+    private final double cellDegrees;
+    private final int maxCells;
+    private final Map<Long, Set<SseConnection>> byCell = new ConcurrentHashMap<>();
+    private final AtomicInteger areaCount = new AtomicInteger();
+
+    public SseAreaIndex(double cellDegrees, int maxCells) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("cellDegrees must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+        this.maxCells = maxCells;
+    }
+
+    // 너무 넓은 영역은 셀 등록 비용이 커지므로 구독 전에 거절한다
+    public void validate(SseArea area) {
+        if (!Double.isFinite(area.minLat()) || !Double.isFinite(area.maxLat())
+                || !Double.isFinite(area.minLng()) || !Double.isFinite(area.maxLng())) {
+            throw new IllegalArgumentException("Invalid area");
+        }
+        if (area.minLat() > area.maxLat() || area.minLng() > area.maxLng()) {
+            throw new IllegalArgumentException("min must not exceed max");
+        }
+        long rows = row(area.maxLat()) - row(area.minLat()) + 1;
+        long cols = col(area.maxLng()) - col(area.minLng()) + 1;
+        if (rows * cols > maxCells) {
+            throw new IllegalArgumentException("area is too large");
+        }
+    }
+
+    public void add(SseConnection connection) {
+        SseArea area = connection.area();
+        validate(area);
+        areaCount.incrementAndGet();
+        forEachCell(area, key -> byCell.compute(key, (k, set) -> {
+            Set<SseConnection> target = set == null ? ConcurrentHashMap.newKeySet() : set;
+            target.add(connection);
+            return target;
+        }));
+    }
+
+    public void remove(SseConnection connection) {
+        SseArea area = connection.area();
+        forEachCell(area, key -> byCell.computeIfPresent(key, (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        }));
+        areaCount.decrementAndGet();
+    }
+
+    // 한 지점은 정확히 한 셀에 속하므로 여러 셀에 걸친 구독도 중복 없이 나온다
+    public List<SseConnection> match(double lat, double lng) {
+        Set<SseConnection> candidates = byCell.get(cellOf(lat, lng));
+        if (candidates == null) {
+            return List.of();
+        }
+        List<SseConnection> matches = new ArrayList<>(candidates.size());
+        for (SseConnection connection : candidates) {
+            if (connection.area().contains(lat, lng)) {
+                matches.add(connection);
+            }
+        }
+        return matches;
+    }
+
+    // 시청자 집계(presence)에 셀 단위로 올려, 구독 뒤에 생긴 카페도 좌표만으로 시청 여부를 알 수 있게 한다
+    public List<Long> cells(SseArea area) {
+        List<Long> cells = new ArrayList<>();
+        forEachCell(area, cells::add);
+        return cells;
+    }
+
+    public long cellOf(double lat, double lng) {
+        return key(row(lat), col(lng));
+    }
+
+    public boolean isEmpty() {
+        return areaCount.get() == 0;
+    }
+
+    public int areaCount() {
+        return areaCount.get();
+    }
+
+    public int cellCount() {
+        return byCell.size();
+    }
+
+    private void forEachCell(SseArea area, LongConsumer action) {
+        long minRow = row(area.minLat());
+        long maxRow = row(area.maxLat());
+        long minCol = col(area.minLng());
+        long maxCol = col(area.maxLng());
+        for (long r = minRow; r <= maxRow; r++) {
+            for (long c = minCol; c <= maxCol; c++) {
+                action.accept(key(r, c));
+            }
+        }
+    }
+
+    private long row(double lat) {
+        return (long) Math.floor(lat / cellDegrees);
+    }
+
+    private long col(double lng) {
+        return (long) Math.floor(lng / cellDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) ^ (col & 0xffffffffL);
+    }
+}
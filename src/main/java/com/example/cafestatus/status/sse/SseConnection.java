@@ -0,0 +1,392 @@
+package com.example.cafestatus.status.sse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+public class SseConnection {
+
+    private static final Logger log = LoggerFactory.getLogger(SseConnection.class);
+
+    private final String id = UUID.randomUUID().toString();
+    private final SseEmitter emitter;
+    // 구독 카페 목록은 드물게 바뀌므로 변경 시에만 복사하고 읽기는 잠금 없이 한다
+    private final LinkedHashSet<Long> watched;
+    private volatile List<Long> cafeIds;
+    private volatile Set<Long> watchedView;
+    private final SseArea area;
+    private final int capacity;
+    private final SlowConsumerPolicy policy;
+    private final Executor executor;
+    private final SseDeliveryMetrics metrics;
+    private final SseThrottle throttle;
+    private final StatusFilter filter;
+    // 필터가 있을 때 카페별로 직전 상태가 조건을 만족했는지
+    private final Map<Long, Boolean> filterMatched = new ConcurrentHashMap<>();
+
+    // queue, throttled, draining, closed, paused, finishing, flushScheduled는 queue 모니터로 보호
+    private final ArrayDeque<SseFrame> queue = new ArrayDeque<>();
+    private final LinkedHashMap<Long, SseFrame> throttled = new LinkedHashMap<>();
+    private boolean draining;
+    private boolean closed;
+    private boolean paused;
+    private boolean finishing;
+    private boolean flushScheduled;
+
+    private volatile HashedTimingWheel.Timeout expiry;
+
+    // paused: resume 전까지 들어온 프레임은 쌓아 두기만 하고 전송하지 않는다
+    // throttle: 상태 프레임을 큐 대신 카페별 최신 값으로 모았다가 주기마다 한 프레임으로 보낸다
+    // area: 영역 구독. cafeIds는 구독 시점에 영역 안에 있던 카페들이다
+    // filter: 상태가 조건 밖에서 조건 안으로 들어오는 업데이트만 보낸다
+    public SseConnection(SseEmitter emitter,
+                         List<Long> cafeIds,
+                         int capacity,
+                         SlowConsumerPolicy policy,
+                         Executor executor,
+                         SseDeliveryMetrics metrics,
+                         boolean paused,
+                         SseThrottle throttle,
+                         SseArea area,
+                         StatusFilter filter) {
+        this.emitter = emitter;
+        this.watched = new LinkedHashSet<>(cafeIds);
+        this.cafeIds = List.copyOf(watched);
+        this.watchedView = Set.copyOf(watched);
+        this.area = area;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.executor = executor;
+        this.metrics = metrics;
+        this.paused = paused;
+        this.throttle = throttle;
+        this.filter = filter;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public SseEmitter emitter() {
+        return emitter;
+    }
+
+    public List<Long> cafeIds() {
+        return cafeIds;
+    }
+
+    public boolean watches(Long cafeId) {
+        return watchedView.contains(cafeId);
+    }
+
+    // 실제로 새로 추가된 카페만 돌려준다
+    public List<Long> watch(Collection<Long> added) {
+        synchronized (watched) {
+            List<Long> changed = new ArrayList<>();
+            for (Long cafeId : added) {
+                if (watched.add(cafeId)) {
+                    changed.add(cafeId);
+                }
+            }
+            publishWatchedLocked(changed);
+            return changed;
+        }
+    }
+
+    // 실제로 빠진 카페만 돌려주고, 그 카페들의 대기 프레임도 버린다
+    public List<Long> unwatch(Collection<Long> removed) {
+        List<Long> changed = new ArrayList<>();
+        synchronized (watched) {
+            for (Long cafeId : removed) {
+                if (watched.remove(cafeId)) {
+                    changed.add(cafeId);
+                }
+            }
+            publishWatchedLocked(changed);
+        }
+        if (!changed.isEmpty()) {
+            Set<Long> dropped = Set.copyOf(changed);
+            filterMatched.keySet().removeAll(dropped);
+            synchronized (queue) {
+                int before = queue.size();
+                queue.removeIf(pending -> pending.cafeId() != null && dropped.contains(pending.cafeId()));
+                metrics.dequeued(before - queue.size());
+                throttled.keySet().removeAll(dropped);
+            }
+        }
+        return changed;
+    }
+
+    private void publishWatchedLocked(List<Long> changed) {
+        if (!changed.isEmpty()) {
+            cafeIds = List.copyOf(watched);
+            watchedView = Set.copyOf(watched);
+        }
+    }
+
+    // 구독 중간에 스냅샷을 끼워 넣을 때 쓴다. resume 전까지 전송을 멈추고 프레임은 쌓아 둔다
+    public void pause() {
+        synchronized (queue) {
+            if (!closed) {
+                paused = true;
+            }
+        }
+    }
+
+    public SseArea area() {
+        return area;
+    }
+
+    public StatusFilter filter() {
+        return filter;
+    }
+
+    // 필터가 없으면 항상 true. 직전 상태를 모르면 조건 밖이었던 것으로 본다
+    public boolean admits(Long cafeId, int packed) {
+        if (filter == null) {
+            return true;
+        }
+        boolean matched = filter.matches(packed);
+        Boolean before = filterMatched.put(cafeId, matched);
+        return matched && !Boolean.TRUE.equals(before);
+    }
+
+    // 스냅샷으로 받은 현재 상태를 기준점으로 삼는다. 이미 라이브 업데이트로 정해진 값은 덮지 않는다
+    public void primeFilter(Long cafeId, int packed) {
+        if (filter != null) {
+            filterMatched.putIfAbsent(cafeId, filter.matches(packed));
+        }
+    }
+
+    // 발행 스레드는 큐에 넣기만 하고, 실제 전송은 executor에서 연결별로 한 번에 하나씩 수행
+    public boolean offer(SseFrame frame) {
+        synchronized (queue) {
+            if (closed) {
+                return false;
+            }
+            // 종료 중에는 새 프레임을 받지 않는다. 재접속하면 Last-Event-ID로 이어 받는다
+            if (finishing) {
+                return true;
+            }
+            if (throttle != null && frame.cafeId() != null) {
+                if (throttled.remove(frame.cafeId()) != null) {
+                    metrics.coalesced();
+                }
+                throttled.put(frame.cafeId(), frame);
+                scheduleFlushLocked();
+                return true;
+            }
+            if (!enqueueLocked(frame)) {
+                return false;
+            }
+            if (paused || draining) {
+                return true;
+            }
+            draining = true;
+        }
+        executor.execute(this::drain);
+        return true;
+    }
+
+    // false면 DISCONNECT 정책으로 연결을 닫았다
+    private boolean enqueueLocked(SseFrame frame) {
+        if (policy == SlowConsumerPolicy.COALESCE && frame.cafeId() != null && replacePending(frame)) {
+            metrics.coalesced();
+            return true;
+        }
+        if (queue.size() >= capacity) {
+            if (policy == SlowConsumerPolicy.DISCONNECT) {
+                log.debug("SSE 느린 구독자 연결 종료: cafeIds={}, queued={}", cafeIds, queue.size());
+                metrics.slowDisconnect();
+                closeLocked();
+                executor.execute(emitter::complete);
+                return false;
+            }
+            queue.pollFirst();
+            metrics.dequeued(1);
+            metrics.dropped();
+        }
+        queue.addLast(frame);
+        metrics.enqueued();
+        return true;
+    }
+
+    // 주기 안에 들어온 업데이트는 다음 flush 한 번으로 묶인다. 지연은 최대 interval(+휠 틱)로 제한된다
+    private void scheduleFlushLocked() {
+        if (paused || flushScheduled || throttled.isEmpty()) {
+            return;
+        }
+        flushScheduled = true;
+        throttle.wheel().schedule(this::flush, throttle.intervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        synchronized (queue) {
+            flushScheduled = false;
+            if (closed || paused || throttled.isEmpty()) {
+                return;
+            }
+            List<SseFrame> frames = new ArrayList<>(throttled.values());
+            throttled.clear();
+            SseFrame next = frames.size() == 1 ? frames.get(0) : SseFrame.merge("statuses", frames);
+            if (!enqueueLocked(next) || draining) {
+                return;
+            }
+            draining = true;
+        }
+        executor.execute(this::drain);
+    }
+
+    // leading 프레임들을 큐 맨 앞에 두고 전송을 시작한다.
+    // 대기 중인 상태 프레임 중 스냅샷(versions)과 같거나 오래된 것은 중복이므로 버린다.
+    public void resume(List<SseFrame> leading, Map<Long, Long> versions) {
+        synchronized (queue) {
+            if (closed || !paused) {
+                return;
+            }
+            paused = false;
+            for (Iterator<SseFrame> it = queue.iterator(); it.hasNext(); ) {
+                SseFrame pending = it.next();
+                Long snapshotVersion = pending.cafeId() == null ? null : versions.get(pending.cafeId());
+                if (snapshotVersion != null && pending.version() <= snapshotVersion) {
+                    it.remove();
+                    metrics.dequeued(1);
+                }
+            }
+            throttled.values().removeIf(pending -> {
+                Long snapshotVersion = versions.get(pending.cafeId());
+                return snapshotVersion != null && pending.version() <= snapshotVersion;
+            });
+            if (throttle != null) {
+                scheduleFlushLocked();
+            }
+            for (int i = leading.size() - 1; i >= 0; i--) {
+                queue.addFirst(leading.get(i));
+                metrics.enqueued();
+            }
+            if (draining || queue.isEmpty()) {
+                return;
+            }
+            draining = true;
+        }
+        executor.execute(this::drain);
+    }
+
+    // 이미 큐에 있는 프레임과 last까지 보낸 뒤 스트림을 닫는다. 묶어 두던 프레임은 버린다
+    public void finish(SseFrame last) {
+        synchronized (queue) {
+            if (closed || finishing) {
+                return;
+            }
+            finishing = true;
+            throttled.clear();
+            queue.addLast(last);
+            metrics.enqueued();
+            if (paused || draining) {
+                return;
+            }
+            draining = true;
+        }
+        executor.execute(this::drain);
+    }
+
+    public boolean isFinishing() {
+        synchronized (queue) {
+            return finishing;
+        }
+    }
+
+    public void expireWith(HashedTimingWheel.Timeout expiry) {
+        this.expiry = expiry;
+    }
+
+    public boolean isClosed() {
+        synchronized (queue) {
+            return closed;
+        }
+    }
+
+    public int queued() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    public void close() {
+        synchronized (queue) {
+            closeLocked();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            SseFrame next;
+            boolean complete = false;
+            synchronized (queue) {
+                next = paused ? null : queue.pollFirst();
+                if (next == null) {
+                    draining = false;
+                    // finish 뒤 큐를 다 비웠으면 여기서 스트림을 닫는다
+                    if (!finishing || paused || closed) {
+                        return;
+                    }
+                    closeLocked();
+                    complete = true;
+                } else {
+                    metrics.dequeued(1);
+                }
+            }
+            if (complete) {
+                emitter.complete();
+                return;
+            }
+            try {
+                emitter.send(next.payload());
+            } catch (Exception e) {
+                log.debug("SSE 전송 실패, 연결 종료: cafeIds={}, error={}", cafeIds, e.getMessage());
+                close();
+                emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    // 큐 용량이 작으므로 선형 탐색으로 충분
+    private boolean replacePending(SseFrame frame) {
+        for (Iterator<SseFrame> it = queue.iterator(); it.hasNext(); ) {
+            SseFrame pending = it.next();
+            if (frame.cafeId().equals(pending.cafeId()) && frame.name().equals(pending.name())) {
+                it.remove();
+                queue.addLast(frame);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void closeLocked() {
+        closed = true;
+        HashedTimingWheel.Timeout timeout = expiry;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        draining = false;
+        metrics.dequeued(queue.size());
+        queue.clear();
+        throttled.clear();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.cafestatus.status.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SseDeliveryMetrics {
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Counter dropped;
+    private final Counter coalesced;
+    private final Counter slowDisconnects;
+
+    public SseDeliveryMetrics(MeterRegistry meterRegistry, SlowConsumerPolicy policy) {
+        String policyName = policy.name().toLowerCase();
+        meterRegistry.gauge("sse.queue.depth", queueDepth);
+        this.dropped = meterRegistry.counter("sse.queue.dropped", "policy", policyName);
+        this.coalesced = meterRegistry.counter("sse.queue.coalesced", "policy", policyName);
+        this.slowDisconnects = meterRegistry.counter("sse.queue.disconnected", "policy", policyName);
+    }
+
+    void enqueued() {
+        queueDepth.incrementAndGet();
+    }
+
+    void dequeued(int count) {
+        queueDepth.addAndGet(-count);
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void coalesced() {
+        coalesced.increment();
+    }
+
+    void slowDisconnect() {
+        slowDisconnects.increment();
+    }
+
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.cafestatus.status.sse;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+// SSE 와이어 포맷으로 미리 인코딩된 불변 프레임. 같은 인스턴스를 모든 구독자에게 그대로 쓴다.
+public final class SseFrame {
+
+    private static final byte[] EVENT_PREFIX = "event:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATA_PREFIX = "\ndata:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FRAME_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MERGED_PREFIX = "{\"statuses\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MERGED_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    private final String id;
+    private final Long cafeId;
+    private final String name;
+    private final long version;
+    private final byte[] data;
+    private final byte[] bytes;
+    private final Set<DataWithMediaType> payload;
+
+    private SseFrame(String id, Long cafeId, String name, long version, byte[] data, byte[] bytes) {
+        this.id = id;
+        this.cafeId = cafeId;
+        this.name = name;
+        this.version = version;
+        this.data = data;
+        this.bytes = bytes;
+        // byte[] + text/plain 조합은 ByteArrayHttpMessageConverter가 변환 없이 그대로 쓴다
+        this.payload = Set.of(new DataWithMediaType(bytes, MediaType.TEXT_PLAIN));
+    }
+
+    // data는 한 줄짜리 JSON이어야 한다 (Jackson 기본 출력은 개행을 이스케이프한다)
+    // version은 상태의 updatedAt(epoch millis)으로, 스냅샷보다 오래된 대기 프레임을 걸러내는 데 쓴다
+    public static SseFrame event(Long cafeId, String name, long version, byte[] data) {
+        return event(null, cafeId, name, version, data);
+    }
+
+    // id가 있으면 "id:" 줄을 붙여 브라우저가 재접속 시 Last-Event-ID로 돌려주게 한다
+    public static SseFrame event(String id, Long cafeId, String name, long version, byte[] data) {
+        byte[] idBytes = id == null ? new byte[0] : ("id:" + id + "\n").getBytes(StandardCharsets.UTF_8);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[idBytes.length + EVENT_PREFIX.length + nameBytes.length + DATA_PREFIX.length
+                + data.length + FRAME_END.length];
+        int pos = 0;
+        pos = copy(idBytes, frame, pos);
+        pos = copy(EVENT_PREFIX, frame, pos);
+        pos = copy(nameBytes, frame, pos);
+        pos = copy(DATA_PREFIX, frame, pos);
+        pos = copy(data, frame, pos);
+        copy(FRAME_END, frame, pos);
+        return new SseFrame(id, cafeId, name, version, data, frame);
+    }
+
+    // 카페별 상태 프레임 여러 개를 {"statuses":[...]} 한 프레임으로 합친다. id는 가장 나중 프레임의 것을 쓴다
+    public static SseFrame merge(String name, List<SseFrame> frames) {
+        int length = MERGED_PREFIX.length + MERGED_SUFFIX.length + Math.max(0, frames.size() - 1);
+        String id = null;
+        for (SseFrame frame : frames) {
+            length += frame.data.length;
+            if (frame.id != null) {
+                id = frame.id;
+            }
+        }
+        byte[] data = new byte[length];
+        int pos = copy(MERGED_PREFIX, data, 0);
+        for (int i = 0; i < frames.size(); i++) {
+            if (i > 0) {
+                data[pos++] = ',';
+            }
+            pos = copy(frames.get(i).data, data, pos);
+        }
+        copy(MERGED_SUFFIX, data, pos);
+        return event(id, null, name, 0, data);
+    }
+
+    public static SseFrame control(String name, String data) {
+        return event(null, name, 0, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 브라우저 EventSource의 재접속 대기 시간(ms)을 바꾼다. 데이터가 없으므로 이벤트로 전달되지는 않는다
+    public static SseFrame retry(long millis) {
+        return new SseFrame(null, null, "", 0, new byte[0], ("retry:" + millis + "\n\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SseFrame comment(String text) {
+        return new SseFrame(null, null, "", 0, new byte[0], (":" + text + "\n\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Long cafeId() {
+        return cafeId;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+
+    public String asString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    Set<DataWithMediaType> payload() {
+        return payload;
+    }
+
+    private static int copy(byte[] src, byte[] dest, int pos) {
+        System.arraycopy(src, 0, dest, pos, src.length);
+        return pos + src.length;
+    }
+}
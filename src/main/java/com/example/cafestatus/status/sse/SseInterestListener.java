@@ -0,0 +1,36 @@
+package com.example.cafestatus.status.sse;
+
+import java.util.Collection;
+
+// 이 노드에 특정 카페의 첫 구독자가 생기거나 마지막 구독자가 사라질 때 알림을 받는다
+public interface SseInterestListener {
+
+    SseInterestListener NONE = new SseInterestListener() {
+        @Override
+        public void watched(Long cafeId) {
+        }
+
+        @Override
+        public void unwatched(Long cafeId) {
+        }
+    };
+
+    // 인덱스의 카페 키 compute 안에서 호출되므로 카운터 갱신 정도로 가볍게 유지해야 한다
+    void watched(Long cafeId);
+
+    void unwatched(Long cafeId);
+
+    // compute 밖에서 호출된다. 외부 구독(Redis 채널 등)을 현재 관심 상태에 맞춘다
+    default void sync(Collection<Long> cafeIds) {
+    }
+
+    // 영역 안에 새로 생긴 카페는 카페 ID로 미리 관심을 걸 수 없으므로 영역 구독 수로 따로 센다
+    default void areaWatched() {
+    }
+
+    default void areaUnwatched() {
+    }
+
+    default void syncAreas() {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.cafestatus.status.sse;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 구독/해지는 카페당 O(1) (배열 복사 없음), publish 시에는 약한 일관성 반복자로 바로 순회한다
+public class SseSubscriptionIndex {
+
+    private final Map<Long, Set<SseConnection>> byCafeId = new ConcurrentHashMap<>();
+    private final Map<String, SseConnection> byId = new ConcurrentHashMap<>();
+    private final SseInterestListener interest;
+
+    public SseSubscriptionIndex() {
+        this(SseInterestListener.NONE);
+    }
+
+    public SseSubscriptionIndex(SseInterestListener interest) {
+        this.interest = interest;
+    }
+
+    public void add(SseConnection connection) {
+        byId.put(connection.id(), connection);
+        addCafes(connection, connection.cafeIds());
+    }
+
+    // 살아 있는 연결의 구독 변경: 바뀐 카페 수만큼만 비용이 든다
+    public void addCafes(SseConnection connection, Collection<Long> cafeIds) {
+        for (Long cafeId : cafeIds) {
+            // 빈 집합 제거(remove)와 경합하지 않도록 같은 키의 compute 안에서 추가
+            byCafeId.compute(cafeId, (k, set) -> {
+                Set<SseConnection> target = set;
+                if (target == null) {
+                    target = ConcurrentHashMap.newKeySet();
+                    interest.watched(k);
+                }
+                target.add(connection);
+                return target;
+            });
+        }
+    }
+
+    public boolean remove(SseConnection connection) {
+        if (byId.remove(connection.id()) == null) {
+            return false;
+        }
+        removeCafes(connection, connection.cafeIds());
+        return true;
+    }
+
+    public void removeCafes(SseConnection connection, Collection<Long> cafeIds) {
+        for (Long cafeId : cafeIds) {
+            byCafeId.computeIfPresent(cafeId, (k, set) -> {
+                set.remove(connection);
+                if (!set.isEmpty()) {
+                    return set;
+                }
+                interest.unwatched(k);
+                return null;
+            });
+        }
+    }
+
+    public Set<SseConnection> subscribers(Long cafeId) {
+        return byCafeId.getOrDefault(cafeId, Set.of());
+    }
+
+    public SseConnection get(String connectionId) {
+        return byId.get(connectionId);
+    }
+
+    public Collection<SseConnection> connections() {
+        return byId.values();
+    }
+
+    public int connectionCount() {
+        return byId.size();
+    }
+
+    public int cafeCount() {
+        return byCafeId.size();
+    }
+}
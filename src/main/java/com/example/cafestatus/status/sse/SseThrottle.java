@@ -0,0 +1,5 @@
+package com.example.cafestatus.status.sse;
+
+// 연결별 상태 프레임을 카페마다 최신 값으로 모아 interval마다 한 프레임으로 내보낸다
+public record SseThrottle(HashedTimingWheel wheel, long intervalMs) {
+}
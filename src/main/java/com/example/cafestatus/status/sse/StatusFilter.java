@@ -0,0 +1,83 @@
+package com.example.cafestatus.status.sse;
+
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+
+import java.util.Locale;
+
+// "crowdLevel=RELAXED|NORMAL,party4=YES" 형태의 조건식. 쉼표는 AND, '|'는 같은 필드 안의 OR.
+// 한 번 컴파일해 packed 상태 바이트(256가지) 전체에 대한 참/거짓 비트표를 만들어 두고, 평가는 비트 하나만 본다
+public final class StatusFilter {
+
+    private static final String[] FIELDS = {"crowdlevel", "party2", "party3", "party4"};
+    private static final int[] SHIFTS = {6, 4, 2, 0};
+
+    private final String expression;
+    private final long[] accepted = new long[4];
+
+    private StatusFilter(String expression, int[] allowed) {
+        this.expression = expression;
+        for (int packed = 0; packed < 256; packed++) {
+            boolean match = true;
+            for (int f = 0; f < FIELDS.length && match; f++) {
+                match = (allowed[f] >>> ((packed >>> SHIFTS[f]) & 0b11) & 1) == 1;
+            }
+            if (match) {
+                accepted[packed >>> 6] |= 1L << (packed & 63);
+            }
+        }
+    }
+
+    public static StatusFilter parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("filter must not be blank");
+        }
+        // 필드별로 허용되는 ordinal 비트 (조건이 없는 필드는 전부 허용)
+        int[] allowed = {0b1111, 0b1111, 0b1111, 0b1111};
+        for (String clause : expression.split(",")) {
+            int eq = clause.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid filter clause: " + clause.trim());
+            }
+            int field = fieldIndex(clause.substring(0, eq).trim());
+            int mask = 0;
+            for (String value : clause.substring(eq + 1).split("\\|")) {
+                mask |= 1 << ordinal(field, value.trim());
+            }
+            allowed[field] &= mask;
+        }
+        return new StatusFilter(expression, allowed);
+    }
+
+    public boolean matches(int packed) {
+        return (accepted[(packed >>> 6) & 0b11] >>> (packed & 63) & 1L) == 1L;
+    }
+
+    public String expression() {
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static int fieldIndex(String name) {
+        String normalized = name.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].equals(normalized)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown filter field: " + name);
+    }
+
+    private static int ordinal(int field, String value) {
+        try {
+            String normalized = value.toUpperCase(Locale.ROOT);
+            return field == 0 ? CrowdLevel.valueOf(normalized).ordinal() : Availability.valueOf(normalized).ordinal();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown filter value: " + value);
+        }
+    }
+}
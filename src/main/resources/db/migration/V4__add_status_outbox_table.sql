@@ -0,0 +1,17 @@
+CREATE TABLE status_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cafe_id BIGINT NOT NULL,
+    crowd_level VARCHAR(20) NOT NULL,
+    party2 VARCHAR(10) NOT NULL,
+    party3 VARCHAR(10) NOT NULL,
+    party4 VARCHAR(10) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL,
+    claimed_by VARCHAR(36),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_status_outbox_available_at ON status_outbox (available_at);
+CREATE INDEX idx_status_outbox_claimed_by ON status_outbox (claimed_by);
@@ -180,6 +180,24 @@ class CafeControllerTest {
                 .andExpect(jsonPath("$.length()").value(1));
     }
 
+    @Test
+    @DisplayName("near 조회 결과는 가까운 순이고 각 카페까지의 거리를 담는다")
+    void near_sortedByDistance_withDistance() throws Exception {
+        String token = authHelper.signUpAndGetToken();
+        createCafeWithToken(token, "거리먼카페", 37.5700, 126.9800);
+        createCafeWithToken(token, "거리가까운카페", 37.5666, 126.9781);
+
+        mockMvc.perform(get("/api/cafes/near")
+                        .param("lat", "37.5665")
+                        .param("lng", "126.9780")
+                        .param("radiusMeters", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("거리가까운카페"))
+                .andExpect(jsonPath("$[0].distanceMeters", lessThan(20.0)))
+                .andExpect(jsonPath("$[1].name").value("거리먼카페"))
+                .andExpect(jsonPath("$[1].distanceMeters", allOf(greaterThan(400.0), lessThan(1000.0))));
+    }
+
     @Test
     @DisplayName("페이지네이션이 적용된 카페 목록을 반환한다")
     void list_withPagination() throws Exception {
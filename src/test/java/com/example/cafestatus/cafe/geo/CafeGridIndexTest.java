@@ -0,0 +1,109 @@
+package com.example.cafestatus.cafe.geo;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CafeGridIndex 단위 테스트")
+class CafeGridIndexTest {
+
+    @Test
+    @DisplayName("반경 안의 카페만 돌려주고 경계 상자 모서리의 카페는 거른다")
+    void findWithin_filtersByRadius() {
+        CafeGridIndex index = CafeGridIndex.of(0.01, List.of(
+                new CafeLocation(1L, 37.5665, 126.9780),
+                new CafeLocation(2L, 37.5700, 126.9800),
+                // 위도/경도 차이는 각각 반경 안이지만 대각선 거리는 반경 밖
+                new CafeLocation(3L, 37.5665 + 0.0088, 126.9780 + 0.0110),
+                new CafeLocation(4L, 35.1796, 129.0756)
+        ));
+
+        List<CafeLocation> result = index.findWithin(37.5665, 126.9780, 1000);
+
+        assertThat(result).extracting(CafeLocation::cafeId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("추가/삭제가 바로 검색에 반영되고 같은 카페를 다시 넣어도 중복되지 않는다")
+    void putAndRemove() {
+        CafeGridIndex index = new CafeGridIndex(0.01);
+        CafeLocation cafe = new CafeLocation(1L, 37.5665, 126.9780);
+
+        index.put(cafe);
+        index.put(cafe);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findWithin(37.5665, 126.9780, 100)).containsExactly(cafe);
+
+        assertThat(index.remove(cafe)).isTrue();
+        assertThat(index.remove(cafe)).isFalse();
+        assertThat(index.findWithin(37.5665, 126.9780, 100)).isEmpty();
+        assertThat(index.cellCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("격자 검색 결과는 전체 선형 탐색과 같다")
+    void findWithin_matchesLinearScan() {
+        Random random = new Random(42);
+        List<CafeLocation> cafes = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            cafes.add(new CafeLocation(id, 37.4 + random.nextDouble() * 0.3, 126.8 + random.nextDouble() * 0.4));
+        }
+        CafeGridIndex index = CafeGridIndex.of(0.01, cafes);
+
+        for (int i = 0; i < 20; i++) {
+            double lat = 37.4 + random.nextDouble() * 0.3;
+            double lng = 126.8 + random.nextDouble() * 0.4;
+            double radius = 200 + random.nextDouble() * 5000;
+            List<Long> expected = cafes.stream()
+                    .filter(c -> CafeGridIndex.haversineMeters(lat, lng, c.latitude(), c.longitude()) <= radius)
+                    .map(CafeLocation::cafeId)
+                    .toList();
+
+            assertThat(index.findWithin(lat, lng, radius)).extracting(CafeLocation::cafeId)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("가까운 순 상위 limit개와 거리는 전체 정렬 결과와 같다")
+    void findNearest_matchesFullSort() {
+        Random random = new Random(7);
+        List<CafeLocation> cafes = new ArrayList<>();
+        // 밀집 상권: 1km 반경 안에 수천 개
+        for (long id = 1; id <= 5000; id++) {
+            cafes.add(new CafeLocation(id, 37.495 + random.nextDouble() * 0.01, 127.022 + random.nextDouble() * 0.012));
+        }
+        CafeGridIndex index = CafeGridIndex.of(0.01, cafes);
+        double lat = 37.5;
+        double lng = 127.028;
+
+        List<Long> expected = cafes.stream()
+                .filter(c -> CafeGridIndex.haversineMeters(lat, lng, c.latitude(), c.longitude()) <= 500)
+                .sorted(Comparator.comparingDouble(c -> CafeGridIndex.haversineMeters(lat, lng, c.latitude(), c.longitude())))
+                .limit(50)
+                .map(CafeLocation::cafeId)
+                .toList();
+
+        List<CafeDistance> result = index.findNearest(lat, lng, 500, 50);
+
+        assertThat(result).extracting(CafeDistance::cafeId).containsExactlyElementsOf(expected);
+        assertThat(result).allSatisfy(d -> assertThat(d.distanceMeters()).isLessThanOrEqualTo(500));
+        assertThat(result).isSortedAccordingTo(Comparator.comparingDouble(CafeDistance::distanceMeters));
+    }
+
+    @Test
+    @DisplayName("셀 크기가 0 이하이면 예외가 발생한다")
+    void invalidCellDegrees() {
+        assertThatThrownBy(() -> new CafeGridIndex(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
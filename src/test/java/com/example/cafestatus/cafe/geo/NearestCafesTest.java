@@ -0,0 +1,77 @@
+package com.example.cafestatus.cafe.geo;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NearestCafes 단위 테스트")
+class NearestCafesTest {
+
+    @Test
+    @DisplayName("가까운 순으로 limit개만 남긴다")
+    void keepsClosest() {
+        NearestCafes nearest = new NearestCafes(3);
+        nearest.offer(1L, 500);
+        nearest.offer(2L, 100);
+        nearest.offer(3L, 900);
+        nearest.offer(4L, 50);
+        nearest.offer(5L, 300);
+
+        assertThat(nearest.toSortedList()).containsExactly(
+                new CafeDistance(4L, 50),
+                new CafeDistance(2L, 100),
+                new CafeDistance(5L, 300));
+    }
+
+    @Test
+    @DisplayName("후보가 limit보다 적으면 전부 정렬해 돌려준다")
+    void fewerThanLimit() {
+        NearestCafes nearest = new NearestCafes(Integer.MAX_VALUE);
+        nearest.offer(1L, 30);
+        nearest.offer(2L, 10);
+
+        assertThat(nearest.toSortedList()).extracting(CafeDistance::cafeId).containsExactly(2L, 1L);
+        assertThat(new NearestCafes(5).toSortedList()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("거리가 같으면 ID가 작은 카페를 남긴다")
+    void tieBreaksById() {
+        NearestCafes nearest = new NearestCafes(2);
+        nearest.offer(9L, 0);
+        nearest.offer(7L, 0);
+        nearest.offer(8L, 0);
+
+        assertThat(nearest.toSortedList()).extracting(CafeDistance::cafeId).containsExactly(7L, 8L);
+    }
+
+    @Test
+    @DisplayName("무작위 입력에서 전체 정렬 후 자른 결과와 같다")
+    void matchesFullSort() {
+        Random random = new Random(42);
+        double[] distances = new double[10_000];
+        NearestCafes nearest = new NearestCafes(200);
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = random.nextDouble() * 3000;
+            nearest.offer(i, distances[i]);
+        }
+        double[] sorted = distances.clone();
+        Arrays.sort(sorted);
+
+        assertThat(nearest.toSortedList()).extracting(CafeDistance::distanceMeters)
+                .containsExactly(Arrays.stream(sorted, 0, 200).boxed().toArray(Double[]::new));
+    }
+
+    @Test
+    @DisplayName("limit이 1보다 작으면 예외가 발생한다")
+    void invalidLimit() {
+        assertThatThrownBy(() -> new NearestCafes(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.cafestatus.cafe.repository;
 
+import com.example.cafestatus.cafe.dto.CafeLocation;
 import com.example.cafestatus.cafe.entity.Cafe;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,4 +32,15 @@ class CafeRepositoryTest {
         assertThat(result).extracting(Cafe::getName).contains("A", "B");
         assertThat(result).extracting(Cafe::getName).doesNotContain("C");
     }
+
+    @Test
+    @DisplayName("좌표 전용 조회는 엔티티 없이 ID와 위경도만 돌려준다")
+    void findLocationsInBoundingBox_returnsCoordinatesOnly() {
+        Cafe a = cafeRepository.save(new Cafe("A", 37.5665, 126.9780, null, null));
+        cafeRepository.save(new Cafe("C", 35.1796, 129.0756, null, null));
+
+        List<CafeLocation> result = cafeRepository.findLocationsInBoundingBox(37.0, 38.0, 126.0, 127.5);
+
+        assertThat(result).containsExactly(new CafeLocation(a.getId(), 37.5665, 126.9780));
+    }
 }
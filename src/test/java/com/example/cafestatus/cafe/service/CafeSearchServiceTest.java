@@ -0,0 +1,126 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeInfo;
+import com.example.cafestatus.cafe.dto.CafeMapItemResponse;
+import com.example.cafestatus.cafe.dto.NearbyCafe;
+import com.example.cafestatus.cafe.entity.Cafe;
+import com.example.cafestatus.cafe.service.CafeGeoCache.NearbyResult;
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import com.example.cafestatus.status.service.CafeStatusCacheService;
+import com.example.cafestatus.status.service.CafeStatusLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CafeSearchService 단위 테스트")
+class CafeSearchServiceTest {
+
+    @Mock
+    CafeService cafeService;
+
+    @Mock
+    CafeStatusCacheService cacheService;
+
+    @Mock
+    CafeStatusLoader statusLoader;
+
+    @Mock
+    CafeGeoCache geoCache;
+
+    CafeSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new CafeSearchService(cafeService, cacheService, statusLoader, geoCache);
+    }
+
+    @Test
+    @DisplayName("GEO 캐시가 답하면 카페 조회 SQL 없이 상태 미스만 로더로 채운다")
+    void redisPath() {
+        Instant now = Instant.now();
+        CafeInfo near = new CafeInfo(1L, "가까운 카페", 37.5665, 126.9780, "서울시", now);
+        CafeInfo far = new CafeInfo(2L, "먼 카페", 37.5700, 126.9800, null, now);
+        StatusCacheModel cached = status(1L, now);
+        StatusCacheModel loaded = status(2L, now);
+        given(geoCache.findNearby(37.5665, 126.9780, 1000, 20))
+                .willReturn(Optional.of(new NearbyResult(
+                        List.of(new NearbyCafe(near, 0.04), new NearbyCafe(far, 412.3456)), Map.of(1L, cached))));
+        given(statusLoader.loadAll(List.of(2L))).willReturn(Map.of(2L, loaded));
+
+        List<CafeMapItemResponse> result = searchService.findNearbyWithStatus(37.5665, 126.9780, 1000, 20);
+
+        assertThat(result).extracting(CafeMapItemResponse::id).containsExactly(1L, 2L);
+        assertThat(result).extracting(CafeMapItemResponse::name).containsExactly("가까운 카페", "먼 카페");
+        assertThat(result).extracting(CafeMapItemResponse::distanceMeters).containsExactly(0.0, 412.3);
+        assertThat(result.get(1).status().crowdLevel()).isEqualTo("NORMAL");
+        verify(statusLoader).refreshAheadOfExpiry(eq(cached), any(Instant.class));
+        verify(cafeService, never()).findNearest(anyDouble(), anyDouble(), anyDouble(), anyInt());
+        verify(cafeService, never()).findAllById(any());
+        verifyNoInteractions(cacheService);
+    }
+
+    @Test
+    @DisplayName("GEO 캐시가 비어 있으면 DB 경로로 거리순 카페를 읽고 상태 캐시를 조회한다")
+    void databaseFallback() {
+        Instant now = Instant.now();
+        Cafe first = cafe(1L, "첫째");
+        Cafe second = cafe(2L, "둘째");
+        given(geoCache.findNearby(37.5665, 126.9780, 1000, 20)).willReturn(Optional.empty());
+        given(cafeService.findNearest(37.5665, 126.9780, 1000, 20)).willReturn(List.of(
+                new CafeDistance(2L, 0),
+                new CafeDistance(3L, 14.1),
+                new CafeDistance(1L, 28.26)));
+        // 3번은 인덱스에만 남아 있는(삭제된) 카페
+        given(cafeService.findAllById(List.of(2L, 3L, 1L))).willReturn(List.of(first, second));
+        given(cacheService.getMultiple(List.of(2L, 1L))).willReturn(Map.of(2L, status(2L, now), 1L, status(1L, now)));
+
+        List<CafeMapItemResponse> result = searchService.findNearbyWithStatus(37.5665, 126.9780, 1000, 20);
+
+        assertThat(result).extracting(CafeMapItemResponse::id).containsExactly(2L, 1L);
+        assertThat(result).extracting(CafeMapItemResponse::distanceMeters).containsExactly(0.0, 28.3);
+        verify(statusLoader, never()).loadAll(any());
+    }
+
+    @Test
+    @DisplayName("limit 범위를 벗어나면 예외가 발생한다")
+    void invalidLimit() {
+        assertThatThrownBy(() -> searchService.findNearbyWithStatus(37.5665, 126.9780, 1000, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(geoCache);
+    }
+
+    private static StatusCacheModel status(Long cafeId, Instant now) {
+        return new StatusCacheModel(cafeId, CrowdLevel.NORMAL, Availability.YES, Availability.MAYBE, Availability.NO,
+                now, now.plusSeconds(3600), null);
+    }
+
+    private static Cafe cafe(Long id, String name) {
+        Cafe cafe = new Cafe(name, 37.5665, 126.9780, null, null);
+        ReflectionTestUtils.setField(cafe, "id", id);
+        return cafe;
+    }
+}
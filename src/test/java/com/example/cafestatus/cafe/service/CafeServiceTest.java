@@ -3,6 +3,8 @@ package com.example.cafestatus.cafe.service;
 import com.example.cafestatus.auth.entity.Owner;
 import com.example.cafestatus.auth.repository.OwnerRepository;
 import com.example.cafestatus.cafe.dto.CafeCreateRequest;
+import com.example.cafestatus.cafe.dto.CafeInfo;
+import com.example.cafestatus.cafe.dto.CafeLocation;
 import com.example.cafestatus.cafe.entity.Cafe;
 import com.example.cafestatus.cafe.repository.CafeRepository;
 import com.example.cafestatus.common.exception.ForbiddenException;
@@ -14,13 +16,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("CafeService 단위 테스트")
@@ -32,11 +37,17 @@ class CafeServiceTest {
     @Mock
     OwnerRepository ownerRepository;
 
+    @Mock
+    NearbyCafeLocator nearbyLocator;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     CafeService cafeService;
 
     @BeforeEach
     void setUp() {
-        cafeService = new CafeService(cafeRepository, ownerRepository);
+        cafeService = new CafeService(cafeRepository, ownerRepository, nearbyLocator, eventPublisher);
     }
 
     @Nested
@@ -57,6 +68,7 @@ class CafeServiceTest {
 
             assertThat(result.getName()).isEqualTo("테스트카페");
             assertThat(result.getOwner()).isEqualTo(owner);
+            verify(eventPublisher).publishEvent(new CafeChangedEvent(CafeInfo.from(savedCafe), CafeChangedEvent.Change.CREATED));
         }
 
         @Test
@@ -121,6 +133,15 @@ class CafeServiceTest {
     @DisplayName("근처 카페 검색")
     class FindNearby {
 
+        @Test
+        @DisplayName("좌표 검색은 DB 조회 없이 locator 결과를 그대로 돌려준다")
+        void delegatesToLocator() {
+            List<CafeLocation> found = List.of(new CafeLocation(1L, 37.5666, 126.9781));
+            given(nearbyLocator.findWithin(37.5665, 126.9780, 500)).willReturn(found);
+
+            assertThat(cafeService.findNearby(37.5665, 126.9780, 500)).isEqualTo(found);
+        }
+
         @Test
         @DisplayName("반경이 0 이하이면 예외가 발생한다")
         void invalidRadiusZero() {
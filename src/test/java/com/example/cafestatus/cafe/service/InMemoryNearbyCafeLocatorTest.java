@@ -0,0 +1,96 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeInfo;
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import com.example.cafestatus.cafe.repository.CafeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryNearbyCafeLocator 단위 테스트")
+class InMemoryNearbyCafeLocatorTest {
+
+    private static final double LAT = 37.5665;
+    private static final double LNG = 126.9780;
+
+    @Mock
+    CafeRepository cafeRepository;
+
+    InMemoryNearbyCafeLocator locator;
+
+    @BeforeEach
+    void setUp() {
+        locator = new InMemoryNearbyCafeLocator(cafeRepository, new SimpleMeterRegistry(), 0.01);
+    }
+
+    @Test
+    @DisplayName("아직 커밋 전인 생성은 재적재 스냅샷에 없어도 인덱스에 남고, 롤백되면 빠진다")
+    void uncommittedCreate_survivesRebuild() {
+        locator.onAdded(event(3L, 0.0001, CafeChangedEvent.Change.CREATED));
+        given(cafeRepository.findAllLocations()).willReturn(List.of(location(1L, 0), location(2L, 0.0002)));
+
+        locator.rebuild();
+
+        assertThat(ids(locator.findWithin(LAT, LNG, 1000))).containsExactlyInAnyOrder(1L, 2L, 3L);
+
+        locator.onCreateRolledBack(event(3L, 0.0001, CafeChangedEvent.Change.CREATED));
+
+        assertThat(ids(locator.findWithin(LAT, LNG, 1000))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("스냅샷을 읽는 동안 커밋된 삭제는 바꿔 끼운 인덱스에 유령으로 남지 않는다")
+    void removeDuringRebuild_notResurrected() {
+        given(cafeRepository.findAllLocations()).willAnswer(invocation -> {
+            List<CafeLocation> snapshot = List.of(location(1L, 0.0002), location(2L, 0));
+            locator.onRemoved(event(2L, 0, CafeChangedEvent.Change.DELETED));
+            return snapshot;
+        });
+
+        locator.rebuild();
+
+        assertThat(locator.findNearest(LAT, LNG, 1000, 1))
+                .extracting(CafeDistance::cafeId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("스냅샷을 읽는 동안 생긴 카페는 바꿔 끼운 인덱스에 다시 넣는다")
+    void createDuringRebuild_replayed() {
+        given(cafeRepository.findAllLocations()).willAnswer(invocation -> {
+            List<CafeLocation> snapshot = List.of(location(1L, 0));
+            CafeChangedEvent created = event(2L, 0.0001, CafeChangedEvent.Change.CREATED);
+            locator.onAdded(created);
+            locator.onCreateCommitted(created);
+            return snapshot;
+        });
+
+        locator.rebuild();
+
+        assertThat(ids(locator.findWithin(LAT, LNG, 1000))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    private static List<Long> ids(List<CafeLocation> locations) {
+        return locations.stream().map(CafeLocation::cafeId).toList();
+    }
+
+    private static CafeLocation location(Long cafeId, double latOffset) {
+        return new CafeLocation(cafeId, LAT + latOffset, LNG);
+    }
+
+    private static CafeChangedEvent event(Long cafeId, double latOffset, CafeChangedEvent.Change change) {
+        return new CafeChangedEvent(new CafeInfo(cafeId, "카페", LAT + latOffset, LNG, null, Instant.now()), change);
+    }
+}
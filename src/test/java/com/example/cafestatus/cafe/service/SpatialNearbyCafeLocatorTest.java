@@ -0,0 +1,91 @@
+package com.example.cafestatus.cafe.service;
+
+import com.example.cafestatus.cafe.dto.CafeDistance;
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import com.example.cafestatus.cafe.repository.CafeDistanceView;
+import com.example.cafestatus.cafe.repository.CafeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SpatialNearbyCafeLocator 단위 테스트")
+class SpatialNearbyCafeLocatorTest {
+
+    @Mock
+    CafeRepository cafeRepository;
+
+    @Mock
+    DataSource dataSource;
+
+    @Mock
+    Connection connection;
+
+    @Mock
+    DatabaseMetaData metaData;
+
+    @Test
+    @DisplayName("MySQL이면 공간 인덱스 쿼리 결과를 DB가 정렬한 순서와 거리 그대로 돌려준다")
+    void mysql_usesSpatialQuery() throws Exception {
+        givenDatabase("MySQL");
+        List<CafeDistanceView> rows = List.of(row(2L, 14.1), row(1L, 477.9));
+        given(cafeRepository.findNearestBySpatialIndex(eq(37.5665), eq(126.9780), eq(1000.0),
+                anyDouble(), anyDouble(), anyDouble(), anyDouble(), eq(2)))
+                .willReturn(rows);
+
+        List<CafeDistance> result = new SpatialNearbyCafeLocator(cafeRepository, dataSource)
+                .findNearest(37.5665, 126.9780, 1000, 2);
+
+        assertThat(result).extracting(CafeDistance::cafeId).containsExactly(2L, 1L);
+        assertThat(result).extracting(CafeDistance::distanceMeters).containsExactly(14.1, 477.9);
+        verify(cafeRepository, never()).findLocationsInBoundingBox(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("H2처럼 공간 컬럼이 없는 DB면 위경도 범위 쿼리로 대체하고 거리순으로 자른다")
+    void h2_fallsBackToBoundingBox() throws Exception {
+        givenDatabase("H2");
+        given(cafeRepository.findLocationsInBoundingBox(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .willReturn(List.of(
+                        new CafeLocation(1L, 37.5700, 126.9800),
+                        new CafeLocation(2L, 37.5666, 126.9781),
+                        new CafeLocation(3L, 37.5600, 126.9700)));
+
+        List<CafeDistance> result = new SpatialNearbyCafeLocator(cafeRepository, dataSource)
+                .findNearest(37.5665, 126.9780, 1000, 2);
+
+        assertThat(result).extracting(CafeDistance::cafeId).containsExactly(2L, 1L);
+        assertThat(result.get(0).distanceMeters()).isLessThan(result.get(1).distanceMeters());
+        verify(cafeRepository, never()).findNearestBySpatialIndex(anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyInt());
+    }
+
+    private void givenDatabase(String productName) throws Exception {
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.getMetaData()).willReturn(metaData);
+        given(metaData.getDatabaseProductName()).willReturn(productName);
+    }
+
+    private static CafeDistanceView row(Long id, double distance) {
+        CafeDistanceView view = mock(CafeDistanceView.class);
+        given(view.getCafeId()).willReturn(id);
+        given(view.getDistance()).willReturn(distance);
+        return view;
+    }
+}
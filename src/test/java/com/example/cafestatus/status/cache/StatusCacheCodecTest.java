@@ -0,0 +1,154 @@
+package com.example.cafestatus.status.cache;
+
+import com.example.cafestatus.status.dto.CafeStatusSseEvent;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StatusCacheCodec 단위 테스트")
+class StatusCacheCodecTest {
+
+    ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    StatusCacheCodec codec = new StatusCacheCodec(objectMapper);
+
+    Instant updatedAt = Instant.ofEpochMilli(1_700_000_000_123L);
+    StatusCacheModel model = new StatusCacheModel(
+            42L, CrowdLevel.FULL, Availability.NO, Availability.MAYBE, Availability.YES,
+            updatedAt, updatedAt.plusSeconds(1800), null
+    );
+
+    @Test
+    @DisplayName("캐시 모델은 Redis 만료 시각과 함께 26바이트로 인코딩되고 그대로 복원된다")
+    void model_roundTrip() {
+        Instant cachedUntil = updatedAt.plusSeconds(1800);
+
+        byte[] bytes = codec.encodeModel(model, cachedUntil);
+
+        assertThat(bytes).hasSize(26);
+        assertThat(codec.decodeModel(42L, bytes)).isEqualTo(new StatusCacheModel(
+                42L, CrowdLevel.FULL, Availability.NO, Availability.MAYBE, Availability.YES,
+                updatedAt, updatedAt.plusSeconds(1800), cachedUntil
+        ));
+    }
+
+    @Test
+    @DisplayName("무효화 메시지는 cafeId당 8바이트로 인코딩된다")
+    void invalidation_roundTrip() {
+        byte[] bytes = codec.encodeInvalidations(List.of(42L, 7L));
+
+        assertThat(bytes).hasSize(16);
+        assertThat(codec.decodeInvalidations(bytes)).containsExactly(42L, 7L);
+        assertThatThrownBy(() -> codec.decodeInvalidations(new byte[]{1, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("배치 메시지는 이벤트당 41바이트로 인코딩되고 순서대로 복원된다")
+    void batch_roundTrip() {
+        StatusCacheModel other = new StatusCacheModel(
+                7L, CrowdLevel.RELAXED, Availability.YES, Availability.YES, Availability.NO,
+                updatedAt, updatedAt.plusSeconds(1800), null
+        );
+        List<StatusEvent> events = List.of(
+                new StatusEvent(new StatusEventId(1_700_000_000_200L, 3), model),
+                new StatusEvent(null, other)
+        );
+
+        byte[] bytes = codec.encodeBatch(events);
+
+        assertThat(bytes).hasSize(5 + 41 * 2);
+        assertThat(codec.decodeEvents(bytes)).isEqualTo(events);
+    }
+
+    @Test
+    @DisplayName("decodeEvents는 단건 이벤트도 읽는다")
+    void decodeEvents_single() {
+        StatusEvent event = new StatusEvent(new StatusEventId(1L, 0), model);
+
+        assertThat(codec.decodeEvents(codec.encodeEvent(event))).containsExactly(event);
+    }
+
+    @Test
+    @DisplayName("배치 길이가 개수와 맞지 않으면 예외가 발생한다")
+    void batch_truncated() {
+        byte[] bytes = codec.encodeBatch(List.of(new StatusEvent(null, model)));
+
+        assertThatThrownBy(() -> codec.decodeEvents(Arrays.copyOf(bytes, bytes.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("V1 포맷(만료 시각 없음)도 읽을 수 있다")
+    void model_v1() {
+        byte[] v2 = codec.encodeModel(model, updatedAt);
+        byte[] v1 = Arrays.copyOf(v2, 18);
+        v1[0] = StatusCacheCodec.MODEL_V1;
+
+        assertThat(codec.decodeModel(42L, v1)).isEqualTo(model);
+    }
+
+    @Test
+    @DisplayName("Pub/Sub 이벤트는 cafeId를 포함해 복원된다")
+    void event_roundTrip() {
+        byte[] bytes = codec.encodeEvent(new StatusEvent(null, model));
+
+        assertThat(bytes).hasSize(26);
+        assertThat(codec.decodeEvent(bytes)).isEqualTo(new StatusEvent(null, model));
+    }
+
+    @Test
+    @DisplayName("이벤트 ID가 있으면 42바이트 V2 포맷으로 ID까지 복원된다")
+    void event_withId_roundTrip() {
+        StatusEvent event = new StatusEvent(new StatusEventId(1_700_000_000_200L, 3), model);
+
+        byte[] bytes = codec.encodeEvent(event);
+
+        assertThat(bytes).hasSize(42);
+        assertThat(codec.decodeEvent(bytes)).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("이전 버전이 저장한 JSON 캐시 값도 읽을 수 있다")
+    void model_legacyJson() {
+        String json = """
+                {"cafeId":42,"crowdLevel":"FULL","party2":"NO","party3":"MAYBE","party4":"YES",
+                 "updatedAt":"2023-11-14T22:13:20.123Z","expiresAt":"2023-11-14T22:43:20.123Z"}
+                """;
+
+        StatusCacheModel decoded = codec.decodeModel(42L, json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(decoded).isEqualTo(model);
+    }
+
+    @Test
+    @DisplayName("이전 버전이 발행한 JSON 이벤트도 읽을 수 있다")
+    void event_legacyJson() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(new CafeStatusSseEvent(42L, model.toSummary(updatedAt)));
+
+        assertThat(codec.decodeEvent(json)).isEqualTo(new StatusEvent(null, model));
+    }
+
+    @Test
+    @DisplayName("알 수 없는 버전은 예외가 발생한다")
+    void unknownVersion() {
+        byte[] bytes = codec.encodeModel(model, updatedAt);
+        bytes[0] = 0x7F;
+
+        assertThatThrownBy(() -> codec.decodeModel(42L, bytes))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.cafestatus.status.controller;
 
 import com.example.cafestatus.cafe.dto.CafeCreateRequest;
+import com.example.cafestatus.status.dto.SseSubscriptionUpdateRequest;
 import com.example.cafestatus.status.dto.UpdateCafeStatusRequest;
 import com.example.cafestatus.status.entity.Availability;
 import com.example.cafestatus.status.entity.CrowdLevel;
+import com.example.cafestatus.status.service.StatusSseRegistry;
 import com.example.cafestatus.support.TestAuthHelper;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,8 +17,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,6 +37,9 @@ public class CafeStatusFlowTest {
 
     @Autowired MockMvc mockMvc;
     @Autowired ObjectMapper objectMapper;
+    @Autowired StatusSseRegistry sseRegistry;
+
+    private static final Pattern CONNECTION_ID = Pattern.compile("\"connectionId\":\"([^\"]+)\"");
 
     TestAuthHelper authHelper;
 
@@ -35,6 +48,11 @@ public class CafeStatusFlowTest {
         authHelper = new TestAuthHelper(mockMvc, objectMapper);
     }
 
+    @AfterEach
+    void closeStreams() {
+        sseRegistry.drain(200, 0, 0);
+    }
+
     @Test
     @DisplayName("매장이 JWT로 상태를 업데이트하면 손님 조회에서 동일한 값이 나온다")
     void ownerUpdates_thenCustomerGets() throws Exception {
@@ -119,6 +137,87 @@ public class CafeStatusFlowTest {
                 .andExpect(jsonPath("$.code").value("NOT_FOUND"));
     }
 
+    @Test
+    @DisplayName("사장은 자기 카페의 시청자 수를 조회하고, 다른 사장은 403이다")
+    void viewers_ownerOnly() throws Exception {
+        String token1 = authHelper.signUpAndGetToken();
+        long cafeId = createCafe(token1, "카페시청자", 37.5665, 126.9780);
+        String token2 = authHelper.signUpAndGetToken();
+
+        mockMvc.perform(get("/api/owner/cafes/{id}/viewers", cafeId)
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cafeId").value((int) cafeId))
+                .andExpect(jsonPath("$.viewers").value(0));
+
+        mockMvc.perform(get("/api/owner/cafes/{id}/viewers", cafeId)
+                        .header("Authorization", "Bearer " + token2))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("connected 이벤트의 connectionId로 열린 스트림의 구독 카페를 바꾸면 시청자 수도 바뀐다")
+    void updateStream_addsAndRemovesCafes() throws Exception {
+        String token = authHelper.signUpAndGetToken();
+        long first = createCafe(token, "카페구독1", 37.5665, 126.9780);
+        long second = createCafe(token, "카페구독2", 37.5666, 126.9781);
+        long third = createCafe(token, "카페구독3", 37.5667, 126.9782);
+        String connectionId = openStream(first + "," + second);
+
+        mockMvc.perform(patch("/api/cafes/status/stream/{connectionId}", connectionId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SseSubscriptionUpdateRequest(List.of(second, third), List.of(first)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.connectionId").value(connectionId))
+                .andExpect(jsonPath("$.cafeIds", contains((int) second, (int) third)));
+
+        expectViewers(token, first, 0);
+        expectViewers(token, second, 1);
+        expectViewers(token, third, 1);
+    }
+
+    @Test
+    @DisplayName("구독 변경 후 카페 수가 상한을 넘으면 400이고 기존 구독은 그대로다")
+    void updateStream_overCafeIdLimit_rejectedWithoutChanges() throws Exception {
+        String connectionId = openStream("1,2");
+        List<Long> tooMany = LongStream.rangeClosed(3, 202).boxed().toList();
+
+        mockMvc.perform(patch("/api/cafes/status/stream/{connectionId}", connectionId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SseSubscriptionUpdateRequest(tooMany, List.of(1L)))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/cafes/status/stream/{connectionId}", connectionId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SseSubscriptionUpdateRequest(List.of(3L), List.of(1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cafeIds", contains(2, 3)));
+    }
+
+    // 클라이언트처럼 스트림의 connected 이벤트에서 connectionId를 읽는다 (전송은 별도 스레드라 잠시 기다린다)
+    private String openStream(String cafeIds) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/cafes/status/stream").param("cafeIds", cafeIds))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            Matcher matcher = CONNECTION_ID.matcher(result.getResponse().getContentAsString());
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("connected 이벤트를 받지 못했다");
+    }
+
+    private void expectViewers(String token, long cafeId, int viewers) throws Exception {
+        mockMvc.perform(get("/api/owner/cafes/{id}/viewers", cafeId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.viewers").value(viewers));
+    }
+
     private long createCafe(String token, String name, double lat, double lng) throws Exception {
         CafeCreateRequest req = new CafeCreateRequest(name, lat, lng, null);
 
@@ -0,0 +1,61 @@
+package com.example.cafestatus.status.controller;
+
+import com.example.cafestatus.status.service.StatusSseRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// X-Forwarded-For는 서블릿 컨테이너(RemoteIpValve)가 풀므로 MockMvc가 아닌 실제 포트로 요청한다
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "sse.admission.max-per-client=1")
+@DisplayName("SSE 입장 제어 클라이언트 식별 테스트")
+class StatusSseAdmissionTest {
+
+    @LocalServerPort int port;
+    @Autowired StatusSseRegistry sseRegistry;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<InputStream> streams = new ArrayList<>();
+
+    @AfterEach
+    void closeStreams() throws IOException {
+        sseRegistry.drain(200, 0, 0);
+        for (InputStream stream : streams) {
+            stream.close();
+        }
+    }
+
+    @Test
+    @DisplayName("로드밸런서가 붙인 X-Forwarded-For의 클라이언트 IP별로 연결 상한을 센다")
+    void perClientLimit_keyedByForwardedClientIp() throws Exception {
+        assertThat(openStream("203.0.113.10")).isEqualTo(200);
+        // 같은 프록시(127.0.0.1)를 거쳐도 다른 클라이언트는 자기 몫을 받는다
+        assertThat(openStream("203.0.113.20")).isEqualTo(200);
+        assertThat(openStream("203.0.113.10")).isEqualTo(503);
+    }
+
+    private int openStream(String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/cafes/status/stream?cafeIds=1"))
+                .header("X-Forwarded-For", forwardedFor)
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        streams.add(response.body());
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.cafe.entity.Cafe;
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CafeLiveStatus;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import com.example.cafestatus.status.repository.CafeLiveStatusRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CafeStatusLoader 단위 테스트")
+class CafeStatusLoaderTest {
+
+    @Mock
+    CafeLiveStatusRepository statusRepository;
+
+    @Mock
+    CafeStatusCacheService cacheService;
+
+    SimpleMeterRegistry meterRegistry;
+    CafeStatusLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loader = new CafeStatusLoader(statusRepository, cacheService, meterRegistry, 1.0);
+    }
+
+    @Test
+    @DisplayName("같은 카페에 대한 동시 로드는 DB 조회 한 번으로 합쳐진다")
+    void load_coalescesConcurrentCallers() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(statusRepository.findById(1L)).willAnswer(inv -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(status(1L));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<StatusCacheModel>> leader = executor.submit(() -> loader.load(1L));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Optional<StatusCacheModel>> follower = executor.submit(() -> loader.load(1L));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (coalesced() < 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isPresent();
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(leader.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(statusRepository, times(1)).findById(1L);
+        verify(cacheService, times(1)).put(any());
+        assertThat(coalesced()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("loadAll은 한 번의 IN 조회로 읽고 캐시를 채운다")
+    void loadAll_singleQuery() {
+        given(statusRepository.findByCafeIdIn(any())).willReturn(List.of(status(1L), status(2L)));
+
+        Map<Long, StatusCacheModel> result = loader.loadAll(List.of(1L, 2L, 3L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verify(statusRepository, times(1)).findByCafeIdIn(any());
+        verify(cacheService, times(2)).put(any());
+    }
+
+    @Test
+    @DisplayName("캐시 만료가 한참 남았으면 조기 갱신하지 않는다")
+    void refreshAheadOfExpiry_farFromExpiry() {
+        Instant now = Instant.now();
+
+        loader.refreshAheadOfExpiry(model(1L, now.plusSeconds(1800)), now);
+
+        verifyNoInteractions(statusRepository);
+    }
+
+    @Test
+    @DisplayName("캐시 만료 시각이 지났으면 백그라운드에서 갱신한다")
+    void refreshAheadOfExpiry_pastExpiry() {
+        Instant now = Instant.now();
+        given(statusRepository.findById(1L)).willReturn(Optional.of(status(1L)));
+
+        loader.refreshAheadOfExpiry(model(1L, now.minusMillis(1)), now);
+
+        verify(statusRepository, timeout(1000)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("캐시 만료가 상태 만료 시각에 맞춰 잘린 항목은 만료가 임박해도 조기 갱신하지 않는다")
+    void refreshAheadOfExpiry_cappedAtStatusExpiry() {
+        Instant now = Instant.now();
+        Instant expiresAt = now.minusMillis(1);
+
+        loader.refreshAheadOfExpiry(model(1L, expiresAt, expiresAt), now);
+
+        assertThat(meterRegistry.counter("cafe.status.load.early-refresh").count()).isZero();
+        verifyNoInteractions(statusRepository);
+    }
+
+    private double coalesced() {
+        return meterRegistry.counter("cafe.status.load", "role", "coalesced").count();
+    }
+
+    private static StatusCacheModel model(Long cafeId, Instant cachedUntil) {
+        return model(cafeId, Instant.now().plusSeconds(1800), cachedUntil);
+    }
+
+    private static StatusCacheModel model(Long cafeId, Instant expiresAt, Instant cachedUntil) {
+        return new StatusCacheModel(cafeId, CrowdLevel.NORMAL, Availability.YES, Availability.YES, Availability.YES,
+                Instant.now(), expiresAt, cachedUntil);
+    }
+
+    private static CafeLiveStatus status(Long cafeId) {
+        Instant now = Instant.now();
+        CafeLiveStatus status = new CafeLiveStatus(
+                new Cafe("카페", 37.5665, 126.9780, null, null),
+                CrowdLevel.NORMAL, Availability.YES, Availability.MAYBE, Availability.NO,
+                now, now.plusSeconds(1800)
+        );
+        try {
+            var idField = CafeLiveStatus.class.getDeclaredField("cafeId");
+            idField.setAccessible(true);
+            idField.set(status, cafeId);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return status;
+    }
+}
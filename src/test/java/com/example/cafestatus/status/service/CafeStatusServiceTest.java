@@ -2,27 +2,39 @@ package com.example.cafestatus.status.service;
 
 import com.example.cafestatus.cafe.entity.Cafe;
 import com.example.cafestatus.cafe.service.CafeService;
+import com.example.cafestatus.common.exception.ConflictException;
+import com.example.cafestatus.common.exception.ForbiddenException;
 import com.example.cafestatus.common.exception.NotFoundException;
+import com.example.cafestatus.status.cache.StatusCacheModel;
 import com.example.cafestatus.status.dto.UpdateCafeStatusRequest;
 import com.example.cafestatus.status.entity.Availability;
 import com.example.cafestatus.status.entity.CafeLiveStatus;
 import com.example.cafestatus.status.entity.CrowdLevel;
+import com.example.cafestatus.status.entity.StatusOutboxEvent;
 import com.example.cafestatus.status.repository.CafeLiveStatusRepository;
+import com.example.cafestatus.status.repository.StatusOutboxRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,16 +48,25 @@ class CafeStatusServiceTest {
     CafeLiveStatusRepository statusRepository;
 
     @Mock
-    StatusSseRegistry sseRegistry;
+    StatusOutboxRepository outboxRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @Mock
     CafeStatusCacheService cacheService;
 
+    @Mock
+    CafeStatusLoader statusLoader;
+
+    @Mock
+    StatusPresence presence;
+
     CafeStatusService cafeStatusService;
 
     @BeforeEach
     void setUp() {
-        cafeStatusService = new CafeStatusService(cafeService, statusRepository, sseRegistry, cacheService);
+        cafeStatusService = new CafeStatusService(cafeService, statusRepository, outboxRepository, eventPublisher, cacheService, statusLoader, presence);
     }
 
     @Nested
@@ -78,71 +99,133 @@ class CafeStatusServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("상태 스냅샷")
+    class Snapshot {
+
+        @Test
+        @DisplayName("캐시에 없는 카페만 한 번에 로드한다")
+        void loadsOnlyMisses() {
+            Instant now = Instant.now();
+            StatusCacheModel cached = new StatusCacheModel(1L, CrowdLevel.NORMAL,
+                    Availability.YES, Availability.YES, Availability.YES, now, now.plusSeconds(1800), null);
+            StatusCacheModel loaded = new StatusCacheModel(2L, CrowdLevel.FULL,
+                    Availability.NO, Availability.NO, Availability.NO, now, now.plusSeconds(1800), null);
+            given(cacheService.getMultiple(List.of(1L, 2L, 3L))).willReturn(Map.of(1L, cached));
+            given(statusLoader.loadAll(List.of(2L, 3L))).willReturn(Map.of(2L, loaded));
+
+            Map<Long, StatusCacheModel> result = cafeStatusService.getStatusSnapshot(List.of(1L, 2L, 3L));
+
+            assertThat(result).containsOnlyKeys(1L, 2L);
+            verify(statusLoader).refreshAheadOfExpiry(eq(cached), any());
+        }
+    }
+
     @Nested
     @DisplayName("상태 업데이트")
     class Upsert {
 
         @Test
-        @DisplayName("새 상태를 생성하면 캐시에 저장되고 SSE가 발행된다")
-        void createNewStatus() {
-            Cafe cafe = new Cafe("카페", 37.5665, 126.9780, null, null);
+        @DisplayName("소유자의 upsert가 반영되면 아웃박스에 기록되고 캐시/발행은 트랜잭션 안에서 하지 않는다")
+        void upsertByOwner() {
             UpdateCafeStatusRequest req = new UpdateCafeStatusRequest(
                     CrowdLevel.RELAXED, Availability.YES, Availability.YES, Availability.YES
             );
 
-            given(cafeService.get(1L)).willReturn(cafe);
-            given(statusRepository.findById(1L)).willReturn(Optional.empty());
-            given(statusRepository.save(any(CafeLiveStatus.class))).willAnswer(inv -> inv.getArgument(0));
-            given(cacheService.publishUpdate(any(), any())).willReturn(false);
+            given(statusRepository.upsertIfOwner(eq(1L), eq(10L), eq(CrowdLevel.RELAXED),
+                    eq(Availability.YES), eq(Availability.YES), eq(Availability.YES), any(), any()))
+                    .willReturn(1);
+
+            StatusCacheModel result = cafeStatusService.upsert(1L, 10L, req);
 
-            CafeLiveStatus result = cafeStatusService.upsert(1L, req);
+            assertThat(result.cafeId()).isEqualTo(1L);
+            assertThat(result.crowdLevel()).isEqualTo(CrowdLevel.RELAXED);
+            assertThat(result.expiresAt()).isAfter(result.updatedAt());
 
-            assertThat(result.getCrowdLevel()).isEqualTo(CrowdLevel.RELAXED);
-            verify(cacheService).put(any(), any());
-            verify(sseRegistry).publish(any(), any());
+            ArgumentCaptor<StatusOutboxEvent> captor = ArgumentCaptor.forClass(StatusOutboxEvent.class);
+            verify(outboxRepository).save(captor.capture());
+            assertThat(captor.getValue().toModel()).isEqualTo(result);
+            verify(eventPublisher).publishEvent(new StatusChangedEvent(1L));
+            verify(cacheService, never()).put(any());
+            verify(cacheService, never()).publishUpdate(any(), anyBoolean(), anyBoolean());
+            verify(cafeService, never()).verifyOwnership(any(), any());
         }
 
         @Test
-        @DisplayName("기존 상태를 업데이트하면 캐시에 저장되고 SSE가 발행된다")
-        void updateExistingStatus() {
-            Cafe cafe = new Cafe("카페", 37.5665, 126.9780, null, null);
-            CafeLiveStatus existingStatus = new CafeLiveStatus(
-                    cafe, CrowdLevel.NORMAL, Availability.YES, Availability.YES, Availability.YES,
-                    Instant.now().minusSeconds(300), Instant.now().plusSeconds(1500)
-            );
+        @DisplayName("소유자가 아니면 upsert가 0건이고 ForbiddenException이 발생한다")
+        void notOwner() {
             UpdateCafeStatusRequest req = new UpdateCafeStatusRequest(
                     CrowdLevel.FULL, Availability.NO, Availability.NO, Availability.NO
             );
 
-            given(cafeService.get(1L)).willReturn(cafe);
-            given(statusRepository.findById(1L)).willReturn(Optional.of(existingStatus));
-            given(cacheService.publishUpdate(any(), any())).willReturn(false);
+            given(statusRepository.upsertIfOwner(any(), any(), any(), any(), any(), any(), any(), any()))
+                    .willReturn(0);
+            given(cafeService.verifyOwnership(1L, 999L))
+                    .willThrow(new ForbiddenException("해당 카페의 소유자가 아닙니다"));
 
-            CafeLiveStatus result = cafeStatusService.upsert(1L, req);
+            assertThatThrownBy(() -> cafeStatusService.upsert(1L, 999L, req))
+                    .isInstanceOf(ForbiddenException.class);
+            verify(outboxRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
 
-            assertThat(result.getCrowdLevel()).isEqualTo(CrowdLevel.FULL);
-            assertThat(result.getParty2()).isEqualTo(Availability.NO);
-            verify(cacheService).put(any(), any());
-            verify(sseRegistry).publish(any(), any());
+        @Test
+        @DisplayName("존재하지 않는 카페면 NotFoundException이 발생한다")
+        void cafeNotFound() {
+            UpdateCafeStatusRequest req = new UpdateCafeStatusRequest(
+                    CrowdLevel.FULL, Availability.NO, Availability.NO, Availability.NO
+            );
+
+            given(statusRepository.upsertIfOwner(any(), any(), any(), any(), any(), any(), any(), any()))
+                    .willReturn(0);
+            given(cafeService.verifyOwnership(999L, 10L))
+                    .willThrow(new NotFoundException("Cafe not found: 999"));
+
+            assertThatThrownBy(() -> cafeStatusService.upsert(999L, 10L, req))
+                    .isInstanceOf(NotFoundException.class);
+            verify(outboxRepository, never()).save(any());
         }
 
         @Test
-        @DisplayName("Redis Pub/Sub가 활성화되면 로컬 SSE 직접 발행을 건너뛴다")
-        void redisPubSubActive_skipsLocalSse() {
-            Cafe cafe = new Cafe("카페", 37.5665, 126.9780, null, null);
+        @DisplayName("upsert가 0건인데 소유권 확인은 통과하면 저장되지 않은 상태를 발행하지 않고 ConflictException이 발생한다")
+        void notApplied_butOwner() {
             UpdateCafeStatusRequest req = new UpdateCafeStatusRequest(
-                    CrowdLevel.RELAXED, Availability.YES, Availability.YES, Availability.YES
+                    CrowdLevel.FULL, Availability.NO, Availability.NO, Availability.NO
             );
 
-            given(cafeService.get(1L)).willReturn(cafe);
-            given(statusRepository.findById(1L)).willReturn(Optional.empty());
-            given(statusRepository.save(any(CafeLiveStatus.class))).willAnswer(inv -> inv.getArgument(0));
-            given(cacheService.publishUpdate(any(), any())).willReturn(true);
+            given(statusRepository.upsertIfOwner(any(), any(), any(), any(), any(), any(), any(), any()))
+                    .willReturn(0);
 
-            cafeStatusService.upsert(1L, req);
+            assertThatThrownBy(() -> cafeStatusService.upsert(1L, 10L, req))
+                    .isInstanceOf(ConflictException.class);
+            verify(cafeService).verifyOwnership(1L, 10L);
+            verify(outboxRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("시청자 수 조회")
+    class Viewers {
+
+        @Test
+        @DisplayName("소유자는 카페의 실시간 시청자 수를 조회한다")
+        void byOwner() {
+            given(presence.viewers(1L)).willReturn(7L);
+
+            assertThat(cafeStatusService.getViewers(1L, 10L)).isEqualTo(7L);
+            verify(cafeService).verifyOwnership(1L, 10L);
+        }
 
-            verify(cacheService).put(any(), any());
-            verify(cacheService).publishUpdate(any(), any());
+        @Test
+        @DisplayName("소유자가 아니면 ForbiddenException이 발생하고 시청자 수를 조회하지 않는다")
+        void notOwner() {
+            given(cafeService.verifyOwnership(1L, 999L))
+                    .willThrow(new ForbiddenException("해당 카페의 소유자가 아닙니다"));
+
+            assertThatThrownBy(() -> cafeStatusService.getViewers(1L, 999L))
+                    .isInstanceOf(ForbiddenException.class);
+            verify(presence, never()).viewers(any());
         }
     }
 }
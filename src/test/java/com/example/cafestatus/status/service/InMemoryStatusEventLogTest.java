@@ -0,0 +1,114 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.example.cafestatus.status.cache.StatusEventId;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InMemoryStatusEventLog 단위 테스트")
+class InMemoryStatusEventLogTest {
+
+    private long sources;
+
+    @Test
+    @DisplayName("발급한 ID는 단조 증가한다")
+    void append_idsIncrease() {
+        InMemoryStatusEventLog log = new InMemoryStatusEventLog(10, 10);
+
+        StatusEventId first = log.append(nextSource(), model(1L));
+        StatusEventId second = log.append(nextSource(), model(1L));
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(log.latestId()).contains(second);
+    }
+
+    @Test
+    @DisplayName("같은 아웃박스 행으로 다시 쌓으면 처음 발급한 ID를 돌려주고 재생에 중복되지 않는다")
+    void append_sameSource_idempotent() {
+        InMemoryStatusEventLog log = new InMemoryStatusEventLog(10, 10);
+        StatusEventId seen = log.append(nextSource(), model(2L));
+        StatusCacheModel model = model(1L);
+
+        StatusEventId first = log.append(7L, model);
+        StatusEventId retried = log.append(7L, model);
+
+        assertThat(retried).isEqualTo(first);
+        assertThat(log.latestId()).contains(first);
+        assertThat(log.readAfter(seen, Set.of(1L)).orElseThrow()).extracting(StatusEvent::id).containsExactly(first);
+    }
+
+    @Test
+    @DisplayName("마지막 ID 이후의 이벤트 중 구독한 카페 것만 순서대로 돌려준다")
+    void readAfter_returnsMissedEventsForCafes() {
+        InMemoryStatusEventLog log = new InMemoryStatusEventLog(10, 10);
+        StatusEventId seen = log.append(nextSource(), model(1L));
+        StatusEventId a = log.append(nextSource(), model(1L));
+        log.append(nextSource(), model(2L));
+        StatusEventId b = log.append(nextSource(), model(3L));
+
+        List<StatusEvent> missed = log.readAfter(seen, Set.of(1L, 3L)).orElseThrow();
+
+        assertThat(missed).extracting(StatusEvent::id).containsExactly(a, b);
+    }
+
+    @Test
+    @DisplayName("최신 ID로 요청하면 빈 목록을 돌려준다")
+    void readAfter_latest_returnsEmptyList() {
+        InMemoryStatusEventLog log = new InMemoryStatusEventLog(10, 10);
+        StatusEventId latest = log.append(nextSource(), model(1L));
+
+        assertThat(log.readAfter(latest, Set.of(1L))).hasValue(List.of());
+    }
+
+    @Test
+    @DisplayName("보관 범위를 벗어난 ID는 이어받을 수 없다")
+    void readAfter_evicted_returnsEmpty() {
+        InMemoryStatusEventLog log = new InMemoryStatusEventLog(2, 10);
+        StatusEventId evicted = log.append(nextSource(), model(1L));
+        log.append(nextSource(), model(1L));
+        log.append(nextSource(), model(1L));
+        log.append(nextSource(), model(1L));
+
+        assertThat(log.readAfter(evicted, Set.of(1L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("아직 발급되지 않은 ID는 이어받을 수 없다")
+    void readAfter_unknownFutureId_returnsEmpty() {
+        InMemoryStatusEventLog log = new InMemoryStatusEventLog(10, 10);
+        log.append(nextSource(), model(1L));
+
+        assertThat(log.readAfter(new StatusEventId(Long.MAX_VALUE, 0), Set.of(1L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("놓친 이벤트가 스캔 한도를 넘으면 이어받지 않는다")
+    void readAfter_beyondMaxScan_returnsEmpty() {
+        InMemoryStatusEventLog log = new InMemoryStatusEventLog(10, 2);
+        StatusEventId seen = log.append(nextSource(), model(1L));
+        log.append(nextSource(), model(1L));
+        log.append(nextSource(), model(1L));
+        log.append(nextSource(), model(1L));
+
+        assertThat(log.readAfter(seen, Set.of(1L))).isEmpty();
+    }
+
+    private long nextSource() {
+        return 100 + sources++;
+    }
+
+    private static StatusCacheModel model(Long cafeId) {
+        Instant now = Instant.now();
+        return new StatusCacheModel(cafeId, CrowdLevel.NORMAL, Availability.YES, Availability.YES, Availability.YES,
+                now, now.plusSeconds(1800), null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.cafestatus.status.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalStatusPresence 단위 테스트")
+class LocalStatusPresenceTest {
+
+    LocalStatusPresence presence = new LocalStatusPresence();
+
+    @Test
+    @DisplayName("마지막 시청자가 떠나면 시청 중이 아니다")
+    void leave_lastViewer_unwatched() {
+        presence.join(List.of(1L));
+        presence.join(List.of(1L, 2L));
+
+        presence.leave(List.of(1L, 2L));
+        assertThat(presence.viewers(1L)).isEqualTo(1);
+        assertThat(presence.isWatched(2L)).isFalse();
+
+        presence.leave(List.of(1L));
+        assertThat(presence.isWatched(1L)).isFalse();
+        assertThat(presence.viewers(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("참여하지 않은 카페에서 떠나도 음수가 되지 않는다")
+    void leave_unknown_ignored() {
+        presence.leave(List.of(3L));
+
+        assertThat(presence.viewers(3L)).isZero();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SseAdmissionControl 단위 테스트")
+class SseAdmissionControlTest {
+
+    SimpleMeterRegistry meterRegistry;
+    SseAdmissionControl admission;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        admission = new SseAdmissionControl(meterRegistry, 2, 1, 5);
+    }
+
+    @Test
+    @DisplayName("release한 자리는 다시 쓸 수 있고, 두 번 release해도 한 번만 반영된다")
+    void release_isIdempotent() {
+        SseAdmissionControl.Permit first = admission.acquire("a");
+        admission.acquire("b");
+
+        first.release();
+        first.release();
+
+        assertThat(admission.activeCount()).isEqualTo(1);
+        admission.acquire("a");
+        assertThat(admission.activeCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("거절 응답의 Retry-After는 기본값과 그 두 배 사이로 흩어진다")
+    void reject_retryAfterIsJittered() {
+        admission.acquire("a");
+
+        assertThatThrownBy(() -> admission.acquire("a"))
+                .isInstanceOfSatisfying(ServiceUnavailableException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isBetween(5L, 10L));
+        assertThat(admission.activeCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("sse.admission.rejected", "reason", "client").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("클라이언트 키가 없으면 노드 상한만 적용한다")
+    void acquire_withoutClientKey_nodeLimitOnly() {
+        admission.acquire(null);
+        admission.acquire(null);
+
+        assertThatThrownBy(() -> admission.acquire(null)).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.counter("sse.admission.rejected", "reason", "node").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("거절된 요청은 클라이언트 카운트를 남기지 않고, 모두 release하면 항목이 지워진다")
+    void rejectedClient_leavesNoCount() {
+        SseAdmissionControl.Permit permit = admission.acquire("a");
+        assertThatThrownBy(() -> admission.acquire("a")).isInstanceOf(ServiceUnavailableException.class);
+
+        permit.release();
+
+        assertThat(meterRegistry.get("sse.admission.clients").gauge().value()).isZero();
+        admission.acquire("a");
+        assertThat(admission.activeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("드레인을 시작하면 새 연결을 받지 않는다")
+    void draining_rejectsNewConnections() {
+        admission.startDraining();
+
+        assertThatThrownBy(() -> admission.acquire("a")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(admission.isDraining()).isTrue();
+        assertThat(meterRegistry.get("sse.admission.draining").gauge().value()).isEqualTo(1.0);
+    }
+}
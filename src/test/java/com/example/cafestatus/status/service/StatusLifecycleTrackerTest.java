@@ -0,0 +1,89 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import com.example.cafestatus.status.service.StatusLifecycleTracker.Transition;
+import com.example.cafestatus.status.sse.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StatusLifecycleTracker 단위 테스트")
+class StatusLifecycleTrackerTest {
+
+    List<String> fired = Collections.synchronizedList(new ArrayList<>());
+    StatusLifecycleTracker tracker = new StatusLifecycleTracker(
+            new HashedTimingWheel("test-lifecycle-wheel", Duration.ofMillis(10), 64),
+            (transition, model) -> fired.add(transition.eventName() + ":" + model.cafeId()));
+
+    @AfterEach
+    void tearDown() {
+        tracker.stop();
+    }
+
+    @Test
+    @DisplayName("stale 시각과 만료 시각에 차례로 한 번씩 전이를 알리고 추적을 끝낸다")
+    void firesStaleThenExpired() throws Exception {
+        Instant now = Instant.now();
+        tracker.track(model(1L, now, 50, 150), now);
+
+        Thread.sleep(400);
+
+        assertThat(fired).containsExactly("stale:1", "expired:1");
+        assertThat(tracker.trackedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("새 상태가 들어오면 이전 상태의 타이머는 발화하지 않는다")
+    void newerStatus_replacesTimer() throws Exception {
+        Instant now = Instant.now();
+        tracker.track(model(1L, now, 50, 150), now);
+        tracker.track(model(1L, now.plusMillis(1), 10_000, 20_000), now);
+
+        Thread.sleep(300);
+
+        assertThat(fired).isEmpty();
+        assertThat(tracker.trackedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("추적 중인 것보다 오래된 상태는 무시한다")
+    void olderStatus_ignored() throws Exception {
+        Instant now = Instant.now();
+        tracker.track(model(1L, now, 10_000, 20_000), now);
+        tracker.track(model(1L, now.minusMillis(1), 50, 150), now);
+
+        Thread.sleep(300);
+
+        assertThat(fired).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이미 stale인 상태는 만료만, 이미 만료된 상태는 추적하지 않는다")
+    void alreadyStaleOrExpired() throws Exception {
+        Instant now = Instant.now();
+        tracker.track(model(1L, now, -10, 50), now);
+        tracker.track(model(2L, now, -20, -10), now);
+
+        Thread.sleep(300);
+
+        assertThat(fired).containsExactly("expired:1");
+        assertThat(tracker.trackedCount()).isZero();
+    }
+
+    // updatedAt은 staleInMillis 뒤에 30분 경과가 되도록 거꾸로 잡는다
+    private static StatusCacheModel model(Long cafeId, Instant now, long staleInMillis, long expiresInMillis) {
+        Instant updatedAt = now.minus(Duration.ofMinutes(30)).plusMillis(staleInMillis);
+        return new StatusCacheModel(cafeId, CrowdLevel.NORMAL, Availability.YES, Availability.YES, Availability.YES,
+                updatedAt, now.plusMillis(expiresInMillis), null);
+    }
+}
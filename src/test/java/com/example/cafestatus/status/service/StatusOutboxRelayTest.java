@@ -0,0 +1,349 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.cafe.entity.Cafe;
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.example.cafestatus.status.cache.StatusEventId;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CafeLiveStatus;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import com.example.cafestatus.status.entity.StatusOutboxEvent;
+import com.example.cafestatus.status.repository.CafeLiveStatusRepository;
+import com.example.cafestatus.status.repository.StatusOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatusOutboxRelay 단위 테스트")
+class StatusOutboxRelayTest {
+
+    @Mock
+    StatusOutboxRepository outboxRepository;
+
+    @Mock
+    CafeLiveStatusRepository liveStatusRepository;
+
+    @Mock
+    CafeStatusCacheService cacheService;
+
+    @Mock
+    StatusSseRegistry sseRegistry;
+
+    @Mock
+    StatusEventLog eventLog;
+
+    @Mock
+    StatusPresence presence;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    StatusOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = relay(false, 200);
+    }
+
+    private StatusOutboxRelay relay(boolean batchPublish, int batchMaxSize) {
+        return new StatusOutboxRelay(outboxRepository, liveStatusRepository, cacheService, sseRegistry, eventLog, presence, transactionManager,
+                new SimpleMeterRegistry(), 100, 30, 3, batchPublish, 5, batchMaxSize);
+    }
+
+    @Test
+    @DisplayName("같은 카페의 이벤트는 최신 상태 하나만 반영하고 처리한 행은 모두 삭제한다")
+    void coalescesPerCafeAndDeletes() {
+        Instant now = Instant.now();
+        StatusOutboxEvent older = event(1L, 1L, CrowdLevel.RELAXED, now.minusSeconds(10), 0);
+        StatusOutboxEvent newer = event(2L, 1L, CrowdLevel.FULL, now, 0);
+        StatusOutboxEvent other = event(3L, 2L, CrowdLevel.NORMAL, now, 0);
+        claimed(older, newer, other);
+        given(eventLog.append(any(), any())).willReturn(new StatusEventId(1L, 0), new StatusEventId(1L, 1));
+        given(presence.isWatched(any())).willReturn(true);
+        given(cacheService.publishUpdate(any(), anyBoolean(), anyBoolean())).willReturn(true);
+        given(cacheService.put(any())).willReturn(true);
+
+        int relayed = relay.relayBatch();
+
+        assertThat(relayed).isEqualTo(3);
+        ArgumentCaptor<StatusCacheModel> captor = ArgumentCaptor.forClass(StatusCacheModel.class);
+        verify(cacheService, times(2)).put(captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting(StatusCacheModel::cafeId, StatusCacheModel::crowdLevel)
+                .containsExactly(
+                        tuple(1L, CrowdLevel.FULL),
+                        tuple(2L, CrowdLevel.NORMAL)
+                );
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        verify(sseRegistry, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("브로커가 없으면 로컬 SSE로 직접 발행한다")
+    void noBroker_publishesLocally() {
+        claimed(event(1L, 1L, CrowdLevel.RELAXED, Instant.now(), 0));
+        given(eventLog.append(any(), any())).willReturn(new StatusEventId(1L, 0));
+        given(presence.isWatched(1L)).willReturn(true);
+        given(cacheService.publishUpdate(any(), anyBoolean(), anyBoolean())).willReturn(false);
+        given(cacheService.put(any())).willReturn(true);
+
+        relay.relayBatch();
+
+        ArgumentCaptor<StatusEvent> captor = ArgumentCaptor.forClass(StatusEvent.class);
+        verify(sseRegistry).publish(captor.capture());
+        assertThat(captor.getValue().id()).isEqualTo(new StatusEventId(1L, 0));
+        assertThat(captor.getValue().model().cafeId()).isEqualTo(1L);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("시청자가 없는 카페는 로그와 캐시만 반영하고 발행 대신 무효화만 보낸다")
+    void unwatched_suppressesPublish() {
+        claimed(event(1L, 1L, CrowdLevel.RELAXED, Instant.now(), 0));
+        given(presence.isWatched(1L)).willReturn(false);
+        given(cacheService.put(any())).willReturn(true);
+
+        relay.relayBatch();
+
+        verify(cacheService).put(any());
+        verify(eventLog).append(any(), any());
+        verify(cacheService).publishInvalidation(1L);
+        verify(cacheService, never()).publishUpdate(any(), anyBoolean(), anyBoolean());
+        verify(sseRegistry, never()).publish(any());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("카페 시청자가 없어도 살아 있는 영역 구독의 셀 안이면 영역 채널로만 발행한다")
+    void unwatchedInsideArea_publishesToAreas() {
+        claimed(event(1L, 1L, CrowdLevel.RELAXED, Instant.now(), 0));
+        given(eventLog.append(any(), any())).willReturn(new StatusEventId(1L, 0));
+        given(presence.isWatched(1L)).willReturn(false);
+        given(sseRegistry.areaCellOf(1L)).willReturn(42L);
+        given(presence.isCellWatched(42L)).willReturn(true);
+        given(cacheService.publishUpdate(any(), anyBoolean(), anyBoolean())).willReturn(true);
+        given(cacheService.put(any())).willReturn(true);
+
+        relay.relayBatch();
+
+        verify(cacheService).publishUpdate(any(), eq(false), eq(true));
+        verify(cacheService, never()).publishInvalidation(any());
+    }
+
+    @Test
+    @DisplayName("시청자 조회에 실패하면 발행을 생략하지 않는다")
+    void presenceFailure_publishes() {
+        claimed(event(1L, 1L, CrowdLevel.RELAXED, Instant.now(), 0));
+        given(presence.isWatched(1L)).willThrow(new RedisConnectionFailureException("down"));
+        given(cacheService.publishUpdate(any(), anyBoolean(), anyBoolean())).willReturn(true);
+        given(cacheService.put(any())).willReturn(true);
+
+        relay.relayBatch();
+
+        verify(cacheService).publishUpdate(any(), anyBoolean(), anyBoolean());
+        verify(cacheService, never()).publishInvalidation(any());
+    }
+
+    @Test
+    @DisplayName("배치 발행 모드에서는 카페별 최신 이벤트를 묶어 한 번에 발행한다")
+    void batchPublish_publishesOnce() {
+        relay = relay(true, 200);
+        Instant now = Instant.now();
+        claimed(event(1L, 1L, CrowdLevel.RELAXED, now.minusSeconds(1), 0),
+                event(2L, 1L, CrowdLevel.FULL, now, 0),
+                event(3L, 2L, CrowdLevel.NORMAL, now, 0),
+                event(4L, 3L, CrowdLevel.NORMAL, now, 0));
+        given(eventLog.append(any(), any())).willReturn(new StatusEventId(1L, 0), new StatusEventId(1L, 1), new StatusEventId(1L, 2));
+        given(presence.isWatched(1L)).willReturn(true);
+        given(presence.isWatched(2L)).willReturn(true);
+        given(presence.isWatched(3L)).willReturn(false);
+        given(cacheService.publishBatch(any(), any(), any())).willReturn(true);
+        given(cacheService.put(any())).willReturn(true);
+
+        relay.relayBatch();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StatusEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(cacheService).publishBatch(events.capture(), eq(List.of()), eq(List.of(3L)));
+        assertThat(events.getValue())
+                .extracting(e -> e.model().cafeId(), e -> e.model().crowdLevel())
+                .containsExactly(tuple(1L, CrowdLevel.FULL), tuple(2L, CrowdLevel.NORMAL));
+        verify(cacheService, never()).publishUpdate(any(), anyBoolean(), anyBoolean());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L, 4L));
+    }
+
+    @Test
+    @DisplayName("배치 발행은 최대 크기 단위로 나눠 보낸다")
+    void batchPublish_chunksByMaxSize() {
+        relay = relay(true, 2);
+        Instant now = Instant.now();
+        claimed(event(1L, 1L, CrowdLevel.NORMAL, now, 0),
+                event(2L, 2L, CrowdLevel.NORMAL, now, 0),
+                event(3L, 3L, CrowdLevel.NORMAL, now, 0));
+        given(presence.isWatched(any())).willReturn(true);
+        given(cacheService.publishBatch(any(), any(), any())).willReturn(true);
+        given(cacheService.put(any())).willReturn(true);
+
+        relay.relayBatch();
+
+        verify(cacheService, times(2)).publishBatch(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("배치 발행에 실패하면 묶음의 모든 카페를 재시도한다")
+    void batchPublish_failure_retriesChunk() {
+        relay = relay(true, 200);
+        Instant now = Instant.now();
+        claimed(event(1L, 1L, CrowdLevel.NORMAL, now, 0),
+                event(2L, 2L, CrowdLevel.NORMAL, now, 0));
+        given(presence.isWatched(any())).willReturn(true);
+        willThrow(new RedisConnectionFailureException("down")).given(cacheService).publishBatch(any(), any(), any());
+        given(cacheService.put(any())).willReturn(true);
+
+        relay.relayBatch();
+
+        verify(outboxRepository).scheduleRetry(eq(List.of(1L, 2L)), any());
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("배치 발행도 브로커가 없으면 로컬 SSE로 직접 발행한다")
+    void batchPublish_noBroker_publishesLocally() {
+        relay = relay(true, 200);
+        claimed(event(1L, 1L, CrowdLevel.NORMAL, Instant.now(), 0));
+        given(presence.isWatched(1L)).willReturn(true);
+        given(cacheService.publishBatch(any(), any(), any())).willReturn(false);
+        given(cacheService.put(any())).willReturn(true);
+
+        relay.relayBatch();
+
+        verify(sseRegistry).publish(any());
+    }
+
+    @Test
+    @DisplayName("발행에 실패하면 행을 삭제하지 않고 재시도를 예약한다")
+    void failure_schedulesRetry() {
+        claimed(event(1L, 1L, CrowdLevel.RELAXED, Instant.now(), 0));
+        willThrow(new RedisConnectionFailureException("down")).given(cacheService).put(any());
+
+        relay.relayBatch();
+
+        verify(outboxRepository).scheduleRetry(eq(List.of(1L)), any());
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(cacheService, never()).publishUpdate(any(), anyBoolean(), anyBoolean());
+        verify(eventLog, never()).append(any(), any());
+    }
+
+    @Test
+    @DisplayName("최대 재시도 횟수에 도달하면 행을 버린다")
+    void maxAttempts_drops() {
+        claimed(event(1L, 1L, CrowdLevel.RELAXED, Instant.now(), 2));
+        willThrow(new RedisConnectionFailureException("down")).given(cacheService).put(any());
+
+        relay.relayBatch();
+
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxRepository, never()).scheduleRetry(any(), any());
+    }
+
+    @Test
+    @DisplayName("새 상태를 반영한 뒤 늦게 도착한 이전 이벤트는 캐시와 발행에 반영하지 않는다")
+    void olderAfterNewer_skipped() {
+        Instant now = Instant.now();
+        StatusOutboxEvent newer = event(2L, 1L, CrowdLevel.FULL, now, 0);
+        // 먼저 만든 이벤트가 백오프 뒤 재시도되어 새 이벤트보다 늦게 릴레이된다
+        StatusOutboxEvent older = event(1L, 1L, CrowdLevel.RELAXED, now.minusSeconds(10), 1);
+        given(outboxRepository.findReadyIds(any(), any())).willReturn(List.of(2L), List.of(1L));
+        given(outboxRepository.claim(anyList(), anyString(), any(), any())).willReturn(1);
+        given(outboxRepository.findByClaimedBy(anyString())).willReturn(List.of(newer), List.of(older));
+        given(liveStatusRepository.findByCafeIdIn(List.of(1L))).willReturn(List.of(liveStatus(1L, now)));
+        given(cacheService.put(any())).willReturn(true);
+        given(eventLog.append(any(), any())).willReturn(new StatusEventId(1L, 0));
+        given(presence.isWatched(1L)).willReturn(true);
+        given(cacheService.publishUpdate(any(), anyBoolean(), anyBoolean())).willReturn(true);
+
+        relay.relayBatch();
+        relay.relayBatch();
+
+        ArgumentCaptor<StatusCacheModel> captor = ArgumentCaptor.forClass(StatusCacheModel.class);
+        verify(cacheService).put(captor.capture());
+        assertThat(captor.getValue().crowdLevel()).isEqualTo(CrowdLevel.FULL);
+        verify(eventLog, times(1)).append(any(), any());
+        verify(cacheService, times(1)).publishUpdate(any(), anyBoolean(), anyBoolean());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(2L));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxRepository, never()).scheduleRetry(any(), any());
+    }
+
+    @Test
+    @DisplayName("캐시에 더 최신 상태가 있으면 로그와 발행 없이 행만 정리한다")
+    void cacheHoldsNewer_skipped() {
+        claimed(event(1L, 1L, CrowdLevel.RELAXED, Instant.now(), 0));
+        given(cacheService.put(any())).willReturn(false);
+
+        relay.relayBatch();
+
+        verify(eventLog, never()).append(any(), any());
+        verify(cacheService, never()).publishUpdate(any(), anyBoolean(), anyBoolean());
+        verify(cacheService, never()).publishInvalidation(any());
+        verify(sseRegistry, never()).publish(any());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("가져갈 행이 없으면 아무것도 하지 않는다")
+    void empty() {
+        given(outboxRepository.findReadyIds(any(), any())).willReturn(List.of());
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verifyNoInteractions(cacheService, sseRegistry, eventLog, presence);
+    }
+
+    private void claimed(StatusOutboxEvent... events) {
+        List<Long> ids = Arrays.stream(events).map(StatusOutboxEvent::getId).toList();
+        given(outboxRepository.findReadyIds(any(), any())).willReturn(ids);
+        given(outboxRepository.claim(eq(ids), anyString(), any(), any())).willReturn(ids.size());
+        given(outboxRepository.findByClaimedBy(anyString())).willReturn(List.of(events));
+    }
+
+    private static CafeLiveStatus liveStatus(Long cafeId, Instant updatedAt) {
+        CafeLiveStatus status = new CafeLiveStatus(
+                new Cafe("카페", 37.5665, 126.9780, null, null),
+                CrowdLevel.FULL, Availability.YES, Availability.YES, Availability.YES,
+                updatedAt, updatedAt.plusSeconds(1800)
+        );
+        ReflectionTestUtils.setField(status, "cafeId", cafeId);
+        return status;
+    }
+
+    private static StatusOutboxEvent event(Long id, Long cafeId, CrowdLevel crowdLevel, Instant updatedAt, int attempts) {
+        StatusOutboxEvent event = new StatusOutboxEvent(new StatusCacheModel(
+                cafeId, crowdLevel, Availability.YES, Availability.YES, Availability.YES,
+                updatedAt, updatedAt.plusSeconds(1800), null
+        ));
+        ReflectionTestUtils.setField(event, "id", id);
+        ReflectionTestUtils.setField(event, "attempts", attempts);
+        return event;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusChannels;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatusShardSubscriptions 단위 테스트")
+class StatusShardSubscriptionsTest {
+
+    @Mock
+    RedisMessageListenerContainer container;
+
+    @Mock
+    ObjectProvider<StatusUpdateSubscriber> subscriberProvider;
+
+    @Mock
+    StatusUpdateSubscriber subscriber;
+
+    StatusShardSubscriptions subscriptions;
+
+    @BeforeEach
+    void setUp() {
+        subscriptions = new StatusShardSubscriptions(container, subscriberProvider, new StatusChannels(4),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("같은 샤드의 카페가 여럿이어도 채널은 한 번만 구독한다")
+    void subscribesOncePerShard() {
+        given(subscriberProvider.getObject()).willReturn(subscriber);
+        subscriptions.watched(1L);
+        subscriptions.watched(5L);
+
+        subscriptions.sync(List.of(1L, 5L));
+
+        verify(container, times(1)).addMessageListener(subscriber, new ChannelTopic("cafe:status:updates:1"));
+        assertThat(subscriptions.subscribedShardCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("샤드의 마지막 카페 관심이 사라지면 구독을 해지한다")
+    void unsubscribesWhenShardBecomesIdle() {
+        given(subscriberProvider.getObject()).willReturn(subscriber);
+        subscriptions.watched(1L);
+        subscriptions.watched(5L);
+        subscriptions.sync(List.of(1L, 5L));
+
+        subscriptions.unwatched(1L);
+        subscriptions.sync(List.of(1L));
+        verify(container, never()).removeMessageListener(any(), any(ChannelTopic.class));
+
+        subscriptions.unwatched(5L);
+        subscriptions.sync(List.of(5L));
+        verify(container).removeMessageListener(subscriber, new ChannelTopic("cafe:status:updates:1"));
+        assertThat(subscriptions.subscribedShardCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("관심 증감이 sync보다 먼저 모두 반영됐으면 구독을 건드리지 않는다")
+    void noChangeWhenInterestCancelsOut() {
+        subscriptions.watched(2L);
+        subscriptions.unwatched(2L);
+
+        subscriptions.sync(List.of(2L));
+
+        verifyNoInteractions(container);
+    }
+
+    @Test
+    @DisplayName("구독에 실패하면 다음 sync에서 다시 시도한다")
+    void retriesAfterFailure() {
+        given(subscriberProvider.getObject()).willReturn(subscriber);
+        ChannelTopic topic = new ChannelTopic("cafe:status:updates:3");
+        willThrow(new RedisConnectionFailureException("down"))
+                .willDoNothing()
+                .given(container).addMessageListener(subscriber, topic);
+        subscriptions.watched(3L);
+
+        subscriptions.sync(List.of(3L));
+        assertThat(subscriptions.subscribedShardCount()).isZero();
+
+        subscriptions.sync(List.of(3L));
+        verify(container, times(2)).addMessageListener(subscriber, topic);
+        assertThat(subscriptions.subscribedShardCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("영역 채널은 첫 영역 구독에 구독하고 마지막 영역 구독이 사라지면 해지한다")
+    void areaChannel_followsAreaCount() {
+        given(subscriberProvider.getObject()).willReturn(subscriber);
+        ChannelTopic topic = new ChannelTopic(StatusChannels.AREAS);
+        subscriptions.areaWatched();
+        subscriptions.syncAreas();
+        subscriptions.areaWatched();
+        subscriptions.syncAreas();
+
+        subscriptions.areaUnwatched();
+        subscriptions.syncAreas();
+        verify(container, times(1)).addMessageListener(subscriber, topic);
+        verify(container, never()).removeMessageListener(any(), any(ChannelTopic.class));
+
+        subscriptions.areaUnwatched();
+        subscriptions.syncAreas();
+        verify(container).removeMessageListener(subscriber, topic);
+        assertThat(subscriptions.subscribedShardCount()).isZero();
+    }
+}
@@ -1,53 +1,385 @@
 package com.example.cafestatus.status.service;
 
+import com.example.cafestatus.cafe.dto.CafeLocation;
+import com.example.cafestatus.cafe.entity.Cafe;
+import com.example.cafestatus.cafe.service.CafeLocationCache;
+import com.example.cafestatus.cafe.service.CafeService;
+import com.example.cafestatus.common.exception.NotFoundException;
+import com.example.cafestatus.common.exception.ServiceUnavailableException;
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.example.cafestatus.status.cache.StatusEventId;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import com.example.cafestatus.status.sse.SlowConsumerPolicy;
+import com.example.cafestatus.status.sse.SseArea;
+import com.example.cafestatus.status.sse.SseInterestListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+@ExtendWith(MockitoExtension.class)
 @DisplayName("StatusSseRegistry 단위 테스트")
 class StatusSseRegistryTest {
 
+    @Mock
+    CafeStatusService statusService;
+
+    @Mock
+    StatusEventLog eventLog;
+
+    @Mock
+    CafeStatusCacheService cacheService;
+
+    @Mock
+    CafeService cafeService;
+
+    @Mock
+    CafeLocationCache locations;
+
+    LocalStatusPresence presence;
+    SseAdmissionControl admission;
+    SimpleMeterRegistry meterRegistry;
     StatusSseRegistry registry;
 
     @BeforeEach
     void setUp() {
-        registry = new StatusSseRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        presence = new LocalStatusPresence();
+        admission = new SseAdmissionControl(meterRegistry, 3, 1, 5);
+        registry = new StatusSseRegistry(new ObjectMapper().findAndRegisterModules(), statusService, cacheService, cafeService, locations, eventLog,
+                SseInterestListener.NONE, presence, admission, meterRegistry, 64, SlowConsumerPolicy.COALESCE, 50, 30, 0.01, 400, 2,
+                3, 2000, 3000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
     }
 
     @Test
     @DisplayName("subscribe 하면 SseEmitter를 반환한다")
     void subscribe_returnsEmitter() {
-        SseEmitter emitter = registry.subscribe(List.of(1L, 2L));
+        SseEmitter emitter = registry.subscribe(List.of(1L, 2L), null, null, null, null);
         assertThat(emitter).isNotNull();
     }
 
+    @Test
+    @DisplayName("subscribe 하면 요청한 카페들의 스냅샷을 한 번에 조회한다")
+    void subscribe_loadsSnapshotOnce() {
+        registry.subscribe(List.of(1L, 2L, 3L), null, null, null, null);
+
+        verify(statusService).getStatusSnapshot(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("스냅샷 조회에 실패해도 구독은 성공한다")
+    void subscribe_snapshotFailure_doesNotThrow() {
+        given(statusService.getStatusSnapshot(List.of(1L))).willThrow(new IllegalStateException("db down"));
+
+        assertThatCode(() -> registry.subscribe(List.of(1L), null, null, null, null)).doesNotThrowAnyException();
+    }
+
     @Test
     @DisplayName("구독자가 없는 cafeId에 publish해도 예외가 발생하지 않는다")
     void publish_noSubscribers_doesNotThrow() {
-        assertThatCode(() -> registry.publish(999L, Map.of("key", "value")))
+        assertThatCode(() -> registry.publish(event(999L)))
                 .doesNotThrowAnyException();
     }
 
     @Test
     @DisplayName("구독 후 publish하면 예외가 발생하지 않는다")
     void subscribe_thenPublish_doesNotThrow() {
-        registry.subscribe(List.of(1L));
+        registry.subscribe(List.of(1L), null, null, null, null);
 
-        assertThatCode(() -> registry.publish(1L, Map.of("cafeId", 1L, "status", "NORMAL")))
+        assertThatCode(() -> registry.publish(event(1L)))
                 .doesNotThrowAnyException();
     }
 
     @Test
-    @DisplayName("ping 호출이 예외 없이 동작한다")
-    void ping_doesNotThrow() {
-        registry.subscribe(List.of(1L));
-        assertThatCode(() -> registry.ping()).doesNotThrowAnyException();
+    @DisplayName("구독하면 카페별 시청자 수가 늘어난다")
+    void subscribe_joinsPresence() {
+        registry.subscribe(List.of(1L, 2L), null, null, null, null);
+        registry.subscribe(List.of(1L), null, null, null, null);
+
+        assertThat(presence.viewers(1L)).isEqualTo(2);
+        assertThat(presence.viewers(2L)).isEqualTo(1);
+        assertThat(presence.isWatched(3L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID로 이어받을 수 있으면 스냅샷 대신 놓친 이벤트를 보낸다")
+    void subscribe_withLastEventId_replaysFromLog() {
+        StatusEventId lastId = new StatusEventId(100L, 0);
+        given(eventLog.readAfter(lastId, Set.of(1L, 2L))).willReturn(Optional.of(List.of(event(1L))));
+
+        registry.subscribe(List.of(1L, 2L), "100-0", null, null, null);
+
+        verify(statusService, never()).getStatusSnapshot(any());
+    }
+
+    @Test
+    @DisplayName("로그가 잘려 이어받을 수 없으면 스냅샷으로 대체한다")
+    void subscribe_withLastEventId_gapFallsBackToSnapshot() {
+        given(eventLog.readAfter(new StatusEventId(100L, 0), Set.of(1L))).willReturn(Optional.empty());
+
+        registry.subscribe(List.of(1L), "100-0", null, null, null);
+
+        verify(statusService).getStatusSnapshot(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 Last-Event-ID는 무시하고 스냅샷을 보낸다")
+    void subscribe_withMalformedLastEventId_fallsBackToSnapshot() {
+        registry.subscribe(List.of(1L), "not-an-id", null, null, null);
+
+        verify(eventLog, never()).readAfter(any(), any());
+        verify(statusService).getStatusSnapshot(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("maxRate가 0 이하이면 구독을 거절한다")
+    void subscribe_invalidMaxRate_rejected() {
+        assertThatThrownBy(() -> registry.subscribe(List.of(1L), null, 0, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("maxRate를 지정한 구독에도 publish할 수 있다")
+    void subscribe_withMaxRate_thenPublish_doesNotThrow() {
+        registry.subscribe(List.of(1L, 2L), null, 5, null, null);
+
+        assertThatCode(() -> {
+            registry.publish(event(1L));
+            registry.publish(event(2L));
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("여러 카페를 구독한 연결도 하트비트는 주기마다 한 번씩 전송된다")
+    void heartbeat_oncePerConnectionPerInterval() throws Exception {
+        registry.subscribe(List.of(1L, 2L, 3L), null, null, null, null);
+
+        Thread.sleep(500);
+
+        // 50ms 주기, 100ms 틱이므로 500ms 동안 틱 수(5) 근처에서 카페 수(3)배로 늘어나지 않아야 한다
+        double sent = meterRegistry.counter("sse.heartbeats").count();
+        assertThat(sent).isBetween(1.0, 6.0);
+    }
+
+    @Test
+    @DisplayName("원형 영역 구독은 반경 안의 카페만 스냅샷으로 보내고 시청자로 집계한다")
+    void subscribeArea_circle_resolvesCafesInsideRadius() {
+        SseArea area = SseArea.circle(37.5665, 126.9780, 500);
+        given(cafeService.findInArea(area.minLat(), area.maxLat(), area.minLng(), area.maxLng()))
+                .willReturn(List.of(cafe(1L, 37.5666, 126.9781), cafe(2L, area.maxLat(), area.maxLng())));
+
+        registry.subscribeArea(area, null, null, null, null);
+
+        verify(statusService).getStatusSnapshot(List.of(1L));
+        assertThat(presence.viewers(1L)).isEqualTo(1);
+        assertThat(presence.isWatched(2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("영역 안 카페가 max-cafes를 넘으면 구독을 거절한다")
+    void subscribeArea_tooManyCafes_rejected() {
+        SseArea area = SseArea.box(37.56, 37.57, 126.97, 126.98);
+        given(cafeService.findInArea(37.56, 37.57, 126.97, 126.98))
+                .willReturn(List.of(cafe(1L, 37.565, 126.975), cafe(2L, 37.566, 126.976), cafe(3L, 37.567, 126.977)));
+
+        assertThatThrownBy(() -> registry.subscribeArea(area, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("영역 안에 카페가 없으면 입장 허가를 잡지 않고 구독을 거절한다")
+    void subscribeArea_noCafes_rejected() {
+        SseArea area = SseArea.circle(37.5665, 126.9780, 500);
+        // 경계 상자 모서리의 카페는 원 밖이라 걸러진다
+        given(cafeService.findInArea(area.minLat(), area.maxLat(), area.minLng(), area.maxLng()))
+                .willReturn(List.of(cafe(2L, area.maxLat(), area.maxLng())));
+
+        assertThatThrownBy(() -> registry.subscribeArea(area, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(admission.activeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("격자 셀이 너무 많은 영역은 DB 조회 전에 거절한다")
+    void subscribeArea_tooLarge_rejectedBeforeQuery() {
+        assertThatThrownBy(() -> registry.subscribeArea(SseArea.box(37.0, 38.0, 126.0, 127.0), null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(cafeService, never()).findInArea(anyDouble(), anyDouble(),
+                anyDouble(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("영역 구독이 있으면 목록 밖 카페의 업데이트도 좌표로 영역과 맞춰 본다")
+    void publish_withAreaSubscription_matchesByLocation() {
+        SseArea area = SseArea.box(37.56, 37.57, 126.97, 126.98);
+        given(cafeService.findInArea(37.56, 37.57, 126.97, 126.98)).willReturn(List.of(cafe(1L, 37.561, 126.971)));
+        given(locations.get(7L)).willReturn(new CafeLocation(7L, 37.565, 126.975));
+        registry.subscribeArea(area, null, null, null, null);
+
+        assertThatCode(() -> registry.publish(event(7L))).doesNotThrowAnyException();
+        verify(locations).get(7L);
+    }
+
+    @Test
+    @DisplayName("영역을 연 뒤 그 안에 새로 생긴 카페도 셀 단위로 시청 중이고, 업데이트가 영역 구독에 전달된다")
+    void areaSubscription_cafeCreatedInside_watchedAndDelivered() {
+        SseArea area = SseArea.box(37.56, 37.57, 126.97, 126.98);
+        given(cafeService.findInArea(37.56, 37.57, 126.97, 126.98)).willReturn(List.of(cafe(1L, 37.561, 126.971)));
+        registry.subscribeArea(area, null, null, null, null);
+
+        // 구독 뒤에 영역 안에 생긴 카페 9와 영역 밖 카페 8
+        given(locations.get(9L)).willReturn(new CafeLocation(9L, 37.565, 126.975));
+        given(locations.get(8L)).willReturn(new CafeLocation(8L, 37.60, 126.975));
+        assertThat(presence.isWatched(9L)).isFalse();
+        assertThat(presence.isCellWatched(registry.areaCellOf(9L))).isTrue();
+        assertThat(presence.isCellWatched(registry.areaCellOf(8L))).isFalse();
+
+        registry.publish(event(9L));
+        assertThat(meterRegistry.get("sse.lifecycle.tracked").gauge().value()).isEqualTo(1);
+
+        registry.drain(10, 0, 0);
+        assertThat(presence.isCellWatched(registry.areaCellOf(9L))).isFalse();
+    }
+
+    @Test
+    @DisplayName("영역 구독이 없으면 publish 시 좌표를 조회하지 않는다")
+    void publish_withoutAreaSubscription_skipsLocationLookup() {
+        registry.subscribe(List.of(1L), null, null, null, null);
+
+        registry.publish(event(1L));
+
+        verify(locations, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("없는 연결 ID로 구독을 바꾸면 NotFoundException")
+    void update_unknownConnection_notFound() {
+        assertThatThrownBy(() -> registry.update("missing", List.of(1L), List.of()))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("필터 구독은 조건에 새로 들어오는 업데이트만 보내고 나머지는 걸러낸다")
+    void subscribe_withFilter_deliversTransitionsOnly() {
+        registry.subscribe(List.of(1L), null, null, "crowdLevel=NORMAL", null);
+
+        registry.publish(event(1L));
+        registry.publish(event(1L));
+
+        assertThat(meterRegistry.counter("sse.filter.suppressed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("잘못된 필터식은 구독을 거절한다")
+    void subscribe_invalidFilter_rejected() {
+        assertThatThrownBy(() -> registry.subscribe(List.of(1L), null, null, "crowd=RELAXED", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("만료 전이는 로컬 캐시에서 제거하고 expired 이벤트로 내보낸다")
+    void publishLifecycle_expired_evictsAndCounts() {
+        registry.subscribe(List.of(1L), null, null, null, null);
+
+        registry.publishLifecycle(StatusLifecycleTracker.Transition.EXPIRED, event(1L).model());
+
+        verify(cacheService).evictLocal(1L);
+        assertThat(meterRegistry.counter("sse.lifecycle.events", "type", "expired").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("stale 전이는 캐시를 건드리지 않는다")
+    void publishLifecycle_stale_keepsCache() {
+        registry.publishLifecycle(StatusLifecycleTracker.Transition.STALE, event(1L).model());
+
+        verify(cacheService, never()).evictLocal(any());
+        assertThat(meterRegistry.counter("sse.lifecycle.events", "type", "stale").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한 스트림의 카페 ID가 상한을 넘으면 입장 허가를 잡지 않고 거절한다")
+    void subscribe_tooManyCafeIds_rejected() {
+        assertThatThrownBy(() -> registry.subscribe(List.of(1L, 2L, 3L, 4L), null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(admission.activeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("노드 연결 상한을 넘으면 스냅샷 조회 없이 503으로 거절한다")
+    void subscribe_overNodeLimit_rejectedFast() {
+        registry.subscribe(List.of(1L), null, null, null, null);
+        registry.subscribe(List.of(1L), null, null, null, null);
+        registry.subscribe(List.of(1L), null, null, null, null);
+
+        assertThatThrownBy(() -> registry.subscribe(List.of(2L), null, null, null, null))
+                .isInstanceOf(ServiceUnavailableException.class);
+        verify(statusService, never()).getStatusSnapshot(List.of(2L));
+        assertThat(meterRegistry.counter("sse.admission.rejected", "reason", "node").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 클라이언트의 연결 수가 상한을 넘으면 거절한다")
+    void subscribe_overClientLimit_rejected() {
+        registry.subscribe(List.of(1L), null, null, null, "10.0.0.1");
+
+        assertThatThrownBy(() -> registry.subscribe(List.of(1L), null, null, null, "10.0.0.1"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThatCode(() -> registry.subscribe(List.of(1L), null, null, null, "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("드레인하면 모든 연결을 배치로 정리하고 입장 허가와 시청자 수를 돌려준다")
+    void drain_releasesAllConnections() {
+        registry.subscribe(List.of(1L), null, null, null, null);
+        registry.subscribe(List.of(1L, 2L), null, null, null, "10.0.0.1");
+
+        assertThat(registry.drain(1, 0, 1000)).isEqualTo(2);
+
+        assertThat(registry.drain(1, 0, 1000)).isZero();
+        assertThat(admission.activeCount()).isZero();
+        assertThat(presence.isWatched(1L)).isFalse();
+        assertThatCode(() -> registry.subscribe(List.of(1L), null, null, null, "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    private static StatusEvent event(Long cafeId) {
+        Instant now = Instant.now();
+        return new StatusEvent(new StatusEventId(now.toEpochMilli(), 0), new StatusCacheModel(
+                cafeId, CrowdLevel.NORMAL, Availability.YES, Availability.YES, Availability.YES,
+                now, now.plusSeconds(1800), null
+        ));
+    }
+
+    private static Cafe cafe(Long id, double lat, double lng) {
+        Cafe cafe = new Cafe("cafe-" + id, lat, lng, null, null);
+        ReflectionTestUtils.setField(cafe, "id", id);
+        return cafe;
     }
 }
@@ -0,0 +1,98 @@
+package com.example.cafestatus.status.service;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoTierCafeStatusCacheService 단위 테스트")
+class TwoTierCafeStatusCacheServiceTest {
+
+    @Mock
+    RedisCafeStatusCacheService redisCache;
+
+    SimpleMeterRegistry meterRegistry;
+    TwoTierCafeStatusCacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheService = new TwoTierCafeStatusCacheService(redisCache, meterRegistry, 100, 60);
+    }
+
+    @Test
+    @DisplayName("L2에서 읽은 값은 L1에 채워져 다음 조회는 Redis를 거치지 않는다")
+    void get_backfillsL1() {
+        StatusCacheModel model = model(1L);
+        given(redisCache.get(1L)).willReturn(Optional.of(model));
+
+        assertThat(cacheService.get(1L)).contains(model);
+        assertThat(cacheService.get(1L)).contains(model);
+
+        verify(redisCache, times(1)).get(1L);
+        assertThat(meterRegistry.counter("cafe.status.cache.hit", "tier", "l1").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cafe.status.cache.miss", "tier", "l1").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("evictLocal 이후에는 다시 L2에서 조회한다")
+    void evictLocal_forcesL2Read() {
+        given(redisCache.get(1L)).willReturn(Optional.of(model(1L)));
+        cacheService.get(1L);
+
+        cacheService.evictLocal(1L);
+        cacheService.get(1L);
+
+        verify(redisCache, times(2)).get(1L);
+    }
+
+    @Test
+    @DisplayName("getMultiple은 L1 미스인 ID만 L2에 요청한다")
+    void getMultiple_onlyRequestsMisses() {
+        given(redisCache.get(1L)).willReturn(Optional.of(model(1L)));
+        cacheService.get(1L);
+        given(redisCache.getMultiple(List.of(2L, 3L))).willReturn(Map.of(2L, model(2L)));
+
+        Map<Long, StatusCacheModel> result = cacheService.getMultiple(List.of(1L, 2L, 3L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verify(redisCache).getMultiple(List.of(2L, 3L));
+    }
+
+    @Test
+    @DisplayName("L2에 더 최신 상태가 있어 쓰지 못하면 L1 값도 버리고 L2에서 다시 읽는다")
+    void put_rejectedByL2_evictsL1() {
+        StatusCacheModel model = model(1L);
+        given(redisCache.get(1L)).willReturn(Optional.of(model));
+        cacheService.get(1L);
+        given(redisCache.put(model)).willReturn(false);
+
+        assertThat(cacheService.put(model)).isFalse();
+        cacheService.get(1L);
+
+        verify(redisCache, times(2)).get(1L);
+    }
+
+    private StatusCacheModel model(Long cafeId) {
+        Instant now = Instant.now();
+        return new StatusCacheModel(cafeId, CrowdLevel.NORMAL, Availability.YES, Availability.MAYBE, Availability.NO,
+                now, now.plusSeconds(1800), null);
+    }
+}
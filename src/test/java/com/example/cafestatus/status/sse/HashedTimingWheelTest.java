@@ -0,0 +1,74 @@
+package com.example.cafestatus.status.sse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HashedTimingWheel 단위 테스트")
+class HashedTimingWheelTest {
+
+    HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(10), 8);
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    @DisplayName("지연 시간이 지나면 작업이 한 번 실행된다")
+    void firesAfterDelay() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        wheel.schedule(fired::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertThat(fired.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("휠 한 바퀴보다 긴 지연도 라운드를 세어 제때 실행된다")
+    void firesAfterMultipleRounds() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        // 8칸 × 10ms = 80ms 한 바퀴, 250ms는 세 바퀴 이상
+        wheel.schedule(fired::countDown, 250, TimeUnit.MILLISECONDS);
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(250);
+    }
+
+    @Test
+    @DisplayName("취소한 작업은 실행되지 않고 등록 수에서 빠진다")
+    void cancelledTimeoutDoesNotFire() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        HashedTimingWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+
+        timeout.cancel();
+        Thread.sleep(150);
+
+        assertThat(runs.get()).isZero();
+        assertThat(wheel.scheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("많은 작업을 등록해도 모두 실행된다")
+    void manyTimeouts() throws Exception {
+        int count = 10_000;
+        CountDownLatch fired = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            wheel.schedule(fired::countDown, i % 200, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(wheel.scheduledCount()).isZero();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.cafestatus.status.sse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SseAreaIndex 단위 테스트")
+class SseAreaIndexTest {
+
+    SseAreaIndex index = new SseAreaIndex(0.01, 400);
+    SseDeliveryMetrics metrics = new SseDeliveryMetrics(new SimpleMeterRegistry(), SlowConsumerPolicy.COALESCE);
+
+    @Test
+    @DisplayName("여러 셀에 걸친 영역도 한 지점에서는 한 번만 매칭된다")
+    void match_spanningCells_matchesOnce() {
+        SseConnection connection = connection(SseArea.box(37.555, 37.585, 126.965, 126.995));
+        index.add(connection);
+
+        assertThat(index.match(37.57, 126.98)).containsExactly(connection);
+        assertThat(index.match(37.556, 126.994)).containsExactly(connection);
+        assertThat(index.cellCount()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("같은 셀에 있어도 영역 밖 좌표는 매칭되지 않는다")
+    void match_sameCellOutsideArea_filtered() {
+        index.add(connection(SseArea.box(37.5610, 37.5620, 126.9710, 126.9720)));
+
+        assertThat(index.match(37.5650, 126.9750)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("원형 영역은 경계 상자 모서리 좌표를 제외한다")
+    void match_circle_excludesBoxCorner() {
+        SseArea area = SseArea.circle(37.5665, 126.9780, 500);
+        SseConnection connection = connection(area);
+        index.add(connection);
+
+        assertThat(index.match(37.5666, 126.9781)).containsExactly(connection);
+        assertThat(index.match(area.maxLat(), area.maxLng())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("겹치는 영역만 후보가 되고 겹치지 않는 구독은 검사 대상에서 빠진다")
+    void match_onlyOverlappingSubscriptions() {
+        SseConnection seoul = connection(SseArea.box(37.56, 37.57, 126.97, 126.98));
+        SseConnection seoulWide = connection(SseArea.box(37.55, 37.58, 126.96, 126.99));
+        SseConnection busan = connection(SseArea.box(35.17, 35.18, 129.07, 129.08));
+        index.add(seoul);
+        index.add(seoulWide);
+        index.add(busan);
+
+        assertThat(index.match(37.565, 126.975)).containsExactlyInAnyOrder(seoul, seoulWide);
+        assertThat(index.match(35.175, 129.075)).containsExactly(busan);
+    }
+
+    @Test
+    @DisplayName("연결을 제거하면 셀 항목도 정리되고 인덱스가 비게 된다")
+    void remove_cleansUpCells() {
+        SseConnection connection = connection(SseArea.box(37.555, 37.585, 126.965, 126.995));
+        index.add(connection);
+
+        index.remove(connection);
+
+        assertThat(index.isEmpty()).isTrue();
+        assertThat(index.cellCount()).isZero();
+        assertThat(index.match(37.57, 126.98)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("셀 수 제한을 넘는 영역은 거절한다")
+    void add_tooLargeArea_rejected() {
+        assertThatThrownBy(() -> index.add(connection(SseArea.box(37.0, 38.0, 126.0, 127.0))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(index.isEmpty()).isTrue();
+    }
+
+    private SseConnection connection(SseArea area) {
+        return new SseConnection(new SseEmitter(), List.of(), 8, SlowConsumerPolicy.COALESCE, Runnable::run, metrics, false, null, area, null);
+    }
+}
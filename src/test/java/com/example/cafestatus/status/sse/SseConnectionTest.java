@@ -0,0 +1,328 @@
+package com.example.cafestatus.status.sse;
+
+import com.example.cafestatus.status.entity.CrowdLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SseConnection 단위 테스트")
+class SseConnectionTest {
+
+    // 실행을 미뤄 두는 executor로 느린 구독자를 흉내낸다
+    List<Runnable> pendingTasks;
+    RecordingEmitter emitter;
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        pendingTasks = new ArrayList<>();
+        emitter = new RecordingEmitter();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("발행 스레드에서는 전송하지 않고 executor에서 순서대로 전송한다")
+    void offer_deliversOnExecutor() {
+        SseConnection connection = connection(SlowConsumerPolicy.DROP_OLDEST, 8);
+
+        connection.offer(status(1L, "a"));
+        connection.offer(status(1L, "b"));
+
+        assertThat(emitter.sent).isEmpty();
+        assertThat(pendingTasks).hasSize(1);
+
+        runPending();
+
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(connection.queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 프레임은 구독자마다 다시 인코딩하지 않고 동일한 버퍼를 전송한다")
+    void sharedFrame_isSentAsIs() {
+        SseConnection first = connection(SlowConsumerPolicy.DROP_OLDEST, 8);
+        RecordingEmitter other = new RecordingEmitter();
+        SseConnection second = new SseConnection(other, List.of(1L), 8, SlowConsumerPolicy.DROP_OLDEST,
+                pendingTasks::add, new SseDeliveryMetrics(meterRegistry, SlowConsumerPolicy.DROP_OLDEST), false, null, null, null);
+        SseFrame frame = status(1L, "a");
+
+        first.offer(frame);
+        second.offer(frame);
+        runPending();
+
+        assertThat(emitter.sent.get(0)).isSameAs(other.sent.get(0));
+        assertThat(text(emitter.sent.get(0))).isEqualTo("event:status\ndata:\"a\"\n\n");
+    }
+
+    @Test
+    @DisplayName("일시정지된 연결은 resume 전까지 전송하지 않고, 스냅샷을 먼저 보낸 뒤 더 최신 업데이트만 보낸다")
+    void pausedConnection_sendsSnapshotFirstAndDropsStaleUpdates() {
+        SseConnection connection = new SseConnection(emitter, List.of(1L, 2L), 8, SlowConsumerPolicy.DROP_OLDEST,
+                pendingTasks::add, new SseDeliveryMetrics(meterRegistry, SlowConsumerPolicy.DROP_OLDEST), true, null, null, null);
+
+        connection.offer(status(1L, "stale", 100));
+        connection.offer(status(2L, "fresh", 300));
+        assertThat(pendingTasks).isEmpty();
+
+        SseFrame snapshot = SseFrame.control("snapshot", "[]");
+        connection.resume(List.of(snapshot), Map.of(1L, 200L, 2L, 200L));
+        runPending();
+
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(text(emitter.sent.get(0))).startsWith("event:snapshot");
+        assertThat(text(emitter.sent.get(1))).contains("fresh");
+        assertThat(meterRegistry.get("sse.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("구독에서 뺀 카페의 대기 프레임은 버리고, 이미 구독 중인 카페는 다시 추가되지 않는다")
+    void unwatch_dropsPendingFramesOfRemovedCafes() {
+        SseConnection connection = connection(SlowConsumerPolicy.DROP_OLDEST, 8);
+        connection.offer(status(1L, "a"));
+        connection.offer(status(2L, "b"));
+
+        assertThat(connection.unwatch(List.of(1L, 9L))).containsExactly(1L);
+        assertThat(connection.watch(List.of(2L, 4L))).containsExactly(4L);
+        runPending();
+
+        assertThat(emitter.sent).hasSize(1);
+        assertThat(text(emitter.sent.get(0))).contains("\"b\"");
+        assertThat(connection.watches(1L)).isFalse();
+        assertThat(connection.watches(4L)).isTrue();
+        assertThat(connection.cafeIds()).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("구독 중간에 pause하면 resume 때 스냅샷을 앞에 두고 더 최신 업데이트만 이어 보낸다")
+    void pauseMidStream_resumesWithSnapshotFirst() {
+        SseConnection connection = connection(SlowConsumerPolicy.DROP_OLDEST, 8);
+        connection.pause();
+
+        connection.offer(status(3L, "stale", 100));
+        connection.offer(status(3L, "fresh", 300));
+        assertThat(pendingTasks).isEmpty();
+
+        connection.resume(List.of(SseFrame.control("snapshot", "[]")), Map.of(3L, 200L));
+        runPending();
+
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(text(emitter.sent.get(0))).startsWith("event:snapshot");
+        assertThat(text(emitter.sent.get(1))).contains("fresh");
+    }
+
+    @Test
+    @DisplayName("필터가 있으면 조건 밖에서 조건 안으로 들어오는 업데이트만 통과시킨다")
+    void admits_onlyTransitionsIntoFilter() {
+        SseConnection connection = new SseConnection(emitter, List.of(1L, 2L), 8, SlowConsumerPolicy.DROP_OLDEST,
+                pendingTasks::add, new SseDeliveryMetrics(meterRegistry, SlowConsumerPolicy.DROP_OLDEST), false, null, null,
+                StatusFilter.parse("crowdLevel=RELAXED"));
+        int relaxed = CrowdLevel.RELAXED.ordinal() << 6;
+        int full = CrowdLevel.FULL.ordinal() << 6;
+
+        assertThat(connection.admits(1L, relaxed)).isTrue();
+        assertThat(connection.admits(1L, relaxed)).isFalse();
+        assertThat(connection.admits(1L, full)).isFalse();
+        assertThat(connection.admits(1L, relaxed)).isTrue();
+
+        connection.primeFilter(2L, relaxed);
+        assertThat(connection.admits(2L, relaxed)).isFalse();
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST: 큐가 가득 차면 가장 오래된 메시지를 버린다")
+    void dropOldest() {
+        SseConnection connection = connection(SlowConsumerPolicy.DROP_OLDEST, 2);
+
+        connection.offer(status(1L, "a"));
+        connection.offer(status(2L, "b"));
+        connection.offer(status(3L, "c"));
+
+        assertThat(connection.queued()).isEqualTo(2);
+        assertThat(meterRegistry.counter("sse.queue.dropped", "policy", "drop_oldest").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("COALESCE: 같은 카페의 대기 중인 상태는 최신 값으로 대체된다")
+    void coalesce() {
+        SseConnection connection = connection(SlowConsumerPolicy.COALESCE, 2);
+
+        connection.offer(status(1L, "old"));
+        connection.offer(status(2L, "other"));
+        connection.offer(status(1L, "new"));
+
+        assertThat(connection.queued()).isEqualTo(2);
+        assertThat(meterRegistry.counter("sse.queue.coalesced", "policy", "coalesce").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("sse.queue.dropped", "policy", "coalesce").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("DISCONNECT: 큐가 가득 차면 연결을 끊고 더 이상 받지 않는다")
+    void disconnect() {
+        SseConnection connection = connection(SlowConsumerPolicy.DISCONNECT, 1);
+
+        assertThat(connection.offer(status(1L, "a"))).isTrue();
+        assertThat(connection.offer(status(2L, "b"))).isFalse();
+        assertThat(connection.offer(status(3L, "c"))).isFalse();
+
+        assertThat(connection.queued()).isZero();
+        assertThat(meterRegistry.get("sse.queue.depth").gauge().value()).isZero();
+        assertThat(meterRegistry.counter("sse.queue.disconnected", "policy", "disconnect").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("큐 깊이 게이지는 대기 중인 메시지 수를 반영한다")
+    void queueDepthGauge() {
+        SseConnection connection = connection(SlowConsumerPolicy.DROP_OLDEST, 8);
+
+        connection.offer(status(1L, "a"));
+        connection.offer(status(2L, "b"));
+        assertThat(meterRegistry.get("sse.queue.depth").gauge().value()).isEqualTo(2);
+
+        runPending();
+        assertThat(meterRegistry.get("sse.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("throttle: 주기 안의 상태는 카페별 최신 값만 모아 한 프레임으로 보낸다")
+    void throttle_mergesLatestPerCafe() throws Exception {
+        HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(10), 64);
+        try {
+            SseConnection connection = new SseConnection(emitter, List.of(1L, 2L), 8, SlowConsumerPolicy.COALESCE,
+                    Runnable::run, new SseDeliveryMetrics(meterRegistry, SlowConsumerPolicy.COALESCE), false,
+                    new SseThrottle(wheel, 50), null, null);
+
+            connection.offer(status(1L, "old"));
+            connection.offer(status(2L, "b"));
+            connection.offer(status(1L, "new"));
+            assertThat(emitter.sent).isEmpty();
+
+            awaitSent(1);
+            assertThat(text(emitter.sent.get(0))).isEqualTo("event:statuses\ndata:{\"statuses\":[\"b\",\"new\"]}\n\n");
+            assertThat(meterRegistry.counter("sse.queue.coalesced", "policy", "coalesce").count()).isEqualTo(1);
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("throttle: 제어 프레임은 모으지 않고 바로 보낸다")
+    void throttle_controlFramesBypass() {
+        HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(10), 64);
+        try {
+            SseConnection connection = new SseConnection(emitter, List.of(1L), 8, SlowConsumerPolicy.COALESCE,
+                    Runnable::run, new SseDeliveryMetrics(meterRegistry, SlowConsumerPolicy.COALESCE), false,
+                    new SseThrottle(wheel, 10_000), null, null);
+
+            connection.offer(SseFrame.control("connected", "ok"));
+
+            assertThat(emitter.sent).hasSize(1);
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("합친 프레임의 id는 가장 나중 프레임의 id를 쓴다")
+    void merge_usesLastId() {
+        SseFrame a = SseFrame.event("1-0", 1L, "status", 0, "1".getBytes(StandardCharsets.UTF_8));
+        SseFrame b = SseFrame.event("2-0", 2L, "status", 0, "2".getBytes(StandardCharsets.UTF_8));
+
+        SseFrame merged = SseFrame.merge("statuses", List.of(a, b));
+
+        assertThat(merged.asString()).isEqualTo("id:2-0\nevent:statuses\ndata:{\"statuses\":[1,2]}\n\n");
+    }
+
+    @Test
+    @DisplayName("finish하면 대기 프레임과 retry 프레임을 보낸 뒤 스트림을 닫고, 이후 프레임은 받지 않는다")
+    void finish_flushesThenCompletes() {
+        SseConnection connection = connection(SlowConsumerPolicy.DROP_OLDEST, 8);
+        connection.offer(status(1L, "a"));
+
+        connection.finish(SseFrame.retry(5000));
+        assertThat(connection.offer(status(2L, "b"))).isTrue();
+        runPending();
+
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(text(emitter.sent.get(1))).isEqualTo("retry:5000\n\n");
+        assertThat(emitter.completed).isTrue();
+        assertThat(connection.isClosed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("스냅샷 대기 중에 finish하면 resume 뒤 스냅샷까지 보내고 닫는다")
+    void finish_whilePaused_waitsForResume() {
+        SseConnection connection = connection(SlowConsumerPolicy.DROP_OLDEST, 8);
+        connection.pause();
+
+        connection.finish(SseFrame.retry(5000));
+        runPending();
+        assertThat(emitter.completed).isFalse();
+
+        connection.resume(List.of(SseFrame.control("snapshot", "[]")), Map.of());
+        runPending();
+
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(text(emitter.sent.get(0))).startsWith("event:snapshot");
+        assertThat(emitter.completed).isTrue();
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (emitter.sent.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(emitter.sent).hasSize(count);
+    }
+
+    private static SseFrame status(Long cafeId, String value) {
+        return status(cafeId, value, 0);
+    }
+
+    private static SseFrame status(Long cafeId, String value, long version) {
+        return SseFrame.event(cafeId, "status", version, ("\"" + value + "\"").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(Set<DataWithMediaType> sent) {
+        return new String((byte[]) sent.iterator().next().getData(), StandardCharsets.UTF_8);
+    }
+
+    private SseConnection connection(SlowConsumerPolicy policy, int capacity) {
+        return new SseConnection(emitter, List.of(1L, 2L, 3L), capacity, policy, pendingTasks::add,
+                new SseDeliveryMetrics(meterRegistry, policy), false, null, null, null);
+    }
+
+    private void runPending() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.remove(0).run();
+        }
+    }
+
+    static class RecordingEmitter extends SseEmitter {
+        final List<Set<DataWithMediaType>> sent = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean completed;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            sent.add(items);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.cafestatus.status.sse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SseSubscriptionIndex 단위 테스트")
+class SseSubscriptionIndexTest {
+
+    SseSubscriptionIndex index = new SseSubscriptionIndex();
+    SseDeliveryMetrics metrics = new SseDeliveryMetrics(new SimpleMeterRegistry(), SlowConsumerPolicy.COALESCE);
+
+    @Test
+    @DisplayName("여러 카페를 구독한 연결은 각 카페의 구독자로 조회된다")
+    void add_registersPerCafe() {
+        SseConnection connection = connection(List.of(1L, 2L));
+
+        index.add(connection);
+
+        assertThat(index.subscribers(1L)).containsExactly(connection);
+        assertThat(index.subscribers(2L)).containsExactly(connection);
+        assertThat(index.get(connection.id())).isSameAs(connection);
+    }
+
+    @Test
+    @DisplayName("연결을 제거하면 비어 있는 카페 항목도 함께 정리된다")
+    void remove_cleansUpEmptyCafes() {
+        SseConnection a = connection(List.of(1L, 2L));
+        SseConnection b = connection(List.of(2L));
+        index.add(a);
+        index.add(b);
+
+        assertThat(index.remove(a)).isTrue();
+        assertThat(index.remove(a)).isFalse();
+
+        assertThat(index.subscribers(1L)).isEmpty();
+        assertThat(index.subscribers(2L)).containsExactly(b);
+        assertThat(index.cafeCount()).isEqualTo(1);
+        assertThat(index.connectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("카페의 첫 구독자와 마지막 구독자에서만 관심 변경을 알린다")
+    void interest_notifiedOnTransitionsOnly() {
+        List<String> events = new ArrayList<>();
+        SseSubscriptionIndex tracked = new SseSubscriptionIndex(new SseInterestListener() {
+            @Override
+            public void watched(Long cafeId) {
+                events.add("+" + cafeId);
+            }
+
+            @Override
+            public void unwatched(Long cafeId) {
+                events.add("-" + cafeId);
+            }
+        });
+        SseConnection a = connection(List.of(1L, 2L));
+        SseConnection b = connection(List.of(2L));
+
+        tracked.add(a);
+        tracked.add(b);
+        tracked.remove(a);
+        tracked.remove(b);
+
+        assertThat(events).containsExactly("+1", "+2", "-1", "-2");
+    }
+
+    @Test
+    @DisplayName("살아 있는 연결에 카페를 추가/제거하면 바뀐 카페만 인덱스에 반영된다")
+    void addCafesAndRemoveCafes_updateOnlyDiff() {
+        SseConnection connection = connection(List.of(1L, 2L));
+        index.add(connection);
+
+        connection.watch(List.of(3L));
+        index.addCafes(connection, List.of(3L));
+        index.removeCafes(connection, List.of(1L));
+        connection.unwatch(List.of(1L));
+
+        assertThat(index.subscribers(1L)).isEmpty();
+        assertThat(index.subscribers(3L)).containsExactly(connection);
+        assertThat(connection.cafeIds()).containsExactly(2L, 3L);
+
+        index.remove(connection);
+        assertThat(index.cafeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("동시 구독/해지 중에도 카페별 관심 증감은 짝이 맞는다")
+    void interest_balancedUnderChurn() throws Exception {
+        AtomicInteger watched = new AtomicInteger();
+        SseSubscriptionIndex tracked = new SseSubscriptionIndex(new SseInterestListener() {
+            @Override
+            public void watched(Long cafeId) {
+                watched.incrementAndGet();
+            }
+
+            @Override
+            public void unwatched(Long cafeId) {
+                watched.decrementAndGet();
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        SseConnection connection = connection(List.of(1L, 2L));
+                        tracked.add(connection);
+                        assertThat(watched.get()).isPositive();
+                        tracked.remove(connection);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(watched.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 카페에 대한 동시 구독/해지 후에도 인덱스가 일관된다")
+    void concurrentChurn() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        SseConnection connection = connection(List.of(1L, 2L));
+                        index.add(connection);
+                        index.remove(connection);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(index.connectionCount()).isZero();
+        assertThat(index.cafeCount()).isZero();
+    }
+
+    private SseConnection connection(List<Long> cafeIds) {
+        return new SseConnection(new SseEmitter(), cafeIds, 8, SlowConsumerPolicy.COALESCE, Runnable::run, metrics, false, null, null, null);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.cafestatus.status.sse;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StatusFilter 단위 테스트")
+class StatusFilterTest {
+
+    @Test
+    @DisplayName("쉼표는 AND, '|'는 같은 필드 안의 OR로 평가한다")
+    void parse_andOfOrClauses() {
+        StatusFilter filter = StatusFilter.parse("crowdLevel=RELAXED|NORMAL,party4=YES");
+
+        assertThat(filter.matches(packed(CrowdLevel.RELAXED, Availability.YES))).isTrue();
+        assertThat(filter.matches(packed(CrowdLevel.NORMAL, Availability.YES))).isTrue();
+        assertThat(filter.matches(packed(CrowdLevel.FULL, Availability.YES))).isFalse();
+        assertThat(filter.matches(packed(CrowdLevel.RELAXED, Availability.NO))).isFalse();
+    }
+
+    @Test
+    @DisplayName("필드명과 값은 대소문자를 구분하지 않는다")
+    void parse_caseInsensitive() {
+        StatusFilter filter = StatusFilter.parse("CROWDLEVEL = relaxed");
+
+        assertThat(filter.matches(packed(CrowdLevel.RELAXED, Availability.NO))).isTrue();
+        assertThat(filter.matches(packed(CrowdLevel.FULL, Availability.NO))).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 필드를 두 번 쓰면 교집합이 된다")
+    void parse_repeatedFieldIntersects() {
+        StatusFilter filter = StatusFilter.parse("party4=YES|MAYBE,party4=MAYBE|NO");
+
+        assertThat(filter.matches(packed(CrowdLevel.FULL, Availability.MAYBE))).isTrue();
+        assertThat(filter.matches(packed(CrowdLevel.FULL, Availability.YES))).isFalse();
+    }
+
+    @Test
+    @DisplayName("알 수 없는 필드나 값, 빈 식은 IllegalArgumentException")
+    void parse_invalid_rejected() {
+        assertThatThrownBy(() -> StatusFilter.parse("party5=YES")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StatusFilter.parse("party4=SOMETIMES")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StatusFilter.parse("party4")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StatusFilter.parse(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int packed(CrowdLevel crowdLevel, Availability party4) {
+        Instant now = Instant.now();
+        return new StatusCacheModel(1L, crowdLevel, Availability.NO, Availability.NO, party4, now, now, null).packed();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.cafestatus.gateway;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@EnableScheduling
+@SpringBootApplication
+public class StreamGatewayApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(StreamGatewayApplication.class, args);
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.example.cafestatus.gateway.config;
+
+import com.example.cafestatus.status.service.SseAdmissionControl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GatewayAdmissionConfig {
+
+    // 서블릿 경로와 같은 sse.admission.* 상한과 503 + Retry-After 동작을 쓴다
+    @Bean
+    public SseAdmissionControl sseAdmissionControl(MeterRegistry meterRegistry,
+                                                   @Value("${sse.admission.max-connections:10000}") int maxConnections,
+                                                   @Value("${sse.admission.max-per-client:20}") int maxPerClient,
+                                                   @Value("${sse.admission.retry-after-seconds:5}") long retryAfterSeconds) {
+        return new SseAdmissionControl(meterRegistry, maxConnections, maxPerClient, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.cafestatus.gateway.config;
+
+import com.example.cafestatus.status.cache.StatusCacheCodec;
+import com.example.cafestatus.status.cache.StatusChannels;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+@Configuration
+public class GatewayRedisConfig {
+
+    // 메인 앱과 같은 샤드 수를 써야 같은 채널을 구독한다
+    @Bean
+    public StatusChannels statusChannels(@Value("${cache.redis.pubsub.shards:64}") int shards) {
+        return new StatusChannels(shards);
+    }
+
+    @Bean
+    public StatusCacheCodec statusCacheCodec(ObjectMapper objectMapper) {
+        return new StatusCacheCodec(objectMapper);
+    }
+
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> binaryReactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        RedisSerializationContext<String, byte[]> context = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    @Bean
+    public ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer(ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveRedisMessageListenerContainer(connectionFactory);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.cafestatus.gateway.controller;
+
+import com.example.cafestatus.common.exception.ServiceUnavailableException;
+import com.example.cafestatus.gateway.service.GatewayStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cafes/status")
+public class GatewayStreamController {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewayStreamController.class);
+
+    private final GatewayStreamService streamService;
+
+    public GatewayStreamController(GatewayStreamService streamService) {
+        this.streamService = streamService;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> stream(@RequestParam String cafeIds, ServerHttpRequest request) {
+        log.info("게이트웨이 SSE 스트림 요청: cafeIds={}", cafeIds);
+
+        List<Long> ids;
+        try {
+            ids = Arrays.stream(cafeIds.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isBlank())
+                    .map(Long::valueOf)
+                    .distinct()
+                    .toList();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("cafeIds must be comma-separated numbers");
+        }
+
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("cafeIds is required");
+        }
+
+        return streamService.stream(ids, clientKey(request));
+    }
+
+    // server.forward-headers-strategy=native면 ALB가 붙인 X-Forwarded-For가 반영된 주소다
+    private static String clientKey(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return null;
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
+        log.warn("잘못된 인자: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleServiceUnavailable(ServiceUnavailableException e) {
+        log.warn("요청 거절(과부하): {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("message", e.getMessage()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.cafestatus.gateway.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 메인 앱의 RedisStatusPresence와 같은 해시에 이 게이트웨이 노드의 시청자 수를 기록한다.
+ * 그래야 아웃박스 릴레이가 게이트웨이만 보고 있는 카페의 발행을 생략하지 않는다.
+ *
+ *   cafe:presence:{cafeId} = { nodeId -> "count:expiresAtMillis" }
+ */
+@Component
+public class GatewayPresence {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewayPresence.class);
+    private static final String KEY_PREFIX = "cafe:presence:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final String nodeId = "gateway-" + UUID.randomUUID();
+    private final Duration ttl;
+    private final Map<Long, Integer> local = new ConcurrentHashMap<>();
+
+    public GatewayPresence(ReactiveStringRedisTemplate redisTemplate,
+                           @Value("${sse.presence.ttl-seconds:30}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public void join(Collection<Long> cafeIds) {
+        for (Long cafeId : cafeIds) {
+            // 첫 시청자는 바로 기록해야 그 직후의 발행이 생략되지 않는다
+            Integer count = local.merge(cafeId, 1, Integer::sum);
+            if (count == 1) {
+                write(cafeId, 1).subscribe();
+            }
+        }
+    }
+
+    public void leave(Collection<Long> cafeIds) {
+        for (Long cafeId : cafeIds) {
+            local.computeIfPresent(cafeId, (k, count) -> Math.max(0, count - 1));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sse.presence.heartbeat-ms:10000}")
+    public void heartbeat() {
+        Map<Long, Integer> snapshot = new HashMap<>(local);
+        Flux.fromIterable(snapshot.entrySet())
+                .flatMap(entry -> {
+                    Long cafeId = entry.getKey();
+                    if (entry.getValue() > 0) {
+                        return write(cafeId, entry.getValue());
+                    }
+                    // 하트비트 사이에 다시 들어온 시청자가 없을 때만 필드를 지운다
+                    if (local.remove(cafeId, 0)) {
+                        return redisTemplate.opsForHash().remove(KEY_PREFIX + cafeId, nodeId).then();
+                    }
+                    return Mono.<Void>empty();
+                })
+                .doOnError(e -> log.warn("시청자 하트비트 실패: cafes={}, error={}", snapshot.size(), e.getMessage()))
+                .onErrorComplete()
+                .subscribe();
+    }
+
+    private Mono<Void> write(Long cafeId, int count) {
+        String key = KEY_PREFIX + cafeId;
+        String value = count + ":" + (System.currentTimeMillis() + ttl.toMillis());
+        return redisTemplate.opsForHash().put(key, nodeId, value)
+                .then(redisTemplate.expire(key, ttl))
+                .doOnError(e -> log.warn("시청자 등록 실패: cafeId={}, error={}", cafeId, e.getMessage()))
+                .onErrorComplete()
+                .then();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.cafestatus.gateway.service;
+
+import com.example.cafestatus.status.cache.StatusCacheCodec;
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 게이트웨이는 DB를 보지 않는다. 메인 앱이 채워 둔 Redis 상태 캐시(cafe:status:{id})를 MGET 한 번으로 읽는다
+@Component
+public class GatewaySnapshotReader {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewaySnapshotReader.class);
+    private static final String KEY_PREFIX = "cafe:status:";
+
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final StatusCacheCodec codec;
+
+    public GatewaySnapshotReader(ReactiveRedisTemplate<String, byte[]> binaryReactiveRedisTemplate,
+                                 StatusCacheCodec codec) {
+        this.redisTemplate = binaryReactiveRedisTemplate;
+        this.codec = codec;
+    }
+
+    // 캐시에 없는 카페는 결과에서 빠진다
+    public Mono<Map<Long, StatusCacheModel>> read(List<Long> cafeIds) {
+        List<String> keys = cafeIds.stream().map(id -> KEY_PREFIX + id).toList();
+        return redisTemplate.opsForValue().multiGet(keys)
+                .map(values -> {
+                    Map<Long, StatusCacheModel> result = new HashMap<>();
+                    for (int i = 0; i < cafeIds.size(); i++) {
+                        byte[] value = values.get(i);
+                        if (value == null) {
+                            continue;
+                        }
+                        try {
+                            result.put(cafeIds.get(i), codec.decodeModel(cafeIds.get(i), value));
+                        } catch (Exception e) {
+                            log.warn("스냅샷 디코딩 실패: cafeId={}, error={}", cafeIds.get(i), e.getMessage());
+                        }
+                    }
+                    return result;
+                });
+    }
+}
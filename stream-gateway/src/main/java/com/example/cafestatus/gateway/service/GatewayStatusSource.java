@@ -0,0 +1,69 @@
+package com.example.cafestatus.gateway.service;
+
+import com.example.cafestatus.status.cache.StatusCacheCodec;
+import com.example.cafestatus.status.cache.StatusChannels;
+import com.example.cafestatus.status.cache.StatusEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 샤드 채널마다 하나의 Redis 구독을 공유(share)한다. 마지막 연결이 끊기면 구독도 해지되므로
+// 메인 앱의 StatusShardSubscriptions처럼 관심 있는 샤드만 듣게 된다
+@Component
+public class GatewayStatusSource {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewayStatusSource.class);
+
+    private final ReactiveRedisMessageListenerContainer container;
+    private final StatusCacheCodec codec;
+    private final StatusChannels channels;
+    private final Map<Integer, Flux<StatusEvent>> shards = new ConcurrentHashMap<>();
+
+    public GatewayStatusSource(ReactiveRedisMessageListenerContainer container,
+                               StatusCacheCodec codec,
+                               StatusChannels channels,
+                               MeterRegistry meterRegistry) {
+        this.container = container;
+        this.codec = codec;
+        this.channels = channels;
+        meterRegistry.gauge("gateway.shards.known", shards, Map::size);
+    }
+
+    public Flux<StatusEvent> events(Collection<Long> cafeIds) {
+        Map<Integer, Set<Long>> byShard = new HashMap<>();
+        for (Long cafeId : cafeIds) {
+            byShard.computeIfAbsent(channels.shardOf(cafeId), k -> new HashSet<>()).add(cafeId);
+        }
+        List<Flux<StatusEvent>> sources = new ArrayList<>(byShard.size());
+        byShard.forEach((shard, ids) ->
+                sources.add(shard(shard).filter(event -> ids.contains(event.model().cafeId()))));
+        return Flux.merge(sources);
+    }
+
+    private Flux<StatusEvent> shard(int shard) {
+        return shards.computeIfAbsent(shard, k -> container
+                .receive(List.of(ChannelTopic.of(channels.updates(k))),
+                        SerializationPair.fromSerializer(RedisSerializer.string()),
+                        SerializationPair.byteArray())
+                .flatMapIterable(message -> decode(k, message.getMessage()))
+                .share());
+    }
+
+    private List<StatusEvent> decode(int shard, byte[] body) {
+        try {
+            return codec.decodeEvents(body);
+        } catch (Exception e) {
+            log.warn("상태 메시지 디코딩 실패: shard={}, error={}", shard, e.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.cafestatus.gateway.service;
+
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.example.cafestatus.status.dto.CafeStatusSnapshotEvent;
+import com.example.cafestatus.status.dto.CafeStatusSseEvent;
+import com.example.cafestatus.status.mapper.StatusViewMapper;
+import com.example.cafestatus.status.service.SseAdmissionControl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 연결 하나 = Flux 하나. 서블릿 경로의 SseEmitter/큐/전송 스레드 대신 Netty 이벤트 루프가 요청 수(demand)만큼만 흘려보낸다.
+ *
+ *   connected → snapshot → (스냅샷보다 새로운) live 이벤트, 사이사이 하트비트 주석
+ *
+ * live는 스냅샷보다 먼저 구독해 두고(mergeSequential) 스냅샷이 나간 뒤에 이어 붙이므로 그 사이 업데이트가 유실되지 않는다.
+ * 느린 클라이언트는 연결별 버퍼(capacity)를 넘으면 가장 오래된 이벤트부터 버린다.
+ * 카페 수 상한과 노드/클라이언트별 연결 상한은 서블릿 경로와 같은 sse.admission.* 설정을 쓴다.
+ */
+@Service
+public class GatewayStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewayStreamService.class);
+
+    private final GatewayStatusSource source;
+    private final GatewaySnapshotReader snapshots;
+    private final GatewayPresence presence;
+    private final SseAdmissionControl admission;
+    private final ObjectMapper objectMapper;
+    private final int maxCafeIds;
+    private final int queueCapacity;
+    private final Duration heartbeatInterval;
+    private final Duration maxLifetime;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter dropped;
+
+    public GatewayStreamService(GatewayStatusSource source,
+                                GatewaySnapshotReader snapshots,
+                                GatewayPresence presence,
+                                SseAdmissionControl admission,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${sse.admission.max-cafe-ids:200}") int maxCafeIds,
+                                @Value("${sse.queue.capacity:64}") int queueCapacity,
+                                @Value("${sse.heartbeat-interval-ms:25000}") long heartbeatIntervalMs,
+                                @Value("${sse.max-lifetime-minutes:30}") long maxLifetimeMinutes) {
+        this.source = source;
+        this.snapshots = snapshots;
+        this.presence = presence;
+        this.admission = admission;
+        this.objectMapper = objectMapper;
+        this.maxCafeIds = maxCafeIds;
+        this.queueCapacity = queueCapacity;
+        this.heartbeatInterval = Duration.ofMillis(heartbeatIntervalMs);
+        this.maxLifetime = Duration.ofMinutes(maxLifetimeMinutes);
+        this.dropped = meterRegistry.counter("gateway.sse.dropped");
+        meterRegistry.gauge("gateway.sse.connections", connections);
+    }
+
+    // clientKey: 클라이언트별 연결 상한을 셀 키(보통 원격 주소). null이면 노드 상한만 적용한다
+    public Flux<ServerSentEvent<String>> stream(List<Long> cafeIds, String clientKey) {
+        if (cafeIds.size() > maxCafeIds) {
+            throw new IllegalArgumentException("too many cafeIds (max " + maxCafeIds + ")");
+        }
+        // 상한을 넘으면 스냅샷/채널 구독 전에 바로 503으로 돌려보낸다. 자리는 스트림이 끝날 때 돌려준다
+        SseAdmissionControl.Permit permit = admission.acquire(clientKey);
+        Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+        Flux<Item> head = snapshots.read(cafeIds)
+                .onErrorResume(e -> {
+                    // 스냅샷 없이도 라이브 스트림은 동작해야 한다
+                    log.warn("게이트웨이 스냅샷 조회 실패: cafeIds={}, error={}", cafeIds, e.getMessage());
+                    return Mono.just(Map.of());
+                })
+                .map(snapshot -> Item.head(snapshotEvent(cafeIds, snapshot, versions)))
+                .flux()
+                .startWith(Item.head(ServerSentEvent.<String>builder().event("connected").data("ok").build()));
+
+        Flux<Item> live = source.events(cafeIds)
+                .onBackpressureBuffer(queueCapacity, event -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST)
+                .map(Item::live);
+
+        Flux<ServerSentEvent<String>> heartbeats = Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.<String>builder().comment("ping").build());
+
+        return Flux.mergeSequential(head, live)
+                // 스냅샷이 나간 뒤에만 live가 흘러오므로 이 시점에는 versions가 채워져 있다
+                .filter(item -> item.event() == null || isNewer(item.event(), versions))
+                .map(item -> item.ready() != null ? item.ready() : statusEvent(item.event()))
+                .mergeWith(heartbeats)
+                .take(maxLifetime)
+                .doOnSubscribe(subscription -> {
+                    connections.incrementAndGet();
+                    presence.join(cafeIds);
+                    log.debug("게이트웨이 SSE 연결: cafeIds={}", cafeIds);
+                })
+                .doFinally(signal -> {
+                    permit.release();
+                    connections.decrementAndGet();
+                    presence.leave(cafeIds);
+                    log.debug("게이트웨이 SSE 종료: cafeIds={}, signal={}", cafeIds, signal);
+                });
+    }
+
+    private static boolean isNewer(StatusEvent event, Map<Long, Long> versions) {
+        Long snapshotVersion = versions.get(event.model().cafeId());
+        return snapshotVersion == null || event.model().updatedAt().toEpochMilli() > snapshotVersion;
+    }
+
+    private ServerSentEvent<String> snapshotEvent(List<Long> cafeIds, Map<Long, StatusCacheModel> snapshot, Map<Long, Long> versions) {
+        Instant now = Instant.now();
+        List<CafeStatusSseEvent> statuses = new ArrayList<>(cafeIds.size());
+        for (Long cafeId : cafeIds) {
+            StatusCacheModel model = snapshot.get(cafeId);
+            if (model == null) {
+                statuses.add(new CafeStatusSseEvent(cafeId, StatusViewMapper.unknown()));
+            } else {
+                statuses.add(new CafeStatusSseEvent(cafeId, model.toSummary(now)));
+                versions.put(cafeId, model.updatedAt().toEpochMilli());
+            }
+        }
+        return ServerSentEvent.<String>builder().event("snapshot").data(json(new CafeStatusSnapshotEvent(statuses))).build();
+    }
+
+    private ServerSentEvent<String> statusEvent(StatusEvent event) {
+        StatusCacheModel model = event.model();
+        return ServerSentEvent.<String>builder()
+                .id(event.id() == null ? null : event.id().toString())
+                .event("status")
+                .data(json(new CafeStatusSseEvent(model.cafeId(), model.toSummary(Instant.now()))))
+                .build();
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Item(ServerSentEvent<String> ready, StatusEvent event) {
+        static Item head(ServerSentEvent<String> ready) {
+            return new Item(ready, null);
+        }
+
+        static Item live(StatusEvent event) {
+            return new Item(null, event);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.cafestatus.gateway.service;
+
+import com.example.cafestatus.common.exception.ServiceUnavailableException;
+import com.example.cafestatus.status.cache.StatusCacheModel;
+import com.example.cafestatus.status.cache.StatusEvent;
+import com.example.cafestatus.status.cache.StatusEventId;
+import com.example.cafestatus.status.entity.Availability;
+import com.example.cafestatus.status.entity.CrowdLevel;
+import com.example.cafestatus.status.service.SseAdmissionControl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GatewayStreamService 단위 테스트")
+class GatewayStreamServiceTest {
+
+    @Mock
+    GatewayStatusSource source;
+
+    @Mock
+    GatewaySnapshotReader snapshots;
+
+    @Mock
+    GatewayPresence presence;
+
+    SseAdmissionControl admission;
+    GatewayStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        admission = new SseAdmissionControl(meterRegistry, 10, 1, 5);
+        service = new GatewayStreamService(source, snapshots, presence, admission, new ObjectMapper().findAndRegisterModules(),
+                meterRegistry, 3, 64, 25_000, 30);
+    }
+
+    @Test
+    @DisplayName("connected, snapshot 순으로 보내고 스냅샷보다 새로운 라이브 이벤트만 이어 보낸다")
+    void stream_snapshotThenNewerLiveEvents() {
+        given(snapshots.read(List.of(1L, 2L))).willReturn(Mono.just(Map.of(1L, model(1L, 200))));
+        given(source.events(List.of(1L, 2L))).willReturn(Flux.just(event(1L, 100), event(1L, 300), event(2L, 50)));
+
+        StepVerifier.create(service.stream(List.of(1L, 2L), null))
+                .expectNextMatches(e -> "connected".equals(e.event()))
+                .expectNextMatches(e -> "snapshot".equals(e.event()) && e.data().contains("\"cafeId\":2"))
+                .expectNextMatches(e -> "status".equals(e.event()) && "300-0".equals(e.id()))
+                .expectNextMatches(e -> "status".equals(e.event()) && "50-0".equals(e.id()))
+                .thenCancel()
+                .verify();
+
+        verify(presence).join(List.of(1L, 2L));
+        verify(presence).leave(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("스냅샷 조회가 실패해도 라이브 스트림은 계속된다")
+    void stream_snapshotFailure_stillStreamsLive() {
+        given(snapshots.read(List.of(1L))).willReturn(Mono.error(new IllegalStateException("redis down")));
+        given(source.events(List.of(1L))).willReturn(Flux.just(event(1L, 100)));
+
+        StepVerifier.create(service.stream(List.of(1L), null))
+                .expectNextMatches(e -> "connected".equals(e.event()))
+                .expectNextMatches(e -> "snapshot".equals(e.event()))
+                .expectNextMatches(e -> "status".equals(e.event()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("cafeIds가 상한을 넘으면 스냅샷/채널 구독 전에 거절한다")
+    void stream_tooManyCafeIds_rejected() {
+        assertThatThrownBy(() -> service.stream(List.of(1L, 2L, 3L, 4L), null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(source, snapshots, presence);
+        assertThat(admission.activeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("클라이언트별 상한을 넘으면 503으로 거절하고, 스트림이 끝나면 자리를 돌려준다")
+    void stream_perClientLimit_rejectsUntilReleased() {
+        given(snapshots.read(List.of(1L))).willReturn(Mono.just(Map.of()));
+        given(source.events(List.of(1L))).willReturn(Flux.never());
+        Flux<ServerSentEvent<String>> first = service.stream(List.of(1L), "10.0.0.1");
+
+        assertThatThrownBy(() -> service.stream(List.of(1L), "10.0.0.1"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThatCode(() -> service.stream(List.of(2L), "10.0.0.2")).doesNotThrowAnyException();
+
+        StepVerifier.create(first)
+                .expectNextMatches(e -> "connected".equals(e.event()))
+                .thenCancel()
+                .verify();
+        assertThatCode(() -> service.stream(List.of(1L), "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    private static StatusEvent event(Long cafeId, long updatedAtMillis) {
+        return new StatusEvent(new StatusEventId(updatedAtMillis, 0), model(cafeId, updatedAtMillis));
+    }
+
+    private static StatusCacheModel model(Long cafeId, long updatedAtMillis) {
+        Instant updatedAt = Instant.ofEpochMilli(updatedAtMillis);
+        return new StatusCacheModel(cafeId, CrowdLevel.NORMAL, Availability.YES, Availability.YES, Availability.YES,
+                updatedAt, updatedAt.plusSeconds(1800), null);
+    }
+}